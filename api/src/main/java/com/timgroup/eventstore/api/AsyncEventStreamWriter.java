@@ -0,0 +1,23 @@
+package com.timgroup.eventstore.api;
+
+import com.timgroup.eventstore.api.EventStreamWriter.StreamWriteRequest;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes events without blocking the caller. The returned futures complete with the positions and event numbers
+ * assigned once the write is committed, or exceptionally with the exception the corresponding
+ * {@link EventStreamWriter} method would have thrown.
+ */
+public interface AsyncEventStreamWriter {
+    @Nonnull
+    CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events);
+
+    @Nonnull
+    CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events, long expectedVersion);
+
+    @Nonnull
+    CompletableFuture<WriteResult> execute(Collection<StreamWriteRequest> writeRequests);
+}
@@ -4,6 +4,7 @@ import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public interface EventCategoryReader {
@@ -17,6 +18,35 @@ public interface EventCategoryReader {
     @CheckReturnValue
     Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive);
 
+    /**
+     * Reads only the parts of each event given by the projection. Readers that cannot leave the other parts unread
+     * read each event in full and drop them.
+     */
+    @Nonnull
+    @CheckReturnValue
+    default Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive, EventProjection projection) {
+        return readCategoryForwards(category, positionExclusive).map(projection::apply);
+    }
+
+    /**
+     * Reads only events whose type is one of {@code eventTypes}. Unless this reader
+     * {@linkplain #filtersCategoryEventTypesAtSource() filters event types at source}, every event is read and the others
+     * discarded.
+     */
+    @Nonnull
+    @CheckReturnValue
+    default Stream<ResolvedEvent> readCategoryForwardsOfTypes(String category, Position positionExclusive, Set<String> eventTypes) {
+        return readCategoryForwards(category, positionExclusive).filter(event -> eventTypes.contains(event.eventRecord().eventType()));
+    }
+
+    /**
+     * Whether {@link #readCategoryForwardsOfTypes(String, Position, Set)} leaves events of other types unread, rather
+     * than reading and discarding them.
+     */
+    default boolean filtersCategoryEventTypesAtSource() {
+        return false;
+    }
+
     @Nonnull
     @CheckReturnValue
     default Stream<ResolvedEvent> readCategoriesForwards(List<String> categories, Position positionExclusive) {
@@ -41,6 +71,22 @@ public interface EventCategoryReader {
         return readCategoryBackwards(category).findFirst();
     }
 
+    @Nonnull
+    @CheckReturnValue
+    default Optional<ResolvedEvent> readLastEventInCategory(String category, EventProjection projection) {
+        return readLastEventInCategory(category).map(projection::apply);
+    }
+
+    /**
+     * The position of the last event in the category, or the empty category position if there is none. Readers that
+     * cannot look this up directly read the headers of the last event. Readers may answer from a cache, so the result
+     * can lag behind the latest write.
+     */
+    @Nonnull
+    default Position headPositionOfCategory(String category) {
+        return readLastEventInCategory(category, EventProjection.HEADERS).map(ResolvedEvent::position).orElseGet(() -> emptyCategoryPosition(category));
+    }
+
     @Nonnull
     Position emptyCategoryPosition(String category);
 
@@ -0,0 +1,60 @@
+package com.timgroup.eventstore.api;
+
+import javax.annotation.Nonnull;
+
+import static com.timgroup.eventstore.api.EventRecord.eventRecord;
+
+/**
+ * Which parts of each event a read needs. Events read with a narrower projection than {@link #FULL} have empty
+ * arrays in place of the parts left out, so readers that can avoid fetching those parts at all need not load them.
+ */
+public enum EventProjection {
+    /**
+     * Position, stream, event number, type and timestamp, along with data and metadata.
+     */
+    FULL(true, true),
+    /**
+     * Everything but the data.
+     */
+    WITHOUT_DATA(false, true),
+    /**
+     * Position, stream, event number, type and timestamp only.
+     */
+    HEADERS(false, false);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final boolean includesData;
+    private final boolean includesMetadata;
+
+    EventProjection(boolean includesData, boolean includesMetadata) {
+        this.includesData = includesData;
+        this.includesMetadata = includesMetadata;
+    }
+
+    public boolean includesData() {
+        return includesData;
+    }
+
+    public boolean includesMetadata() {
+        return includesMetadata;
+    }
+
+    /**
+     * Drops the parts of an event already read in full that this projection leaves out.
+     */
+    @Nonnull
+    public ResolvedEvent apply(ResolvedEvent event) {
+        if (this == FULL) {
+            return event;
+        }
+        EventRecord record = event.eventRecord();
+        return new ResolvedEvent(event.position(), eventRecord(
+                record.timestamp(),
+                record.streamId(),
+                record.eventNumber(),
+                record.eventType(),
+                includesData ? record.data() : EMPTY,
+                includesMetadata ? record.metadata() : EMPTY));
+    }
+}
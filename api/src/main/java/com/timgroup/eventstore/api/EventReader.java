@@ -3,6 +3,7 @@ package com.timgroup.eventstore.api;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 public interface EventReader {
@@ -16,6 +17,35 @@ public interface EventReader {
     @CheckReturnValue
     Stream<ResolvedEvent> readAllForwards(Position positionExclusive);
 
+    /**
+     * Reads only the parts of each event given by the projection. Readers that cannot leave the other parts unread
+     * read each event in full and drop them.
+     */
+    @Nonnull
+    @CheckReturnValue
+    default Stream<ResolvedEvent> readAllForwards(Position positionExclusive, EventProjection projection) {
+        return readAllForwards(positionExclusive).map(projection::apply);
+    }
+
+    /**
+     * Reads only events whose type is one of {@code eventTypes}. Unless this reader
+     * {@linkplain #filtersEventTypesAtSource() filters event types at source}, every event is read and the others
+     * discarded.
+     */
+    @Nonnull
+    @CheckReturnValue
+    default Stream<ResolvedEvent> readAllForwardsOfTypes(Position positionExclusive, Set<String> eventTypes) {
+        return readAllForwards(positionExclusive).filter(event -> eventTypes.contains(event.eventRecord().eventType()));
+    }
+
+    /**
+     * Whether {@link #readAllForwardsOfTypes(Position, Set)} leaves events of other types unread, rather than
+     * reading and discarding them.
+     */
+    default boolean filtersEventTypesAtSource() {
+        return false;
+    }
+
     @Nonnull
     @CheckReturnValue
     default Stream<ResolvedEvent> readAllBackwards() {
@@ -33,6 +63,21 @@ public interface EventReader {
         return readAllBackwards().findFirst();
     }
 
+    @Nonnull
+    default Optional<ResolvedEvent> readLastEvent(EventProjection projection) {
+        return readLastEvent().map(projection::apply);
+    }
+
+    /**
+     * The position of the last event in the store, or the empty store position if there is none. Readers that cannot
+     * look this up directly read the headers of the last event. Readers may answer from a cache, so the result can lag
+     * behind the latest write.
+     */
+    @Nonnull
+    default Position headPosition() {
+        return readLastEvent(EventProjection.HEADERS).map(ResolvedEvent::position).orElseGet(this::emptyStorePosition);
+    }
+
     @Nonnull
     Position emptyStorePosition();
 
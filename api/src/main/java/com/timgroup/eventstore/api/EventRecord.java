@@ -6,6 +6,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
@@ -14,8 +15,10 @@ public final class EventRecord {
     private final StreamId streamId;
     private final long eventNumber;
     private final String eventType;
-    private final byte[] data;
-    private final byte[] metadata;
+    @Nullable private volatile byte[] data;
+    @Nullable private volatile byte[] metadata;
+    @Nullable private final Supplier<byte[]> dataSupplier;
+    @Nullable private final Supplier<byte[]> metadataSupplier;
 
     private EventRecord(Instant timestamp, StreamId streamId, long eventNumber, String eventType, byte[] data, byte[] metadata) {
         this.timestamp = requireNonNull(timestamp);
@@ -24,6 +27,17 @@ public final class EventRecord {
         this.eventType = requireNonNull(eventType);
         this.data = requireNonNull(data);
         this.metadata = requireNonNull(metadata);
+        this.dataSupplier = null;
+        this.metadataSupplier = null;
+    }
+
+    private EventRecord(Instant timestamp, StreamId streamId, long eventNumber, String eventType, Supplier<byte[]> dataSupplier, Supplier<byte[]> metadataSupplier) {
+        this.timestamp = requireNonNull(timestamp);
+        this.streamId = requireNonNull(streamId);
+        this.eventNumber = eventNumber;
+        this.eventType = requireNonNull(eventType);
+        this.dataSupplier = requireNonNull(dataSupplier);
+        this.metadataSupplier = requireNonNull(metadataSupplier);
     }
 
     @Nonnull
@@ -31,6 +45,15 @@ public final class EventRecord {
         return new EventRecord(timestamp, streamId, eventNumber, eventType, data, metadata);
     }
 
+    /**
+     * An event record whose data and metadata are only produced when first asked for, such as by decompressing them
+     * as stored. The suppliers must return the same bytes each time, as threads asking at once may each call them.
+     */
+    @Nonnull
+    public static EventRecord lazyEventRecord(Instant timestamp, StreamId streamId, long eventNumber, String eventType, Supplier<byte[]> data, Supplier<byte[]> metadata) {
+        return new EventRecord(timestamp, streamId, eventNumber, eventType, data, metadata);
+    }
+
     @Nonnull
     public ResolvedEvent toResolvedEvent(Position position) {
         return new ResolvedEvent(position, this);
@@ -55,13 +78,13 @@ public final class EventRecord {
                 Objects.equals(timestamp, that.timestamp) &&
                 Objects.equals(streamId, that.streamId) &&
                 Objects.equals(eventType, that.eventType) &&
-                Arrays.equals(data, that.data) &&
-                Arrays.equals(metadata, that.metadata);
+                Arrays.equals(data(), that.data()) &&
+                Arrays.equals(metadata(), that.metadata());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(timestamp, streamId, eventNumber, eventType, data, metadata);
+        return Objects.hash(timestamp, streamId, eventNumber, eventType, data(), metadata());
     }
 
     @Override
@@ -71,8 +94,8 @@ public final class EventRecord {
                 ", streamId=" + streamId +
                 ", eventNumber=" + eventNumber +
                 ", eventType='" + eventType + '\'' +
-                ", data=" + byteArrayAsString(data) +
-                ", metadata=" + byteArrayAsString(metadata) +
+                ", data=" + byteArrayAsString(data()) +
+                ", metadata=" + byteArrayAsString(metadata()) +
                 '}';
     }
 
@@ -105,11 +128,21 @@ public final class EventRecord {
 
     @Nonnull
     public byte[] data() {
-        return data;
+        byte[] result = data;
+        if (result == null) {
+            result = requireNonNull(requireNonNull(dataSupplier).get());
+            data = result;
+        }
+        return result;
     }
 
     @Nonnull
     public byte[] metadata() {
-        return metadata;
+        byte[] result = metadata;
+        if (result == null) {
+            result = requireNonNull(requireNonNull(metadataSupplier).get());
+            metadata = result;
+        }
+        return result;
     }
 }
@@ -1,8 +1,8 @@
 package com.timgroup.eventstore.api;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.OptionalLong;
 
 import static java.util.stream.Collectors.toMap;
@@ -17,7 +17,7 @@ public interface EventStreamWriter {
             throw new RuntimeException("Duplicate streamId in write request: " + r1.streamId);
         }));
 
-        List<String> failures = new ArrayList<>();
+        Map<StreamId, String> failures = new LinkedHashMap<>();
 
         writeRequests.forEach(request -> {
             try {
@@ -27,12 +27,12 @@ public interface EventStreamWriter {
                     write(request.streamId, request.events);
                 }
             } catch (WrongExpectedVersionException e) {
-                failures.add(request.streamId + ": " + e.getMessage());
+                failures.put(request.streamId, e.getMessage());
             }
         });
 
         if (!failures.isEmpty()) {
-            throw new WrongExpectedVersionException(String.join(",", failures));
+            throw new WrongExpectedVersionException(failures);
         }
     }
 
@@ -0,0 +1,70 @@
+package com.timgroup.eventstore.api;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The state of a stream serialized after applying every event up to and including {@link #eventNumber()}.
+ */
+public final class Snapshot {
+    private final StreamId streamId;
+    private final long eventNumber;
+    private final byte[] data;
+
+    private Snapshot(StreamId streamId, long eventNumber, byte[] data) {
+        this.streamId = requireNonNull(streamId);
+        this.eventNumber = eventNumber;
+        this.data = requireNonNull(data);
+    }
+
+    @Nonnull
+    public static Snapshot snapshot(StreamId streamId, long eventNumber, byte[] data) {
+        return new Snapshot(streamId, eventNumber, data);
+    }
+
+    @Nonnull
+    public StreamId streamId() {
+        return streamId;
+    }
+
+    public long eventNumber() {
+        return eventNumber;
+    }
+
+    @Nonnull
+    public byte[] data() {
+        return data;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Snapshot snapshot = (Snapshot) o;
+
+        if (eventNumber != snapshot.eventNumber) return false;
+        if (!streamId.equals(snapshot.streamId)) return false;
+        return Arrays.equals(data, snapshot.data);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = streamId.hashCode();
+        result = 31 * result + Long.hashCode(eventNumber);
+        result = 31 * result + Arrays.hashCode(data);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot{" +
+                "streamId=" + streamId +
+                ", eventNumber=" + eventNumber +
+                ", data=" + data.length + " bytes" +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.timgroup.eventstore.api;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+
+/**
+ * Keeps the latest snapshot of each stream, so that loading a long stream need only read the events after it.
+ */
+public interface SnapshotStore {
+    @Nonnull
+    Optional<Snapshot> loadLatest(StreamId streamId);
+
+    /**
+     * Saves a snapshot unless one of the same stream at the same or a later event number is already stored, so that
+     * a slow writer cannot replace a newer snapshot with an older one.
+     */
+    void save(Snapshot snapshot);
+}
@@ -0,0 +1,142 @@
+package com.timgroup.eventstore.api;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.UniformReservoir;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventstore.api.EventStreamReader.EmptyStreamEventNumber;
+import static com.timgroup.eventstore.api.Snapshot.snapshot;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads the state of a stream from its latest snapshot and the events written after it, rather than from every
+ * event in the stream. Once a load has had to apply at least {@code snapshotEveryEvents} events, it saves a new
+ * snapshot before returning, so that the next load starts from there.
+ *
+ * <p>Given a metric registry, counts loads that found a snapshot ({@code snapshots.<name>.hit}) or did not
+ * ({@code snapshots.<name>.miss}) and records how many events each load applied ({@code snapshots.<name>.tail_length}).</p>
+ */
+public final class SnapshottingStreamReader {
+    private final EventStreamReader streamReader;
+    private final SnapshotStore snapshotStore;
+    private final int snapshotEveryEvents;
+    private final Counter hits;
+    private final Counter misses;
+    private final Histogram tailLength;
+
+    public SnapshottingStreamReader(EventStreamReader streamReader, SnapshotStore snapshotStore, int snapshotEveryEvents) {
+        this(streamReader, snapshotStore, snapshotEveryEvents, new Counter(), new Counter(), new Histogram(new UniformReservoir()));
+    }
+
+    public SnapshottingStreamReader(EventStreamReader streamReader, SnapshotStore snapshotStore, int snapshotEveryEvents, MetricRegistry metricRegistry, String name) {
+        this(streamReader, snapshotStore, snapshotEveryEvents,
+                metricRegistry.counter(String.format("snapshots.%s.hit", name)),
+                metricRegistry.counter(String.format("snapshots.%s.miss", name)),
+                metricRegistry.histogram(String.format("snapshots.%s.tail_length", name)));
+    }
+
+    private SnapshottingStreamReader(EventStreamReader streamReader, SnapshotStore snapshotStore, int snapshotEveryEvents, Counter hits, Counter misses, Histogram tailLength) {
+        if (snapshotEveryEvents < 1) {
+            throw new IllegalArgumentException("Snapshots must be taken at least one event apart: " + snapshotEveryEvents);
+        }
+        this.streamReader = requireNonNull(streamReader);
+        this.snapshotStore = requireNonNull(snapshotStore);
+        this.snapshotEveryEvents = snapshotEveryEvents;
+        this.hits = hits;
+        this.misses = misses;
+        this.tailLength = tailLength;
+    }
+
+    /**
+     * Throws {@link NoSuchStreamException} if there is neither a snapshot nor any events for the stream.
+     */
+    @Nonnull
+    public <S> Loaded<S> load(StreamId streamId, Fold<S> fold) {
+        Optional<Snapshot> snapshot = snapshotStore.loadLatest(streamId);
+        S state;
+        long eventNumber;
+        if (snapshot.isPresent()) {
+            hits.inc();
+            state = fold.restore(snapshot.get().data());
+            eventNumber = snapshot.get().eventNumber();
+        } else {
+            misses.inc();
+            state = fold.initial();
+            eventNumber = EmptyStreamEventNumber;
+        }
+
+        int eventsApplied = 0;
+        try (Stream<ResolvedEvent> tail = streamReader.readStreamForwards(streamId, eventNumber)) {
+            Iterator<ResolvedEvent> events = tail.iterator();
+            while (events.hasNext()) {
+                ResolvedEvent event = events.next();
+                state = fold.apply(state, event);
+                eventNumber = event.eventRecord().eventNumber();
+                eventsApplied++;
+            }
+        }
+        tailLength.update(eventsApplied);
+
+        if (eventsApplied >= snapshotEveryEvents) {
+            snapshotStore.save(snapshot(streamId, eventNumber, fold.serialize(state)));
+        }
+        return new Loaded<>(state, eventNumber);
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshottingStreamReader{" +
+                "streamReader=" + streamReader +
+                ", snapshotStore=" + snapshotStore +
+                ", snapshotEveryEvents=" + snapshotEveryEvents +
+                '}';
+    }
+
+    /**
+     * Builds the state of a stream from its events, and converts that state to and from snapshot data.
+     */
+    public interface Fold<S> {
+        S initial();
+
+        S apply(S state, ResolvedEvent event);
+
+        byte[] serialize(S state);
+
+        S restore(byte[] data);
+    }
+
+    public static final class Loaded<S> {
+        private final S state;
+        private final long eventNumber;
+
+        private Loaded(S state, long eventNumber) {
+            this.state = state;
+            this.eventNumber = eventNumber;
+        }
+
+        public S state() {
+            return state;
+        }
+
+        /**
+         * The number of the last event in the state, to use as the expected version when writing to the stream.
+         */
+        public long eventNumber() {
+            return eventNumber;
+        }
+
+        @Override
+        public String toString() {
+            return "Loaded{" +
+                    "state=" + state +
+                    ", eventNumber=" + eventNumber +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.timgroup.eventstore.api;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Tells listeners that events have been written, so that readers tailing the store can read them straight away
+ * instead of waiting for their next poll.
+ *
+ * <p>A notification says only that something may have changed: listeners should read from their own position to find
+ * out what. Listeners are called after the written events are visible to readers, possibly on the writing thread, and
+ * so must return quickly.</p>
+ */
+public interface WriteNotifier {
+    @Nonnull Registration addWriteListener(Runnable listener);
+
+    interface Registration extends AutoCloseable {
+        /**
+         * Stops notifying the listener. Closing a registration more than once has no further effect.
+         */
+        @Override
+        void close();
+    }
+}
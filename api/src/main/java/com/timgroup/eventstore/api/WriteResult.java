@@ -0,0 +1,135 @@
+package com.timgroup.eventstore.api;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+public final class WriteResult {
+    private static final WriteResult EMPTY = new WriteResult(Collections.emptyList());
+
+    private final List<WrittenEvent> events;
+
+    private WriteResult(List<WrittenEvent> events) {
+        this.events = Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+    @Nonnull
+    public static WriteResult writeResult(List<WrittenEvent> events) {
+        return events.isEmpty() ? EMPTY : new WriteResult(events);
+    }
+
+    @Nonnull
+    public static WriteResult empty() {
+        return EMPTY;
+    }
+
+    /**
+     * The events written, in position order.
+     */
+    @Nonnull
+    public List<WrittenEvent> events() {
+        return events;
+    }
+
+    /**
+     * The position of the last event written, if any were.
+     */
+    @Nonnull
+    public Optional<Position> lastPosition() {
+        return events.isEmpty() ? Optional.empty() : Optional.of(events.get(events.size() - 1).position());
+    }
+
+    /**
+     * The event number of the last event written to each stream, which is the version to expect when next writing
+     * to it.
+     */
+    @Nonnull
+    public Map<StreamId, Long> streamVersions() {
+        Map<StreamId, Long> versions = new LinkedHashMap<>();
+        events.forEach(event -> versions.put(event.streamId(), event.eventNumber()));
+        return versions;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        WriteResult that = (WriteResult) o;
+        return Objects.equals(events, that.events);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(events);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteResult{" +
+                "events=" + events +
+                '}';
+    }
+
+    public static final class WrittenEvent {
+        private final Position position;
+        private final StreamId streamId;
+        private final long eventNumber;
+
+        private WrittenEvent(Position position, StreamId streamId, long eventNumber) {
+            this.position = requireNonNull(position);
+            this.streamId = requireNonNull(streamId);
+            this.eventNumber = eventNumber;
+        }
+
+        @Nonnull
+        public static WrittenEvent writtenEvent(Position position, StreamId streamId, long eventNumber) {
+            return new WrittenEvent(position, streamId, eventNumber);
+        }
+
+        @Nonnull
+        public Position position() {
+            return position;
+        }
+
+        @Nonnull
+        public StreamId streamId() {
+            return streamId;
+        }
+
+        public long eventNumber() {
+            return eventNumber;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            WrittenEvent that = (WrittenEvent) o;
+            return eventNumber == that.eventNumber &&
+                    Objects.equals(position, that.position) &&
+                    Objects.equals(streamId, that.streamId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(position, streamId, eventNumber);
+        }
+
+        @Override
+        public String toString() {
+            return "WrittenEvent{" +
+                    "position=" + position +
+                    ", streamId=" + streamId +
+                    ", eventNumber=" + eventNumber +
+                    '}';
+        }
+    }
+}
@@ -1,13 +1,37 @@
 package com.timgroup.eventstore.api;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+
 public class WrongExpectedVersionException extends RuntimeException {
     private static final long serialVersionUID = 1L;
 
+    private final transient Map<StreamId, String> failures;
+
     public WrongExpectedVersionException(long currentVersion, long expectedVersion) {
         super("current version: " + currentVersion + ", expected version: " + expectedVersion);
+        this.failures = Collections.emptyMap();
     }
 
     public WrongExpectedVersionException(String msg) {
         super(msg);
+        this.failures = Collections.emptyMap();
+    }
+
+    public WrongExpectedVersionException(Map<StreamId, String> failures) {
+        super(failures.entrySet().stream().map(failure -> failure.getKey() + ": " + failure.getValue()).collect(joining(",")));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * The streams whose expected version did not match when writing several streams at once, with a description of
+     * each mismatch. Writes to the other streams in the same request were made. Empty if the writer did not
+     * attribute the failure to particular streams.
+     */
+    public Map<StreamId, String> failures() {
+        return failures == null ? Collections.emptyMap() : failures;
     }
 }
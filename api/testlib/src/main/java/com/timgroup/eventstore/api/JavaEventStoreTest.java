@@ -13,6 +13,7 @@ import org.junit.rules.ExpectedException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.OptionalLong;
@@ -28,6 +29,7 @@ import static com.timgroup.eventstore.api.ObjectPropertiesMatcher.objectWith;
 import static com.timgroup.eventstore.api.StreamId.streamId;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
@@ -543,6 +545,20 @@ public abstract class JavaEventStoreTest {
         assertThat(eventRecord, is(objectWith(EventRecord::streamId, stream_1).and(EventRecord::eventNumber, 0L)));
     }
 
+    @Test
+    public void
+    can_read_head_positions_of_store_and_categories() {
+        assertThat(eventSource().readAll().headPosition(), is(eventSource().readAll().emptyStorePosition()));
+        assertThat(eventSource().readCategory().headPositionOfCategory(category_1), is(eventSource().readCategory().emptyCategoryPosition(category_1)));
+
+        eventSource().writeStream().write(stream_1, singletonList(event_1));
+        eventSource().writeStream().write(stream_2, singletonList(event_2));
+        eventSource().writeStream().write(stream_3, singletonList(event_3));
+
+        assertThat(eventSource().readAll().headPosition(), is(eventSource().readAll().readLastEvent().get().position()));
+        assertThat(eventSource().readCategory().headPositionOfCategory(category_1), is(eventSource().readCategory().readLastEventInCategory(category_1).get().position()));
+    }
+
     @Test
     public void
     can_read_last_event_from_stream() {
@@ -554,6 +570,50 @@ public abstract class JavaEventStoreTest {
         assertThat(eventRecord, is(objectWith(EventRecord::streamId, stream_2).and(EventRecord::eventNumber, 0L)));
     }
 
+    @Test
+    public void
+    can_read_only_event_headers() {
+        eventSource().writeStream().write(stream_1, asList(event_1, event_2));
+        eventSource().writeStream().write(stream_2, singletonList(event_3));
+
+        List<String> locators = eventSource().readAll().readAllForwards().map(ResolvedEvent::locator).collect(toList());
+        List<ResolvedEvent> headers = eventSource().readAll().readAllForwards(eventSource().readAll().emptyStorePosition(), EventProjection.HEADERS).collect(toList());
+
+        assertThat(headers.stream().map(ResolvedEvent::locator).collect(toList()), is(locators));
+        assertThat(headers.stream().mapToInt(event -> event.eventRecord().data().length + event.eventRecord().metadata().length).sum(), is(0));
+    }
+
+    @Test
+    public void
+    can_read_last_event_from_category_without_data() {
+        eventSource().writeStream().write(stream_1, singletonList(event_1));
+        eventSource().writeStream().write(stream_2, singletonList(event_2));
+
+        EventRecord eventRecord = eventSource().readCategory().readLastEventInCategory(stream_1.category(), EventProjection.WITHOUT_DATA).map(ResolvedEvent::eventRecord).get();
+
+        assertThat(eventRecord, is(objectWith(EventRecord::streamId, stream_1).and(EventRecord::eventNumber, 0L)));
+        assertThat(eventRecord.data().length, is(0));
+        assertThat(new String(eventRecord.metadata(), UTF_8), is(new String(event_1.metadata(), UTF_8)));
+    }
+
+    @Test public void
+    can_read_only_events_of_some_types() {
+        eventSource().writeStream().write(stream_1, asList(event_1, event_2));
+        eventSource().writeStream().write(stream_2, asList(event_1, event_3));
+
+        EventReader reader = eventSource().readAll();
+        assertThat(reader.readAllForwardsOfTypes(reader.emptyStorePosition(), new HashSet<>(asList("type-A", "type-C"))).map(ResolvedEvent::eventRecord).collect(toList()), contains(
+                objectWith(EventRecord::streamId, stream_1).and(EventRecord::eventType, "type-A"),
+                objectWith(EventRecord::streamId, stream_2).and(EventRecord::eventType, "type-A"),
+                objectWith(EventRecord::streamId, stream_2).and(EventRecord::eventType, "type-C")
+        ));
+
+        EventCategoryReader categoryReader = eventSource().readCategory();
+        assertThat(categoryReader.readCategoryForwardsOfTypes(stream_2.category(), categoryReader.emptyCategoryPosition(stream_2.category()), singleton("type-C")).map(ResolvedEvent::eventRecord).collect(toList()), contains(
+                objectWith(EventRecord::streamId, stream_2).and(EventRecord::eventType, "type-C")
+        ));
+    }
+
     @Test public void
     can_execute_several_write_requests_in_one_operation() {
         eventSource().writeStream().execute(Arrays.asList(
@@ -0,0 +1,57 @@
+package com.timgroup.eventstore.api;
+
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.timgroup.eventstore.api.Snapshot.snapshot;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public abstract class SnapshotStoreTest {
+
+    public abstract SnapshotStore snapshotStore();
+
+    private final StreamId stream_1 = streamId("snapshots_" + UUID.randomUUID().toString().replace("-", ""), "1");
+    private final StreamId stream_2 = streamId(stream_1.category(), "2");
+
+    @Test public void
+    has_no_snapshot_of_a_stream_never_saved() {
+        assertThat(snapshotStore().loadLatest(stream_1), is(Optional.empty()));
+    }
+
+    @Test public void
+    loads_the_snapshot_saved_for_each_stream() {
+        Snapshot snapshot_1 = snapshot(stream_1, 10, data("one"));
+        Snapshot snapshot_2 = snapshot(stream_2, 20, data("two"));
+
+        snapshotStore().save(snapshot_1);
+        snapshotStore().save(snapshot_2);
+
+        assertThat(snapshotStore().loadLatest(stream_1), is(Optional.of(snapshot_1)));
+        assertThat(snapshotStore().loadLatest(stream_2), is(Optional.of(snapshot_2)));
+    }
+
+    @Test public void
+    replaces_a_snapshot_with_a_later_one() {
+        snapshotStore().save(snapshot(stream_1, 10, data("earlier")));
+        snapshotStore().save(snapshot(stream_1, 20, data("later")));
+
+        assertThat(snapshotStore().loadLatest(stream_1), is(Optional.of(snapshot(stream_1, 20, data("later")))));
+    }
+
+    @Test public void
+    keeps_a_snapshot_rather_than_an_earlier_one_saved_after_it() {
+        snapshotStore().save(snapshot(stream_1, 20, data("later")));
+        snapshotStore().save(snapshot(stream_1, 10, data("earlier")));
+
+        assertThat(snapshotStore().loadLatest(stream_1), is(Optional.of(snapshot(stream_1, 20, data("later")))));
+    }
+
+    private static byte[] data(String text) {
+        return text.getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.timgroup.eventstore.filesystem;
+
+import com.timgroup.eventstore.api.Snapshot;
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.StreamId;
+
+import javax.annotation.Nonnull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.timgroup.eventstore.api.Snapshot.snapshot;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps each stream's latest snapshot in a file of its own, holding the event number followed by the data. Snapshots
+ * are written to a temporary file and moved into place, so readers never see a partly written one. Saves are only
+ * ordered against each other within one store instance.
+ */
+public final class FilesystemSnapshotStore implements SnapshotStore {
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    public FilesystemSnapshotStore(Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Snapshot> loadLatest(StreamId streamId) {
+        try (InputStream input = Files.newInputStream(path(streamId));
+             DataInputStream dataInput = new DataInputStream(input)) {
+            long eventNumber = dataInput.readLong();
+            byte[] data = new byte[dataInput.readInt()];
+            dataInput.readFully(data);
+            return Optional.of(snapshot(streamId, eventNumber, data));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new WrappedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void save(Snapshot snapshot) {
+        Optional<Snapshot> existing = loadLatest(snapshot.streamId());
+        if (existing.isPresent() && existing.get().eventNumber() >= snapshot.eventNumber()) {
+            return;
+        }
+
+        try {
+            Path temporary = Files.createTempFile(directory, ".", SUFFIX);
+            try (OutputStream output = Files.newOutputStream(temporary);
+                 DataOutputStream dataOutput = new DataOutputStream(output)) {
+                dataOutput.writeLong(snapshot.eventNumber());
+                dataOutput.writeInt(snapshot.data().length);
+                dataOutput.write(snapshot.data());
+            } catch (IOException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, path(snapshot.streamId()), ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new WrappedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FilesystemSnapshotStore{" +
+                "directory=" + directory +
+                '}';
+    }
+
+    private Path path(StreamId streamId) {
+        return directory.resolve(FilenameCodec.escape(streamId.category()) + "." + FilenameCodec.escape(streamId.id()) + SUFFIX);
+    }
+}
@@ -0,0 +1,16 @@
+package com.timgroup.eventstore.filesystem;
+
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.SnapshotStoreTest;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+public class FilesystemSnapshotStoreTest extends SnapshotStoreTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Override
+    public SnapshotStore snapshotStore() {
+        return new FilesystemSnapshotStore(folder.getRoot().toPath());
+    }
+}
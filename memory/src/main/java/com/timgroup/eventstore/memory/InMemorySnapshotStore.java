@@ -0,0 +1,32 @@
+package com.timgroup.eventstore.memory;
+
+import com.timgroup.eventstore.api.Snapshot;
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.StreamId;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class InMemorySnapshotStore implements SnapshotStore {
+    private final ConcurrentMap<StreamId, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Nonnull
+    @Override
+    public Optional<Snapshot> loadLatest(StreamId streamId) {
+        return Optional.ofNullable(snapshots.get(streamId));
+    }
+
+    @Override
+    public void save(Snapshot snapshot) {
+        snapshots.merge(snapshot.streamId(), snapshot, (existing, saved) -> saved.eventNumber() > existing.eventNumber() ? saved : existing);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemorySnapshotStore{" +
+                "snapshots=" + snapshots.size() +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.timgroup.eventstore.memory;
 
+import com.timgroup.eventstore.api.AsyncEventStreamWriter;
 import com.timgroup.eventstore.api.EventCategoryReader;
 import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.EventRecord;
@@ -11,6 +12,9 @@ import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteResult;
+import com.timgroup.eventstore.api.WriteResult.WrittenEvent;
+import com.timgroup.eventstore.api.WriteNotifier;
 import com.timgroup.eventstore.api.WrongExpectedVersionException;
 
 import javax.annotation.CheckReturnValue;
@@ -21,20 +25,28 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamReader, EventCategoryReader, EventReader {
+import static com.timgroup.eventstore.api.WriteResult.WrittenEvent.writtenEvent;
+import static java.util.stream.Collectors.toMap;
+
+public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamReader, EventCategoryReader, EventReader, WriteNotifier {
     public static final PositionCodec CODEC = PositionCodec.ofComparable(InMemoryEventStorePosition.class,
             str -> new InMemoryEventStorePosition(Long.parseLong(str)),
             pos -> Long.toString(pos.eventNumber));
     private final Collection<ResolvedEvent> events;
     private final Clock clock;
+    private final List<Runnable> writeListeners = new CopyOnWriteArrayList<>();
 
     public JavaInMemoryEventStore(Supplier<Collection<ResolvedEvent>> storageSupplier, Clock clock) {
         this.clock = clock;
@@ -85,6 +97,14 @@ public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamRea
         write(streamId, events, currentVersionOf(streamId));
     }
 
+    /**
+     * Writes to this store, completing each future before returning.
+     */
+    @Nonnull
+    public AsyncEventStreamWriter writeStreamAsync() {
+        return new AsyncWriter();
+    }
+
     @Override
     @Nonnull
     @CheckReturnValue
@@ -99,7 +119,11 @@ public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamRea
     }
 
     @Override
-    public synchronized void write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+    public void write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+        append(streamId, events, expectedVersion);
+    }
+
+    private synchronized List<WrittenEvent> append(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
         long currentVersion = currentVersionOf(streamId);
 
         if (currentVersion != expectedVersion) {
@@ -109,6 +133,7 @@ public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamRea
         AtomicLong globalPosition = new AtomicLong(this.events.size());
         AtomicLong eventNumber = new AtomicLong(currentVersion);
 
+        List<WrittenEvent> written = new ArrayList<>(events.size());
         events.stream().map(newEvent -> new ResolvedEvent(new InMemoryEventStorePosition(globalPosition.incrementAndGet()), EventRecord.eventRecord(
                 clock.instant(),
                 streamId,
@@ -116,7 +141,25 @@ public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamRea
                 newEvent.type(),
                 newEvent.data(),
                 newEvent.metadata()
-        ))).forEachOrdered(this.events::add);
+        ))).forEachOrdered(event -> {
+            this.events.add(event);
+            written.add(writtenEvent(event.position(), streamId, event.eventRecord().eventNumber()));
+        });
+        if (!written.isEmpty()) {
+            writeListeners.forEach(Runnable::run);
+        }
+        return written;
+    }
+
+    /**
+     * Listeners are called on the writing thread, once for each write that adds events.
+     */
+    @Nonnull
+    @Override
+    public Registration addWriteListener(Runnable listener) {
+        Runnable registered = listener::run;
+        writeListeners.add(registered);
+        return () -> writeListeners.remove(registered);
     }
 
     @Override
@@ -246,4 +289,50 @@ public class JavaInMemoryEventStore implements EventStreamWriter, EventStreamRea
             return Long.toString(eventNumber);
         }
     }
+
+    private final class AsyncWriter implements AsyncEventStreamWriter {
+        @Nonnull
+        @Override
+        public CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events) {
+            return execute(Collections.singletonList(new StreamWriteRequest(streamId, events, OptionalLong.empty())));
+        }
+
+        @Nonnull
+        @Override
+        public CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+            return execute(Collections.singletonList(new StreamWriteRequest(streamId, events, OptionalLong.of(expectedVersion))));
+        }
+
+        @Nonnull
+        @Override
+        public CompletableFuture<WriteResult> execute(Collection<StreamWriteRequest> writeRequests) {
+            CompletableFuture<WriteResult> result = new CompletableFuture<>();
+            try {
+                writeRequests.stream().collect(toMap(r -> r.streamId, r -> r, (r1, r2) -> {
+                    throw new RuntimeException("Duplicate streamId in write request: " + r1.streamId);
+                }));
+
+                List<WrittenEvent> written = new ArrayList<>();
+                Map<StreamId, String> failures = new LinkedHashMap<>();
+                synchronized (JavaInMemoryEventStore.this) {
+                    for (StreamWriteRequest request : writeRequests) {
+                        try {
+                            written.addAll(append(request.streamId, request.events, request.expectedVersion.orElse(currentVersionOf(request.streamId))));
+                        } catch (WrongExpectedVersionException e) {
+                            failures.put(request.streamId, e.getMessage());
+                        }
+                    }
+                }
+
+                if (failures.isEmpty()) {
+                    result.complete(WriteResult.writeResult(written));
+                } else {
+                    result.completeExceptionally(new WrongExpectedVersionException(failures));
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+    }
 }
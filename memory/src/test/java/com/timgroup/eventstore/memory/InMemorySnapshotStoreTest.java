@@ -0,0 +1,13 @@
+package com.timgroup.eventstore.memory;
+
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.SnapshotStoreTest;
+
+public class InMemorySnapshotStoreTest extends SnapshotStoreTest {
+    private final InMemorySnapshotStore snapshotStore = new InMemorySnapshotStore();
+
+    @Override
+    public SnapshotStore snapshotStore() {
+        return snapshotStore;
+    }
+}
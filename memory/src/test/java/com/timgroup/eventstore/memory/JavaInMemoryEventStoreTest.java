@@ -5,16 +5,30 @@ import com.timgroup.eventstore.api.JavaEventStoreTest;
 import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteResult;
+import com.timgroup.eventstore.api.WrongExpectedVersionException;
 import org.junit.Test;
 
 import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.timgroup.eventstore.api.WriteResult.WrittenEvent.writtenEvent;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.fail;
 
 public class JavaInMemoryEventStoreTest extends JavaEventStoreTest {
 
@@ -52,6 +66,32 @@ public class JavaInMemoryEventStoreTest extends JavaEventStoreTest {
         assertThat(resolvedEventStream.count(), equalTo(0L));
     }
 
+    @Test
+    public void async_writes_complete_with_assigned_positions_and_event_numbers() {
+        StreamId stream = streamId("async", "stream");
+        eventStore.write(streamId("async", "other"), singletonList(newEvent("type", new byte[0])));
+
+        WriteResult result = eventStore.writeStreamAsync().write(stream, asList(newEvent("type", new byte[0]), newEvent("type", new byte[0])), -1).join();
+
+        assertThat(result.events(), contains(
+                writtenEvent(position(2L), stream, 0),
+                writtenEvent(position(3L), stream, 1)));
+        assertThat(result.lastPosition(), equalTo(Optional.of(position(3L))));
+    }
+
+    @Test
+    public void async_writes_complete_exceptionally_on_wrong_expected_version() {
+        CompletableFuture<WriteResult> result = eventStore.writeStreamAsync().write(streamId("async", "stream"), singletonList(newEvent("type", new byte[0])), 3);
+
+        assertThat(result.isCompletedExceptionally(), equalTo(true));
+        try {
+            result.join();
+            fail("expected wrong expected version");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), instanceOf(WrongExpectedVersionException.class));
+        }
+    }
+
     private Position position(long n) {
         return positionCodec().deserializePosition(Long.toString(n));
     }
@@ -0,0 +1,96 @@
+package com.timgroup.eventstore.memory;
+
+import com.codahale.metrics.MetricRegistry;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.Snapshot;
+import com.timgroup.eventstore.api.SnapshottingStreamReader;
+import com.timgroup.eventstore.api.StreamId;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.Snapshot.snapshot;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class SnapshottingStreamReaderTest {
+    private final JavaInMemoryEventStore eventStore = new JavaInMemoryEventStore(Clock.systemUTC());
+    private final InMemorySnapshotStore snapshotStore = new InMemorySnapshotStore();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final SnapshottingStreamReader reader = new SnapshottingStreamReader(eventStore, snapshotStore, 3, metricRegistry, "test");
+
+    private final StreamId stream = streamId("counter", "1");
+
+    @Test
+    public void loads_a_stream_without_a_snapshot_from_its_first_event() {
+        write(2);
+
+        SnapshottingStreamReader.Loaded<Long> loaded = reader.load(stream, new Counting());
+
+        assertThat(loaded.state(), is(2L));
+        assertThat(loaded.eventNumber(), is(1L));
+        assertThat(metricRegistry.counter("snapshots.test.miss").getCount(), is(1L));
+        assertThat(snapshotStore.loadLatest(stream), is(Optional.empty()));
+    }
+
+    @Test
+    public void applies_only_the_events_after_the_latest_snapshot() {
+        write(5);
+        snapshotStore.save(snapshot(stream, 3, "100".getBytes(UTF_8)));
+
+        SnapshottingStreamReader.Loaded<Long> loaded = reader.load(stream, new Counting());
+
+        assertThat(loaded.state(), is(101L));
+        assertThat(loaded.eventNumber(), is(4L));
+        assertThat(metricRegistry.counter("snapshots.test.hit").getCount(), is(1L));
+        assertThat(metricRegistry.histogram("snapshots.test.tail_length").getSnapshot().getMax(), is(1L));
+    }
+
+    @Test
+    public void saves_a_snapshot_once_enough_events_have_been_applied() {
+        write(4);
+
+        reader.load(stream, new Counting());
+
+        assertThat(snapshotStore.loadLatest(stream).map(Snapshot::eventNumber), is(Optional.of(3L)));
+        assertThat(reader.load(stream, new Counting()).state(), is(4L));
+        assertThat(metricRegistry.histogram("snapshots.test.tail_length").getSnapshot().getMin(), is(0L));
+    }
+
+    private void write(int count) {
+        List<NewEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(newEvent("Incremented", new byte[0]));
+        }
+        eventStore.write(stream, events);
+    }
+
+    private static final class Counting implements SnapshottingStreamReader.Fold<Long> {
+        @Override
+        public Long initial() {
+            return 0L;
+        }
+
+        @Override
+        public Long apply(Long state, ResolvedEvent event) {
+            return state + 1;
+        }
+
+        @Override
+        public byte[] serialize(Long state) {
+            return Long.toString(state).getBytes(UTF_8);
+        }
+
+        @Override
+        public Long restore(byte[] data) {
+            return Long.parseLong(new String(data, UTF_8));
+        }
+    }
+}
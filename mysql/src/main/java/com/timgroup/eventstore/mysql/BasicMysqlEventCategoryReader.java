@@ -2,6 +2,7 @@ package com.timgroup.eventstore.mysql;
 
 import com.codahale.metrics.MetricRegistry;
 import com.timgroup.eventstore.api.EventCategoryReader;
+import com.timgroup.eventstore.api.EventProjection;
 import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
@@ -9,12 +10,20 @@ import com.timgroup.eventstore.api.ResolvedEvent;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.timgroup.eventstore.api.EventProjection.FULL;
 import static com.timgroup.eventstore.mysql.BasicMysqlEventReader.pageFetchTimer;
+import static com.timgroup.eventstore.mysql.BasicMysqlEventReader.pageWaitTimer;
 import static com.timgroup.eventstore.mysql.BasicMysqlEventStorePosition.EMPTY_STORE_POSITION;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.StreamSupport.stream;
@@ -24,52 +33,110 @@ public class BasicMysqlEventCategoryReader implements EventCategoryReader {
     private final ConnectionProvider connectionProvider;
     private final String tableName;
     private final int batchSize;
+    private final ReaderOptions readerOptions;
     private final Timer timer;
     private final Timer multiCategoryTimer;
+    private final Timer waitTimer;
+    private final Timer multiCategoryWaitTimer;
+    private final PageSize pageSize;
+    private final PageSize multiCategoryPageSize;
 
     public BasicMysqlEventCategoryReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, databaseName, tableName, batchSize, metricRegistry, ReaderOptions.DEFAULT);
+    }
+
+    BasicMysqlEventCategoryReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry, ReaderOptions readerOptions) {
         this.connectionProvider = requireNonNull(connectionProvider);
         this.tableName = requireNonNull(tableName);
         this.batchSize = batchSize;
+        this.readerOptions = requireNonNull(readerOptions);
         if (metricRegistry == null) {
             this.timer = (Runnable r) -> pageFetchTimer.labels(databaseName, tableName, "read_category").time(r);
             this.multiCategoryTimer = (Runnable r) -> pageFetchTimer.labels(databaseName, tableName, "read_categories").time(r);
+            this.waitTimer = (Runnable r) -> pageWaitTimer.labels(databaseName, tableName, "read_category").time(r);
+            this.multiCategoryWaitTimer = (Runnable r) -> pageWaitTimer.labels(databaseName, tableName, "read_categories").time(r);
         } else {
             this.timer = metricRegistry.timer(String.format("database.%s.%s.read_category.page_fetch_time", databaseName, tableName))::time;
             this.multiCategoryTimer = metricRegistry.timer(String.format("database.%s.%s.read_categories.page_fetch_time", databaseName, tableName))::time;
+            this.waitTimer = metricRegistry.timer(String.format("database.%s.%s.read_category.page_wait_time", databaseName, tableName))::time;
+            this.multiCategoryWaitTimer = metricRegistry.timer(String.format("database.%s.%s.read_categories.page_wait_time", databaseName, tableName))::time;
         }
+        PageSizing pageSizing = readerOptions.pageSizing(batchSize);
+        this.pageSize = pageSizing.pageSize(databaseName, tableName, "read_category", metricRegistry);
+        this.multiCategoryPageSize = pageSizing.pageSize(databaseName, tableName, "read_categories", metricRegistry);
     }
 
     @CheckReturnValue
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive) {
-        return stream(EventSpliterator.readCategoryEventSpliterator(
+        return readCategoryForwards(category, positionExclusive, FULL);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive, EventProjection projection) {
+        return readForwards(category, (BasicMysqlEventStorePosition) positionExclusive, projection, EventTypeFilter.ALL_TYPES);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readCategoryForwardsOfTypes(String category, Position positionExclusive, Set<String> eventTypes) {
+        if (eventTypes.isEmpty()) {
+            return Stream.empty();
+        }
+        return readForwards(category, (BasicMysqlEventStorePosition) positionExclusive, FULL, EventTypeFilter.onlyTypes(eventTypes));
+    }
+
+    @Override
+    public boolean filtersCategoryEventTypesAtSource() {
+        return true;
+    }
+
+    private Stream<ResolvedEvent> readForwards(String category, BasicMysqlEventStorePosition positionExclusive, EventProjection projection, EventTypeFilter filter) {
+        return EventSpliterator.stream(EventSpliterator.readCategoryEventSpliterator(
                 connectionProvider,
-                batchSize,
+                pageSize,
                 tableName,
                 category,
-                (BasicMysqlEventStorePosition) positionExclusive,
+                positionExclusive,
                 false,
-                timer
-        ), false);
+                projection,
+                filter,
+                timer,
+                readerOptions,
+                waitTimer
+        ));
     }
 
+    /**
+     * Merges one cursor per category by position, rather than asking for a page from every category in each query.
+     * The read stops at the position of the last event written when it starts, so that categories that run dry early
+     * cannot miss events written while the others are still being read.
+     */
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readCategoriesForwards(List<String> categories, Position positionExclusive) {
-        return stream(new EventSpliterator<>(
-                connectionProvider,
-                (BasicMysqlEventStorePosition) positionExclusive,
-                pos -> categories.stream().map(category -> "(select position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata" +
-                        " from " + tableName +
-                        " FORCE INDEX (stream_category_2)" +
-                        " where position > " + pos.value +
-                        " and stream_category = '" + category + "'" +
-                        " order by position asc" +
-                        " limit " + batchSize + ")").collect(Collectors.joining(" union all ", "", " order by position asc limit " + batchSize)),
-                resolvedEvent -> (BasicMysqlEventStorePosition) resolvedEvent.position(),
-                multiCategoryTimer), false);
+        BasicMysqlEventStorePosition startingPosition = (BasicMysqlEventStorePosition) positionExclusive;
+        return EventSpliterator.stream(new CategoryMergingSpliterator(() -> {
+            long head = headPosition();
+            if (head <= startingPosition.value) {
+                return Collections.emptyList();
+            }
+            return categories.stream().distinct().map(category -> EventSpliterator.readCategoryEventSpliteratorUpTo(
+                    connectionProvider,
+                    multiCategoryPageSize,
+                    tableName,
+                    category,
+                    startingPosition,
+                    head,
+                    multiCategoryTimer,
+                    readerOptions,
+                    multiCategoryWaitTimer
+            )).collect(Collectors.toList());
+        }));
     }
 
     @CheckReturnValue
@@ -83,13 +150,29 @@ public class BasicMysqlEventCategoryReader implements EventCategoryReader {
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readCategoryBackwards(String category, Position positionExclusive) {
-        return readBackwards(category, (BasicMysqlEventStorePosition) positionExclusive, this.batchSize);
+        return readBackwards(category, (BasicMysqlEventStorePosition) positionExclusive, pageSize, FULL);
     }
 
     @Nonnull
     @Override
     public Optional<ResolvedEvent> readLastEventInCategory(String category) {
-        return readBackwards(category, new BasicMysqlEventStorePosition(Long.MAX_VALUE), 1).findFirst();
+        return readLastEventInCategory(category, FULL);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<ResolvedEvent> readLastEventInCategory(String category, EventProjection projection) {
+        return readBackwards(category, new BasicMysqlEventStorePosition(Long.MAX_VALUE), PageSize.fixed(1), projection).findFirst();
+    }
+
+    /**
+     * Looks up {@code max(position)} within the category, which is answered from the end of the category's range in
+     * the {@code stream_category_2} index without reading any event.
+     */
+    @Nonnull
+    @Override
+    public Position headPositionOfCategory(String category) {
+        return new BasicMysqlEventStorePosition(readerOptions.headPositions.categoryHead(category, () -> queryHeadPositionOfCategory(category)));
     }
 
     @Nonnull
@@ -109,17 +192,48 @@ public class BasicMysqlEventCategoryReader implements EventCategoryReader {
         return "BasicMysqlEventCategoryReader{" +
                 "tableName='" + tableName + '\'' +
                 ", batchSize=" + batchSize +
+                ", readerOptions=" + readerOptions +
                 '}';
     }
 
-    private Stream<ResolvedEvent> readBackwards(String category, BasicMysqlEventStorePosition positionExclusive, int theBatchSize) {
+    private long headPosition() {
+        long[] head = new long[1];
+        multiCategoryTimer.time(() -> head[0] = BasicMysqlEventReader.maxPosition(connectionProvider, tableName));
+        return head[0];
+    }
+
+    private long queryHeadPositionOfCategory(String category) {
+        long[] head = new long[1];
+        timer.time(() -> {
+            try (Connection connection = connectionProvider.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("select max(position) from " + tableName + " where stream_category = ?")) {
+                statement.setString(1, category);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    head[0] = resultSet.getLong(1);
+                    if (resultSet.wasNull()) {
+                        head[0] = EMPTY_STORE_POSITION.value;
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        return head[0];
+    }
+
+    private Stream<ResolvedEvent> readBackwards(String category, BasicMysqlEventStorePosition positionExclusive, PageSize thePageSize, EventProjection projection) {
         return stream(EventSpliterator.readCategoryEventSpliterator(
                 connectionProvider,
-                theBatchSize,
+                thePageSize,
                 tableName,
                 category,
                 positionExclusive,
                 true,
-                timer), false);
+                projection,
+                EventTypeFilter.ALL_TYPES,
+                timer,
+                ReaderOptions.DEFAULT,
+                waitTimer), false);
     }
 }
@@ -1,18 +1,26 @@
 package com.timgroup.eventstore.mysql;
 
 import com.codahale.metrics.MetricRegistry;
+import com.timgroup.eventstore.api.EventProjection;
 import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import static com.timgroup.eventstore.api.EventProjection.FULL;
 import static com.timgroup.eventstore.mysql.BasicMysqlEventStorePosition.EMPTY_STORE_POSITION;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.StreamSupport.stream;
@@ -23,34 +31,87 @@ public class BasicMysqlEventReader implements EventReader {
             .labelNames("database", "table", "read_type")
             .register();
 
+    public final static Histogram pageWaitTimer = Histogram.build("tg_eventstore_page_wait_seconds", "TG Eventstore time spent by consumers waiting for a page")
+            .labelNames("database", "table", "read_type")
+            .register();
+
+    public final static Gauge pageSizeGauge = Gauge.build("tg_eventstore_page_size_rows", "TG Eventstore current adaptive page size")
+            .labelNames("database", "table", "read_type")
+            .register();
+
+    public final static Gauge pageBytesGauge = Gauge.build("tg_eventstore_page_size_bytes", "TG Eventstore estimated bytes in the last page fetched by an adaptive reader")
+            .labelNames("database", "table", "read_type")
+            .register();
+
     private final ConnectionProvider connectionProvider;
     private final String tableName;
     private final int batchSize;
+    private final ReaderOptions readerOptions;
     private final Timer timer;
+    private final Timer waitTimer;
+    private final PageSize pageSize;
 
     public BasicMysqlEventReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, databaseName, tableName, batchSize, metricRegistry, ReaderOptions.DEFAULT);
+    }
+
+    BasicMysqlEventReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry, ReaderOptions readerOptions) {
         this.connectionProvider = requireNonNull(connectionProvider);
         this.tableName = requireNonNull(tableName);
         this.batchSize = batchSize;
+        this.readerOptions = requireNonNull(readerOptions);
         if (metricRegistry == null) {
             this.timer = (Runnable r) -> pageFetchTimer.labels(databaseName, tableName, "read_all").time(r);
+            this.waitTimer = (Runnable r) -> pageWaitTimer.labels(databaseName, tableName, "read_all").time(r);
         } else {
             this.timer = metricRegistry.timer(String.format("database.%s.%s.read_all.page_fetch_time", databaseName, tableName))::time;
+            this.waitTimer = metricRegistry.timer(String.format("database.%s.%s.read_all.page_wait_time", databaseName, tableName))::time;
         }
+        this.pageSize = readerOptions.pageSizing(batchSize).pageSize(databaseName, tableName, "read_all", metricRegistry);
     }
 
     @CheckReturnValue
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readAllForwards(Position positionExclusive) {
-        return stream(EventSpliterator.readAllEventSpliterator(
+        return readAllForwards(positionExclusive, FULL);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readAllForwards(Position positionExclusive, EventProjection projection) {
+        return readForwards((BasicMysqlEventStorePosition) positionExclusive, projection, EventTypeFilter.ALL_TYPES);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readAllForwardsOfTypes(Position positionExclusive, Set<String> eventTypes) {
+        if (eventTypes.isEmpty()) {
+            return Stream.empty();
+        }
+        return readForwards((BasicMysqlEventStorePosition) positionExclusive, FULL, EventTypeFilter.onlyTypes(eventTypes));
+    }
+
+    @Override
+    public boolean filtersEventTypesAtSource() {
+        return true;
+    }
+
+    private Stream<ResolvedEvent> readForwards(BasicMysqlEventStorePosition positionExclusive, EventProjection projection, EventTypeFilter filter) {
+        return EventSpliterator.stream(EventSpliterator.readAllEventSpliterator(
                 connectionProvider,
-                batchSize,
+                pageSize,
                 tableName,
-                (BasicMysqlEventStorePosition) positionExclusive,
+                positionExclusive,
                 false,
-                timer
-        ), false);
+                projection,
+                filter,
+                timer,
+                readerOptions,
+                waitTimer
+        ));
     }
 
     @CheckReturnValue
@@ -64,23 +125,60 @@ public class BasicMysqlEventReader implements EventReader {
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readAllBackwards(Position positionExclusive) {
-        return readBackwards((BasicMysqlEventStorePosition) positionExclusive, this.batchSize);
+        return readBackwards((BasicMysqlEventStorePosition) positionExclusive, pageSize, FULL);
     }
 
     @Nonnull
     @Override
     public Optional<ResolvedEvent> readLastEvent() {
-        return readBackwards(new BasicMysqlEventStorePosition(Long.MAX_VALUE), 1).findFirst();
+        return readLastEvent(FULL);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<ResolvedEvent> readLastEvent(EventProjection projection) {
+        return readBackwards(new BasicMysqlEventStorePosition(Long.MAX_VALUE), PageSize.fixed(1), projection).findFirst();
+    }
+
+    /**
+     * Looks up {@code max(position)}, which is answered from the end of the primary key without reading any event.
+     */
+    @Nonnull
+    @Override
+    public Position headPosition() {
+        return new BasicMysqlEventStorePosition(readerOptions.headPositions.storeHead(this::queryHeadPosition));
+    }
+
+    private long queryHeadPosition() {
+        long[] head = new long[1];
+        timer.time(() -> head[0] = maxPosition(connectionProvider, tableName));
+        return head[0];
+    }
+
+    static long maxPosition(ConnectionProvider connectionProvider, String tableName) {
+        try (Connection connection = connectionProvider.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select max(position) from " + tableName)) {
+            resultSet.next();
+            long head = resultSet.getLong(1);
+            return resultSet.wasNull() ? EMPTY_STORE_POSITION.value : head;
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private Stream<ResolvedEvent> readBackwards(BasicMysqlEventStorePosition positionExclusive, int theBatchSize) {
+    private Stream<ResolvedEvent> readBackwards(BasicMysqlEventStorePosition positionExclusive, PageSize thePageSize, EventProjection projection) {
         return stream(EventSpliterator.readAllEventSpliterator(
                 connectionProvider,
-                theBatchSize,
+                thePageSize,
                 tableName,
                 positionExclusive,
                 true,
-                timer), false);
+                projection,
+                EventTypeFilter.ALL_TYPES,
+                timer,
+                ReaderOptions.DEFAULT,
+                waitTimer), false);
     }
 
     @Nonnull
@@ -100,6 +198,7 @@ public class BasicMysqlEventReader implements EventReader {
         return "BasicMysqlEventReader{" +
                 "tableName='" + tableName + '\'' +
                 ", batchSize=" + batchSize +
+                ", readerOptions=" + readerOptions +
                 '}';
     }
 }
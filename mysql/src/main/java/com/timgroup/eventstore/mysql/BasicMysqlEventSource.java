@@ -2,11 +2,13 @@ package com.timgroup.eventstore.mysql;
 
 import com.codahale.metrics.MetricRegistry;
 import com.mchange.v2.c3p0.PooledDataSource;
+import com.timgroup.eventstore.api.AsyncEventStreamWriter;
 import com.timgroup.eventstore.api.EventCategoryReader;
 import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.EventSource;
 import com.timgroup.eventstore.api.EventStreamReader;
 import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.SnapshotStore;
 import com.timgroup.tucker.info.Component;
 import com.typesafe.config.Config;
 import org.slf4j.LoggerFactory;
@@ -16,10 +18,19 @@ import javax.annotation.Nullable;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
 
 public class BasicMysqlEventSource implements EventSource {
     private static final int DefaultBatchSize = 100_000;
@@ -30,6 +41,8 @@ public class BasicMysqlEventSource implements EventSource {
     private final int batchSize;
     private final String name;
     private final MetricRegistry metricRegistry;
+    private final ReaderOptions readerOptions;
+    private final WriterOptions writerOptions;
 
     public BasicMysqlEventSource(ConnectionProvider connectionProvider, String tableName, int batchSize, String name) {
         this(connectionProvider, tableName, batchSize, name, null);
@@ -46,6 +59,19 @@ public class BasicMysqlEventSource implements EventSource {
         this.batchSize = batchSize;
         this.name = name;
         this.metricRegistry = metricRegistry;
+        this.readerOptions = ReaderOptions.DEFAULT;
+        this.writerOptions = WriterOptions.DEFAULT;
+    }
+
+    private BasicMysqlEventSource(BasicMysqlEventSource original, ReaderOptions readerOptions, WriterOptions writerOptions) {
+        this.connectionProvider = original.connectionProvider;
+        this.databaseName = original.databaseName;
+        this.tableName = original.tableName;
+        this.batchSize = original.batchSize;
+        this.name = original.name;
+        this.metricRegistry = original.metricRegistry;
+        this.readerOptions = requireNonNull(readerOptions);
+        this.writerOptions = requireNonNull(writerOptions);
     }
 
     public BasicMysqlEventSource(ConnectionProvider connectionProvider, String tableName, int batchSize) {
@@ -72,28 +98,145 @@ public class BasicMysqlEventSource implements EventSource {
         this(connectionProvider, tableName, DefaultBatchSize, metricRegistry);
     }
 
+    /**
+     * Returns a copy of this event source whose forward readers query up to {@code pagesInFlight} pages ahead of
+     * the consumer on a shared pool of daemon threads, rather than fetching each page only once the previous one
+     * has been consumed. Each prefetched page holds a pooled connection while it is being fetched.
+     */
+    public BasicMysqlEventSource withPrefetch(int pagesInFlight) {
+        return withPrefetch(pagesInFlight, PrefetchExecutor.INSTANCE);
+    }
+
+    public BasicMysqlEventSource withPrefetch(int pagesInFlight, Executor executor) {
+        return withReaderOptions(readerOptions.withPrefetch(pagesInFlight, executor));
+    }
+
+    /**
+     * Returns a copy of this event source whose forward readers hand each row to the consumer directly from an open
+     * streaming result set instead of materialising a page at a time, so only one event is held in memory. The
+     * cursor is reopened from the last event read once each batch is exhausted. Streams from these readers hold a
+     * connection while being consumed, so they must be closed if they are not read to the end.
+     */
+    public BasicMysqlEventSource withStreamingCursor() {
+        return withReaderOptions(readerOptions.withStreamingCursor());
+    }
+
+    /**
+     * Returns a copy of this event source whose forward and backward readers choose the limit of each page query from
+     * the events they have already read, rather than always asking for the batch size. Pages start at up to 1000 rows
+     * and are resized after each fetch towards roughly {@code targetBytesPerPage} of event data, or as many rows as can
+     * be fetched in {@code targetLatencyPerPage}, whichever is fewer. The batch size becomes the largest page asked
+     * for. Stream readers still use the batch size. The current page size and bytes per page are reported as gauges.
+     */
+    public BasicMysqlEventSource withAdaptivePageSize(long targetBytesPerPage, Duration targetLatencyPerPage) {
+        return withReaderOptions(readerOptions.withAdaptivePageSize(targetBytesPerPage, targetLatencyPerPage));
+    }
+
+    /**
+     * Returns a copy of this event source whose forward readers of the store and of categories bound each page query
+     * by the end of the partition it starts in, for a table partitioned every {@code positionsPerPartition} positions
+     * by {@link BasicMysqlEventStoreSetup#lazyCreatePartitioned(long)}. MySQL then prunes each query to a single
+     * partition instead of merging all the partitions above the position read from. Reading a partition with no
+     * events costs one query, so the partitions should hold many pages of events each.
+     */
+    public BasicMysqlEventSource withReadsByPartition(long positionsPerPartition) {
+        return withReaderOptions(readerOptions.withReadsByPartition(positionsPerPartition));
+    }
+
+    /**
+     * Returns a copy of this event source whose readers remember the head position of the store and of each category
+     * for {@code timeToLive} after looking it up, so that frequent checks such as status pages query the database at
+     * most once per period. Every reader from the copy shares the same cache, and any head position they return may be
+     * up to {@code timeToLive} out of date. Reads of events are not cached.
+     */
+    public BasicMysqlEventSource withHeadPositionCache(Duration timeToLive) {
+        return withReaderOptions(readerOptions.withHeadPositionCache(timeToLive));
+    }
+
+    /**
+     * Returns a copy of this event source whose writers allocate positions from a single-row counter table, locked
+     * until the write commits, instead of from {@code select max(position)}. Concurrent writers then wait for each
+     * other rather than colliding on the same positions and retrying. The counter table is created by
+     * {@link BasicMysqlEventStoreSetup#lazyCreatePositionCounter()}.
+     */
+    public BasicMysqlEventSource withPositionCounter() {
+        return withOptions(readerOptions, writerOptions.withPositionCounter());
+    }
+
+    /**
+     * Returns a copy of this event source whose writers insert events in multi-row statements of up to roughly
+     * {@code writeChunkBytes} each, rather than the default of 1MiB. Chunks are also kept below the server's
+     * max_allowed_packet. An event larger than the budget is written in a statement of its own.
+     */
+    public BasicMysqlEventSource withWriteChunkBytes(long writeChunkBytes) {
+        return withOptions(readerOptions, writerOptions.withWriteChunkBytes(writeChunkBytes));
+    }
+
+    /**
+     * Returns a copy of this event source whose writers compress the data and metadata of each event on the calling
+     * thread before writing it, behind a header that lets its readers recognise them. Its readers decompress them when
+     * they are first asked for, so uncompressed events already in the table are read as before, and fail with an
+     * {@link IllegalStateException} if a compressed value is corrupt. Readers of sources without compression return
+     * values as stored, so configure every source writing to or reading from the table the same way. Raw and stored
+     * byte counts, and their ratio, are reported with the writers' other metrics.
+     */
+    public BasicMysqlEventSource withCompression(PayloadCompression compression) {
+        return withOptions(readerOptions.withCompression(compression), writerOptions.withCompression(compression));
+    }
+
+    BasicMysqlEventSource withReaderOptions(ReaderOptions readerOptions) {
+        return withOptions(readerOptions, writerOptions);
+    }
+
+    BasicMysqlEventSource withOptions(ReaderOptions readerOptions, WriterOptions writerOptions) {
+        return new BasicMysqlEventSource(this, readerOptions, writerOptions);
+    }
+
     @Nonnull
     @Override
     public EventReader readAll() {
-        return new BasicMysqlEventReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry);
+        return new BasicMysqlEventReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry, readerOptions);
     }
 
     @Nonnull
     @Override
     public EventCategoryReader readCategory() {
-        return new BasicMysqlEventCategoryReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry);
+        return new BasicMysqlEventCategoryReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry, readerOptions);
     }
 
     @Nonnull
     @Override
     public EventStreamReader readStream() {
-        return new BasicMysqlEventStreamReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry);
+        return new BasicMysqlEventStreamReader(connectionProvider, databaseName, tableName, batchSize, metricRegistry, readerOptions.compression);
     }
 
     @Nonnull
     @Override
     public EventStreamWriter writeStream() {
-        return new BasicMysqlEventStreamWriter(connectionProvider, databaseName, tableName, metricRegistry);
+        return new BasicMysqlEventStreamWriter(connectionProvider, databaseName, tableName, metricRegistry, writerOptions);
+    }
+
+    /**
+     * Returns a store for snapshots of this event source's streams, kept in the table created by
+     * {@link BasicMysqlEventStoreSetup#lazyCreateSnapshots()}.
+     */
+    @Nonnull
+    public SnapshotStore snapshots() {
+        return new BasicMysqlSnapshotStore(connectionProvider, tableName);
+    }
+
+    /**
+     * Returns a writer that commits on a shared, bounded pool of daemon writer threads. Writes submitted while the
+     * pool and its queue are full fail with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    @Nonnull
+    public AsyncEventStreamWriter writeStreamAsync() {
+        return writeStreamAsync(WriterExecutor.INSTANCE);
+    }
+
+    @Nonnull
+    public AsyncEventStreamWriter writeStreamAsync(Executor executor) {
+        return new ExecutorAsyncEventStreamWriter(new BasicMysqlEventStreamWriter(connectionProvider, databaseName, tableName, metricRegistry, writerOptions), executor);
     }
 
     @Nonnull
@@ -122,6 +265,8 @@ public class BasicMysqlEventSource implements EventSource {
                 ", tableName='" + tableName + '\'' +
                 ", batchSize=" + batchSize +
                 ", name='" + name + '\'' +
+                ", readerOptions=" + readerOptions +
+                ", writerOptions=" + writerOptions +
                 '}';
     }
 
@@ -292,6 +437,69 @@ public class BasicMysqlEventSource implements EventSource {
             this.dataSource = dataSource;
         }
 
+        private PooledMysqlEventSource(PooledMysqlEventSource original, ReaderOptions readerOptions, WriterOptions writerOptions) {
+            super(original, readerOptions, writerOptions);
+            this.dataSource = original.dataSource;
+        }
+
+        /**
+         * The returned event source shares this one's data source, so closing either closes both.
+         */
+        @Override
+        public PooledMysqlEventSource withPrefetch(int pagesInFlight) {
+            return (PooledMysqlEventSource) super.withPrefetch(pagesInFlight);
+        }
+
+        @Override
+        public PooledMysqlEventSource withPrefetch(int pagesInFlight, Executor executor) {
+            return (PooledMysqlEventSource) super.withPrefetch(pagesInFlight, executor);
+        }
+
+        @Override
+        public PooledMysqlEventSource withStreamingCursor() {
+            return (PooledMysqlEventSource) super.withStreamingCursor();
+        }
+
+        @Override
+        public PooledMysqlEventSource withAdaptivePageSize(long targetBytesPerPage, Duration targetLatencyPerPage) {
+            return (PooledMysqlEventSource) super.withAdaptivePageSize(targetBytesPerPage, targetLatencyPerPage);
+        }
+
+        @Override
+        public PooledMysqlEventSource withReadsByPartition(long positionsPerPartition) {
+            return (PooledMysqlEventSource) super.withReadsByPartition(positionsPerPartition);
+        }
+
+        @Override
+        public PooledMysqlEventSource withHeadPositionCache(Duration timeToLive) {
+            return (PooledMysqlEventSource) super.withHeadPositionCache(timeToLive);
+        }
+
+        @Override
+        public PooledMysqlEventSource withPositionCounter() {
+            return (PooledMysqlEventSource) super.withPositionCounter();
+        }
+
+        @Override
+        public PooledMysqlEventSource withWriteChunkBytes(long writeChunkBytes) {
+            return (PooledMysqlEventSource) super.withWriteChunkBytes(writeChunkBytes);
+        }
+
+        @Override
+        public PooledMysqlEventSource withCompression(PayloadCompression compression) {
+            return (PooledMysqlEventSource) super.withCompression(compression);
+        }
+
+        @Override
+        PooledMysqlEventSource withReaderOptions(ReaderOptions readerOptions) {
+            return (PooledMysqlEventSource) super.withReaderOptions(readerOptions);
+        }
+
+        @Override
+        PooledMysqlEventSource withOptions(ReaderOptions readerOptions, WriterOptions writerOptions) {
+            return new PooledMysqlEventSource(this, readerOptions, writerOptions);
+        }
+
         @Override
         public void close() {
             try {
@@ -302,6 +510,28 @@ public class BasicMysqlEventSource implements EventSource {
         }
     }
 
+    private static final class PrefetchExecutor {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "EventStore-prefetch-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class WriterExecutor {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+        static final ThreadPoolExecutor INSTANCE = new ThreadPoolExecutor(8, 8, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+            Thread thread = new Thread(runnable, "EventStore-writer-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+    }
+
     private static String databaseName(ConnectionProvider connectionProvider) {
         try (Connection connection = connectionProvider.getConnection()) {
             return connection.getCatalog();
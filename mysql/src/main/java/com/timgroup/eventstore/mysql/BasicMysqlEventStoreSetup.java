@@ -3,14 +3,20 @@ package com.timgroup.eventstore.mysql;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
 @ParametersAreNonnullByDefault
 public class BasicMysqlEventStoreSetup {
+    private static final String EVENT_TYPE_INDEX = "event_type";
+    private static final String CATCH_ALL_PARTITION = "pmax";
+
     private final ConnectionProvider connectionProvider;
     private final String tableName;
 
@@ -23,20 +29,167 @@ public class BasicMysqlEventStoreSetup {
         try (Connection connection = connectionProvider.getConnection();
              Statement statement = connection.createStatement()) {
             statement.executeUpdate("drop table if exists " + tableName);
+            statement.executeUpdate("drop table if exists " + PositionAllocator.counterTableName(tableName));
+            statement.executeUpdate("drop table if exists " + BasicMysqlSnapshotStore.snapshotTableName(tableName));
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
     public void create() {
-        create(false);
+        create(false, 0);
     }
 
     public void lazyCreate() {
-        create(true);
+        create(true, 0);
+    }
+
+    /**
+     * Creates the event table, if there is not one already, partitioned by ranges of {@code positionsPerPartition}
+     * positions. Each partition can then be indexed, backed up and rebuilt on its own, and readers configured with
+     * {@link BasicMysqlEventSource#withReadsByPartition(long)} query one partition at a time. The table starts with a
+     * first partition and a catch-all partition for every later position, which {@link #rollOverPartitions(long, int)}
+     * splits up as the table grows.
+     *
+     * <p>MySQL requires every unique key of a partitioned table to include the partitioning column, so the index on
+     * stream and event number is not unique. Conflicting writes to a stream are still detected when writers collide on
+     * the positions they allocate from {@code max(position)}, which they read before the streams' current versions so
+     * that this holds under any isolation level, but not by writers using
+     * {@link BasicMysqlEventSource#withPositionCounter()}, so those writers, and
+     * {@link #lazyCreatePositionCounter()}, refuse to work with a partitioned table.</p>
+     */
+    public void lazyCreatePartitioned(long positionsPerPartition) {
+        if (positionsPerPartition <= 0) {
+            throw new IllegalArgumentException("Positions per partition must be positive: " + positionsPerPartition);
+        }
+        create(true, positionsPerPartition);
     }
 
-    private void create(boolean ifNotExists) {
+    /**
+     * Splits partitions of {@code positionsPerPartition} positions off the catch-all partition of a table created by
+     * {@link #lazyCreatePartitioned(long)}, until there are at least {@code emptyPartitionsAhead} whole partitions
+     * beyond the one holding the last event. Run regularly, the catch-all partition stays empty and splitting it is
+     * cheap; otherwise the events in it are copied into the new partitions. Returns the number of partitions added.
+     */
+    public int rollOverPartitions(long positionsPerPartition, int emptyPartitionsAhead) {
+        if (positionsPerPartition <= 0) {
+            throw new IllegalArgumentException("Positions per partition must be positive: " + positionsPerPartition);
+        }
+        if (emptyPartitionsAhead < 0) {
+            throw new IllegalArgumentException("Empty partitions ahead must not be negative: " + emptyPartitionsAhead);
+        }
+        try (Connection connection = connectionProvider.getConnection()) {
+            long highestBound = 0;
+            String catchAllPartition = null;
+            boolean partitioned = false;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select partition_name, partition_description from information_schema.partitions" +
+                            " where table_schema = database() and table_name = ? and partition_name is not null")) {
+                statement.setString(1, tableName);
+                try (ResultSet partitions = statement.executeQuery()) {
+                    while (partitions.next()) {
+                        partitioned = true;
+                        String description = partitions.getString("partition_description");
+                        if ("MAXVALUE".equalsIgnoreCase(description)) {
+                            catchAllPartition = partitions.getString("partition_name");
+                        } else {
+                            highestBound = Math.max(highestBound, Long.parseLong(description));
+                        }
+                    }
+                }
+            }
+            if (!partitioned) {
+                throw new IllegalStateException("Table " + tableName + " is not partitioned");
+            }
+
+            long head = Math.max(0, BasicMysqlEventReader.maxPosition(connectionProvider, tableName));
+            long targetBound = (head / positionsPerPartition + 1 + emptyPartitionsAhead) * positionsPerPartition;
+            List<String> newPartitions = new ArrayList<>();
+            for (long bound = highestBound + positionsPerPartition; bound <= targetBound; bound += positionsPerPartition) {
+                newPartitions.add(partitionDefinition(bound));
+            }
+            if (newPartitions.isEmpty()) {
+                return 0;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                if (catchAllPartition == null) {
+                    statement.execute("alter table " + tableName + " add partition (" + String.join(", ", newPartitions) + ")");
+                } else {
+                    statement.execute("alter table " + tableName + " reorganize partition " + catchAllPartition + " into (" +
+                            String.join(", ", newPartitions) + ", " +
+                            "partition " + catchAllPartition + " values less than maxvalue)");
+                }
+            }
+            return newPartitions.size();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates the counter table used by event sources configured with
+     * {@link BasicMysqlEventSource#withPositionCounter()}. It is seeded from the highest position on first write.
+     *
+     * @throws IllegalStateException if the event table is partitioned
+     */
+    public void lazyCreatePositionCounter() {
+        try (Connection connection = connectionProvider.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (isPartitioned(connection, tableName)) {
+                throw new IllegalStateException("Table " + tableName + " is partitioned, so cannot be written using a position counter");
+            }
+            statement.execute("create table if not exists " + PositionAllocator.counterTableName(tableName) + "(" +
+                    "id tinyint primary key, " +
+                    "position bigint not null" +
+                    ")");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates the table used by {@link BasicMysqlSnapshotStore} to keep the latest snapshot of each stream.
+     */
+    public void lazyCreateSnapshots() {
+        try (Connection connection = connectionProvider.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + BasicMysqlSnapshotStore.snapshotTableName(tableName) + "(" +
+                    "stream_category varchar(255) not null, " +
+                    "stream_id varchar(255) not null, " +
+                    "event_number bigint not null, " +
+                    "data longblob not null, " +
+                    "primary key(stream_category, stream_id)" +
+                    ") row_format=DYNAMIC");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Adds an index on event type and position, if there is not one already. Reads filtered to a few rare event types
+     * across the whole store can then find their events from the index instead of scanning every row. Reading a
+     * category already goes through the category index, so only whole-store reads benefit.
+     */
+    public void lazyCreateEventTypeIndex() {
+        try (Connection connection = connectionProvider.getConnection()) {
+            try (ResultSet indexes = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
+                while (indexes.next()) {
+                    if (EVENT_TYPE_INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return;
+                    }
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table " + tableName + " add key " + EVENT_TYPE_INDEX + "(event_type, position)");
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void create(boolean ifNotExists, long positionsPerPartition) {
         try (Connection connection = connectionProvider.getConnection()) {
             DatabaseMetaData meta = connection.getMetaData();
             if (ifNotExists) {
@@ -59,15 +212,37 @@ public class BasicMysqlEventStoreSetup {
                         "event_type varchar(255) not null," +
                         "data mediumblob not null, " +
                         "metadata blob not null," +
-                        "unique stream_category(stream_category, stream_id, event_number)," +
+                        (positionsPerPartition > 0 ? "key" : "unique") + " stream_category(stream_category, stream_id, event_number)," +
                         "key stream_category_2(stream_category, position)" +
-                        ") row_format=DYNAMIC");
+                        ") row_format=DYNAMIC" +
+                        (positionsPerPartition > 0 ? partitionClause(positionsPerPartition) : ""));
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    static boolean isPartitioned(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select 1 from information_schema.partitions" +
+                        " where table_schema = database() and table_name = ? and partition_name is not null limit 1")) {
+            statement.setString(1, tableName);
+            try (ResultSet partitions = statement.executeQuery()) {
+                return partitions.next();
+            }
+        }
+    }
+
+    private static String partitionClause(long positionsPerPartition) {
+        return " partition by range (position) (" +
+                partitionDefinition(positionsPerPartition) + ", " +
+                "partition " + CATCH_ALL_PARTITION + " values less than maxvalue)";
+    }
+
+    private static String partitionDefinition(long upperBoundExclusive) {
+        return "partition p" + upperBoundExclusive + " values less than (" + upperBoundExclusive + ")";
+    }
+
     // You can only specify the fractional second precision of a DATETIME column starting with MySql 5.5
     // (compare https://dev.mysql.com/doc/refman/5.5/en/datetime.html and
     // https://docs.oracle.com/cd/E19078-01/mysql/mysql-refman-5.1/data-types.html#datetime).
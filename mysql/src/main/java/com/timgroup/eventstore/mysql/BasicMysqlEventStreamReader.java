@@ -13,9 +13,9 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.stream.Stream;
 
 import static com.timgroup.eventstore.mysql.BasicMysqlEventReader.pageFetchTimer;
@@ -34,9 +34,15 @@ public class BasicMysqlEventStreamReader implements EventStreamReader {
     private final int batchSize;
     private final Timer timer;
     private final Timer validationTimer;
+    @Nullable private final PayloadCompression compression;
 
     public BasicMysqlEventStreamReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, databaseName, tableName, batchSize, metricRegistry, null);
+    }
+
+    BasicMysqlEventStreamReader(ConnectionProvider connectionProvider, String databaseName, String tableName, int batchSize, @Nullable MetricRegistry metricRegistry, @Nullable PayloadCompression compression) {
         this.connectionProvider = requireNonNull(connectionProvider);
+        this.compression = compression;
         this.tableName = requireNonNull(tableName);
         this.batchSize = batchSize;
         if (metricRegistry == null) {
@@ -52,16 +58,7 @@ public class BasicMysqlEventStreamReader implements EventStreamReader {
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readStreamForwards(StreamId streamId, long eventNumber) {
-        ensureStreamExists(streamId);
-        return stream(EventSpliterator.readStreamEventSpliterator(
-                connectionProvider,
-                batchSize,
-                tableName,
-                streamId,
-                eventNumber,
-                false,
-                timer
-        ), false);
+        return read(streamId, eventNumber, false, batchSize);
     }
 
     @CheckReturnValue
@@ -99,29 +96,48 @@ public class BasicMysqlEventStreamReader implements EventStreamReader {
                 '}';
     }
 
-    //select position from event force index(stream_category) where stream_category = 'received_files' and stream_id = 'DataScopeEM' limit 1;
-
     private Stream<ResolvedEvent> readBackwards(StreamId streamId, long eventNumber, int theBatchSize) {
-        ensureStreamExists(streamId);
+        return read(streamId, eventNumber, true, theBatchSize);
+    }
 
-        return stream(EventSpliterator.readStreamEventSpliterator(
+    /*
+     * The first page is fetched straight away so that a missing stream is reported when the read is made. An empty
+     * first page only proves the stream is missing when the read covers its first event; otherwise a separate
+     * existence check is made.
+     */
+    private Stream<ResolvedEvent> read(StreamId streamId, long eventNumber, boolean backwards, int theBatchSize) {
+        EventSpliterator<Long> spliterator = EventSpliterator.readStreamEventSpliterator(
                 connectionProvider,
                 theBatchSize,
                 tableName,
                 streamId,
                 eventNumber,
-                true,
-                timer), false);
+                backwards,
+                compression,
+                timer);
+
+        if (!spliterator.fetchFirstPage()) {
+            boolean readCoversFirstEvent = backwards ? eventNumber > 0 : eventNumber < 0;
+            if (readCoversFirstEvent) {
+                throw new NoSuchStreamException(streamId);
+            }
+            ensureStreamExists(streamId);
+        }
+
+        return stream(spliterator, false);
     }
 
     private void ensureStreamExists(StreamId streamId) throws NoSuchStreamException {
         validationTimer.time(() -> {
             try (Connection connection = connectionProvider.getConnection();
-                 Statement statement = connection.createStatement();
-                 ResultSet resultSet = statement.executeQuery(String.format("select position from %s force index(stream_category) where stream_category = '%s' and stream_id = '%s' limit 1", tableName, streamId.category(), streamId.id()))
+                 PreparedStatement statement = connection.prepareStatement(String.format("select position from %s force index(stream_category) where stream_category = ? and stream_id = ? limit 1", tableName))
             ) {
-                if (!resultSet.first()) {
-                    throw new NoSuchStreamException(streamId);
+                statement.setString(1, streamId.category());
+                statement.setString(2, streamId.id());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new NoSuchStreamException(streamId);
+                    }
                 }
             } catch (SQLException e) {
                 throw new RuntimeException(String.format("Error checking whether stream '%s' exists", streamId), e);
@@ -3,49 +3,97 @@ package com.timgroup.eventstore.mysql;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.Timer;
 import com.timgroup.eventstore.api.EventStreamWriter;
 import com.timgroup.eventstore.api.NewEvent;
 import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteResult;
+import com.timgroup.eventstore.api.WriteResult.WrittenEvent;
 import com.timgroup.eventstore.api.WrongExpectedVersionException;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.stream.IntStream;
 
+import static com.timgroup.eventstore.api.WriteResult.WrittenEvent.writtenEvent;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.nCopies;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 @ParametersAreNonnullByDefault
 public class BasicMysqlEventStreamWriter implements EventStreamWriter {
+    private static final int STREAMS_PER_VERSION_QUERY = 100;
+    private static final int MAX_ROWS_PER_INSERT = 5000;
+    private static final int ROW_OVERHEAD_BYTES = 128;
+    private static final int PACKET_HEADROOM_BYTES = 1024;
+
     private final ConnectionProvider connectionProvider;
     private final String tableName;
     private final Optional<Timer> timer;
     private final Optional<Histogram> histogram;
     private final Optional<Counter> retryCounter;
+    private final Optional<Histogram> retriesHistogram;
+    private final Optional<Timer> chunkTimer;
+    private final Optional<Histogram> chunkRowsHistogram;
+    private final Optional<Histogram> chunkBytesHistogram;
+    private final Optional<Counter> rawPayloadBytes;
+    private final Optional<Counter> storedPayloadBytes;
+    private final PositionAllocator positionAllocator;
+    private final long writeChunkBytes;
+    @Nullable
+    private final PayloadCompression compression;
+    private volatile long maxStatementBytes;
 
     public BasicMysqlEventStreamWriter(ConnectionProvider connectionProvider, String databaseName, String tableName, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, databaseName, tableName, metricRegistry, WriterOptions.DEFAULT);
+    }
+
+    BasicMysqlEventStreamWriter(ConnectionProvider connectionProvider, String databaseName, String tableName, @Nullable MetricRegistry metricRegistry, WriterOptions writerOptions) {
         this.connectionProvider = requireNonNull(connectionProvider);
         this.tableName = requireNonNull(tableName);
+        this.positionAllocator = PositionAllocator.create(tableName, writerOptions);
+        this.writeChunkBytes = writerOptions.writeChunkBytes;
+        this.compression = writerOptions.compression;
         this.timer = Optional.ofNullable(metricRegistry).map(r -> r.timer(String.format("database.%s.%s.write.time", databaseName, tableName)));
         this.histogram = Optional.ofNullable(metricRegistry).map(r -> r.histogram(String.format("database.%s.%s.write.count", databaseName, tableName)));
         this.retryCounter = Optional.ofNullable(metricRegistry).map(r -> r.counter(String.format("database.%s.%s.retry.count", databaseName, tableName)));
+        this.retriesHistogram = Optional.ofNullable(metricRegistry).map(r -> r.histogram(String.format("database.%s.%s.write.retries", databaseName, tableName)));
+        this.chunkTimer = Optional.ofNullable(metricRegistry).map(r -> r.timer(String.format("database.%s.%s.write.chunk.time", databaseName, tableName)));
+        this.chunkRowsHistogram = Optional.ofNullable(metricRegistry).map(r -> r.histogram(String.format("database.%s.%s.write.chunk.count", databaseName, tableName)));
+        this.chunkBytesHistogram = Optional.ofNullable(metricRegistry).map(r -> r.histogram(String.format("database.%s.%s.write.chunk.bytes", databaseName, tableName)));
+        this.rawPayloadBytes = Optional.ofNullable(metricRegistry).filter(r -> compression != null).map(r -> r.counter(String.format("database.%s.%s.write.payload.raw_bytes", databaseName, tableName)));
+        this.storedPayloadBytes = Optional.ofNullable(metricRegistry).filter(r -> compression != null).map(r -> r.counter(String.format("database.%s.%s.write.payload.stored_bytes", databaseName, tableName)));
+        if (metricRegistry != null && compression != null) {
+            Counter raw = rawPayloadBytes.get();
+            Counter stored = storedPayloadBytes.get();
+            metricRegistry.gauge(String.format("database.%s.%s.write.payload.compression_ratio", databaseName, tableName), () -> new RatioGauge() {
+                @Override
+                protected Ratio getRatio() {
+                    return Ratio.of(stored.getCount(), raw.getCount());
+                }
+            });
+        }
     }
 
     @Override
@@ -60,20 +108,44 @@ public class BasicMysqlEventStreamWriter implements EventStreamWriter {
 
     @Override
     public void execute(Collection<StreamWriteRequest> writeRequests) {
+        executeReturningResult(writeRequests);
+    }
+
+    WriteResult executeReturningResult(Collection<StreamWriteRequest> writeRequests) {
         if (writeRequests.stream().allMatch(r -> r.events.isEmpty())) {
-            return;
+            return WriteResult.empty();
         }
 
         writeRequests.stream().collect(toMap(r -> r.streamId, r -> r, (r1, r2) -> {
             throw new RuntimeException("Duplicate streamId in write request: " + r1.streamId);
         }));
 
+        Collection<StreamWriteRequest> toWrite = compression == null ? writeRequests : compressed(writeRequests, compression);
+
+        int retries = 0;
+        WriteResult result;
+        while ((result = tryExecute(toWrite, retries > 0)) == null) {
+            retryCounter.ifPresent(Counter::inc);
+            retries++; // retry indefinitely
+        }
+        int finalRetries = retries;
+        retriesHistogram.ifPresent(h -> h.update(finalRetries));
+        return result;
+    }
+
+    @Nullable
+    private WriteResult tryExecute(Collection<StreamWriteRequest> writeRequests, boolean retrying) {
         try (Connection connection = connectionProvider.getConnection()) {
             connection.setAutoCommit(false);
 
+            if (retrying) {
+                positionAllocator.resynchronise(connection);
+            }
+
+            long lastPosition = positionAllocator.lastPosition(connection);
             Map<StreamId, Long> currentEventNumbers = currentEventNumbers(writeRequests, connection);
 
-            List<String> failures = new ArrayList<>();
+            Map<StreamId, String> failures = new LinkedHashMap<>();
 
             List<WritableEvent> events = new ArrayList<>();
 
@@ -81,7 +153,7 @@ public class BasicMysqlEventStreamWriter implements EventStreamWriter {
                 long currentEventNumber = currentEventNumbers.getOrDefault(req.streamId, -1L);
 
                 if (req.expectedVersion.isPresent() && req.expectedVersion.getAsLong() != currentEventNumber) {
-                    failures.add(req.streamId + ": " + "current version: " + currentEventNumber + ", expected version: " + req.expectedVersion.getAsLong());
+                    failures.put(req.streamId, "current version: " + currentEventNumber + ", expected version: " + req.expectedVersion.getAsLong());
                     continue;
                 }
 
@@ -98,95 +170,180 @@ public class BasicMysqlEventStreamWriter implements EventStreamWriter {
                 }
             }
 
-            write(events, connection);
+            long position = write(events, lastPosition, connection);
 
             connection.commit();
 
             if (!failures.isEmpty()) {
-                throw new WrongExpectedVersionException(failures.stream().collect(joining(",")));
+                throw new WrongExpectedVersionException(failures);
             }
-        } catch (BatchUpdateException e) {
-            if (e.getCause() instanceof SQLIntegrityConstraintViolationException) {
-                retryCounter.ifPresent(Counter::inc);
-                execute(writeRequests); // retry indefinitely
-            } else {
-                throw new RuntimeException(e);
+
+            List<WrittenEvent> written = new ArrayList<>(events.size());
+            for (WritableEvent event : events) {
+                written.add(writtenEvent(new BasicMysqlEventStorePosition(++position), event.streamId, event.eventNumber));
             }
+            return WriteResult.writeResult(written);
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return null;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Compresses events before any connection is taken, and only once however many times the write is retried.
+     */
+    private Collection<StreamWriteRequest> compressed(Collection<StreamWriteRequest> writeRequests, PayloadCompression compression) {
+        List<StreamWriteRequest> result = new ArrayList<>(writeRequests.size());
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (StreamWriteRequest req : writeRequests) {
+            List<NewEvent> events = new ArrayList<>(req.events.size());
+            for (NewEvent event : req.events) {
+                byte[] data = compression.compress(event.data());
+                byte[] metadata = compression.compress(event.metadata());
+                rawBytes += event.data().length + event.metadata().length;
+                storedBytes += data.length + metadata.length;
+                events.add(NewEvent.newEvent(event.type(), data, metadata));
+            }
+            result.add(new StreamWriteRequest(req.streamId, events, req.expectedVersion));
+        }
+        long finalRawBytes = rawBytes;
+        long finalStoredBytes = storedBytes;
+        rawPayloadBytes.ifPresent(c -> c.inc(finalRawBytes));
+        storedPayloadBytes.ifPresent(c -> c.inc(finalStoredBytes));
+        return result;
+    }
+
     @Override
     public String toString() {
         return "BasicMysqlEventStreamWriter{" +
                 "tableName='" + tableName + '\'' +
+                ", positionAllocator=" + positionAllocator +
+                ", compression=" + compression +
                 '}';
     }
 
-    private void write(Collection<WritableEvent> events, Connection connection) throws SQLException {
+    /**
+     * Writes the events at the positions following {@code startPosition}, which it returns.
+     */
+    private long write(List<WritableEvent> events, long startPosition, Connection connection) throws SQLException {
+        try (Timer.Context c = timer.map(t -> t.time()).orElse(new Timer().time())) {
+            String valuesRow = "(?, " + currentTime(connection.getMetaData()) + ", ?, ?, ?, ?, ?, ?)";
+            positionAllocator.reserve(connection, startPosition, events.size());
+            long currentPosition = startPosition;
+            long chunkBytes = chunkBytes(connection);
+
+            int from = 0;
+            while (from < events.size()) {
+                int to = from;
+                long bytes = 0;
+                do {
+                    bytes += estimatedSize(events.get(to));
+                    to++;
+                } while (to < events.size() && to - from < MAX_ROWS_PER_INSERT && bytes + estimatedSize(events.get(to)) <= chunkBytes);
+
+                currentPosition = writeChunk(events.subList(from, to), bytes, currentPosition, valuesRow, connection);
+                from = to;
+            }
+
+            histogram.ifPresent(h -> h.update(events.size()));
+            return startPosition;
+        }
+    }
+
+    private long writeChunk(List<WritableEvent> chunk, long bytes, long currentPosition, String valuesRow, Connection connection) throws SQLException {
         try (
-                Timer.Context c = timer.map(t -> t.time()).orElse(new Timer().time());
+                Timer.Context c = chunkTimer.map(t -> t.time()).orElse(new Timer().time());
                 PreparedStatement statement = connection.prepareStatement(
                         "insert into " + tableName + "(position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata) " +
-                        "values(?, " + currentTime(connection.getMetaData()) +", ?, ?, ?, ?, ?, ?)"
+                        "values" + String.join(",", nCopies(chunk.size(), valuesRow))
                 )
         ) {
+            int parameterIndex = 0;
+            for (WritableEvent event : chunk) {
+                statement.setLong(++parameterIndex, ++currentPosition);
+                statement.setString(++parameterIndex, event.streamId.category());
+                statement.setString(++parameterIndex, event.streamId.id());
+                statement.setLong(++parameterIndex, event.eventNumber);
+                statement.setString(++parameterIndex, event.eventType);
+                statement.setBytes(++parameterIndex, event.data);
+                statement.setBytes(++parameterIndex, event.metadata);
+            }
 
-            long currentPosition = currentPosition(connection);
+            int affectedRows = statement.executeUpdate();
 
-            for (WritableEvent event : events) {
-                statement.setLong(1, ++currentPosition);
-                statement.setString(2, event.streamId.category());
-                statement.setString(3, event.streamId.id());
-                statement.setLong(4, event.eventNumber);
-                statement.setString(5, event.eventType);
-                statement.setBytes(6, event.data);
-                statement.setBytes(7, event.metadata);
-                statement.addBatch();
+            if (affectedRows != chunk.size()) {
+                throw new RuntimeException("Expected to write " + chunk.size() + " events but wrote " + affectedRows);
             }
+            chunkRowsHistogram.ifPresent(h -> h.update(chunk.size()));
+            chunkBytesHistogram.ifPresent(h -> h.update(bytes));
+            return currentPosition;
+        }
+    }
 
-            int[] affectedRows = statement.executeBatch();
+    /**
+     * The server rejects statements larger than max_allowed_packet, whatever the configured budget, so that is
+     * looked up on the first write and remembered.
+     */
+    private long chunkBytes(Connection connection) throws SQLException {
+        long maxStatementBytes = this.maxStatementBytes;
+        if (maxStatementBytes == 0) {
+            maxStatementBytes = maxAllowedPacket(connection) - PACKET_HEADROOM_BYTES;
+            this.maxStatementBytes = maxStatementBytes;
+        }
+        return Math.min(writeChunkBytes, maxStatementBytes);
+    }
 
-            if (affectedRows.length != events.size()) {
-                throw new RuntimeException("Expected to write " + events.size() + " events but wrote " + affectedRows.length);
-            }
-            histogram.ifPresent(h -> h.update(events.size()));
+    long maxAllowedPacket(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select @@max_allowed_packet")) {
+            resultSet.next();
+            return resultSet.getLong(1);
         }
     }
 
+    // values are sent escaped, which at worst doubles their size
+    private static long estimatedSize(WritableEvent event) {
+        return 2L * (utf8Length(event.streamId.category()) + utf8Length(event.streamId.id()) + utf8Length(event.eventType) + event.data.length + event.metadata.length) + ROW_OVERHEAD_BYTES;
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(UTF_8).length;
+    }
+
     private static String currentTime(DatabaseMetaData meta) throws SQLException {
         return BasicMysqlEventStoreSetup.mysqlSupportsFractionalSecondsForDatetime(meta)
                 ? "UTC_TIMESTAMP(6)"
                 : "UTC_TIMESTAMP()";
     }
 
-    private long currentPosition(Connection connection) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(format("select max(position) as current_position from %s", tableName))) {
-            try (ResultSet resultSet = statement.executeQuery()) {
-                resultSet.next();
-                return resultSet.getLong("current_position");
-            }
-        }
-    }
-
     private Map<StreamId, Long> currentEventNumbers(Collection<StreamWriteRequest> writeRequests, Connection connection) throws SQLException {
-        try (PreparedStatement statement = connection.prepareStatement(format("select event_number from %s where stream_category = ? and stream_id = ? order by event_number desc limit 1", tableName))) {
-            Map<StreamId, Long> eventNumbers = new HashMap<>();
-
-            for (StreamWriteRequest r : writeRequests) {
-                statement.setString(1, r.streamId.category());
-                statement.setString(2, r.streamId.id());
+        Map<StreamId, Long> eventNumbers = new HashMap<>();
+        List<StreamId> streamIds = writeRequests.stream().map(r -> r.streamId).collect(toList());
+
+        for (int from = 0; from < streamIds.size(); from += STREAMS_PER_VERSION_QUERY) {
+            List<StreamId> chunk = streamIds.subList(from, Math.min(from + STREAMS_PER_VERSION_QUERY, streamIds.size()));
+            // the index of each stream is selected rather than its category and id, which the collation may match case-insensitively
+            String query = IntStream.range(0, chunk.size())
+                    .mapToObj(index -> format("(select %d, event_number from %s where stream_category = ? and stream_id = ? order by event_number desc limit 1)", index, tableName))
+                    .collect(joining(" union all "));
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                int parameterIndex = 0;
+                for (StreamId streamId : chunk) {
+                    statement.setString(++parameterIndex, streamId.category());
+                    statement.setString(++parameterIndex, streamId.id());
+                }
                 try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        eventNumbers.put(r.streamId, resultSet.getLong(1));
+                    while (resultSet.next()) {
+                        eventNumbers.put(chunk.get(resultSet.getInt(1)), resultSet.getLong(2));
                     }
                 }
-                statement.clearParameters();
             }
-
-            return eventNumbers;
         }
+
+        return eventNumbers;
     }
 
     private static class WritableEvent {
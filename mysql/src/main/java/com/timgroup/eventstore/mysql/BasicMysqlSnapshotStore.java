@@ -0,0 +1,79 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.Snapshot;
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.StreamId;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static com.timgroup.eventstore.api.Snapshot.snapshot;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the latest snapshot of each stream in an event table's snapshot table, created by
+ * {@link BasicMysqlEventStoreSetup#lazyCreateSnapshots()}.
+ */
+public final class BasicMysqlSnapshotStore implements SnapshotStore {
+    private final ConnectionProvider connectionProvider;
+    private final String snapshotTableName;
+
+    public BasicMysqlSnapshotStore(ConnectionProvider connectionProvider, String tableName) {
+        this.connectionProvider = requireNonNull(connectionProvider);
+        this.snapshotTableName = snapshotTableName(requireNonNull(tableName));
+    }
+
+    static String snapshotTableName(String tableName) {
+        return tableName + "_snapshot";
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Snapshot> loadLatest(StreamId streamId) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select event_number, data from " + snapshotTableName + " where stream_category = ? and stream_id = ?")) {
+            statement.setString(1, streamId.category());
+            statement.setString(2, streamId.id());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(snapshot(streamId, resultSet.getLong("event_number"), resultSet.getBytes("data")));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * The assignments of an upsert are made in order, so data is compared with the event number already stored
+     * before that is updated.
+     */
+    @Override
+    public void save(Snapshot snapshot) {
+        try (Connection connection = connectionProvider.getConnection();
+             PreparedStatement statement = connection.prepareStatement("insert into " + snapshotTableName + "(stream_category, stream_id, event_number, data) values(?, ?, ?, ?)" +
+                     " on duplicate key update" +
+                     " data = if(values(event_number) > event_number, values(data), data)," +
+                     " event_number = greatest(event_number, values(event_number))")) {
+            statement.setString(1, snapshot.streamId().category());
+            statement.setString(2, snapshot.streamId().id());
+            statement.setLong(3, snapshot.eventNumber());
+            statement.setBytes(4, snapshot.data());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BasicMysqlSnapshotStore{" +
+                "snapshotTableName='" + snapshotTableName + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.ResolvedEvent;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Reads several categories forwards in position order by merging one cursor per category, each paging through the
+ * category index on its own. The cursor whose next event has the lowest position is kept at the head of a priority
+ * queue, so only a category whose buffered page has run dry is queried again, and the rows read track the events
+ * delivered rather than the number of categories times the page size.
+ *
+ * <p>The cursors are created on first use, and should all stop at the same position: otherwise a category that had
+ * run dry could miss an event written after it stopped while the others carried on past it.</p>
+ */
+final class CategoryMergingSpliterator implements Spliterator<ResolvedEvent> {
+    private static final Comparator<Cursor> BY_POSITION = Comparator.comparing(cursor -> (BasicMysqlEventStorePosition) cursor.head.position());
+
+    private final Supplier<List<Spliterator<ResolvedEvent>>> cursorsSupplier;
+    private final PriorityQueue<Cursor> cursors = new PriorityQueue<>(BY_POSITION);
+
+    @Nullable private List<Spliterator<ResolvedEvent>> opened;
+
+    CategoryMergingSpliterator(Supplier<List<Spliterator<ResolvedEvent>>> cursorsSupplier) {
+        this.cursorsSupplier = cursorsSupplier;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        if (opened == null) {
+            opened = cursorsSupplier.get();
+            for (Spliterator<ResolvedEvent> spliterator : opened) {
+                Cursor cursor = new Cursor(spliterator);
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        Cursor cursor = cursors.poll();
+        if (cursor == null) {
+            return false;
+        }
+        action.accept(cursor.head);
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+        return true;
+    }
+
+    void close() {
+        if (opened != null) {
+            opened.forEach(EventSpliterator::close);
+        }
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | DISTINCT;
+    }
+
+    private static final class Cursor {
+        private final Spliterator<ResolvedEvent> spliterator;
+        private ResolvedEvent head;
+
+        private Cursor(Spliterator<ResolvedEvent> spliterator) {
+            this.spliterator = spliterator;
+        }
+
+        private boolean advance() {
+            return spliterator.tryAdvance(event -> head = event);
+        }
+    }
+}
@@ -1,149 +1,299 @@
 package com.timgroup.eventstore.mysql;
 
+import com.timgroup.eventstore.api.EventProjection;
+import com.timgroup.eventstore.api.EventRecord;
 import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
 
+import javax.annotation.Nullable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static com.timgroup.eventstore.api.EventProjection.FULL;
 import static com.timgroup.eventstore.api.EventRecord.eventRecord;
-import static java.lang.Integer.MIN_VALUE;
+import static com.timgroup.eventstore.api.EventRecord.lazyEventRecord;
 import static java.lang.Long.MAX_VALUE;
 
 class EventSpliterator<T> implements Spliterator<ResolvedEvent> {
     private final ConnectionProvider connectionProvider;
-    private final Function<T, String> queryStringGenerator;
+    private final PageQuery<T> query;
+    private final PageSize pageSize;
     private final Function<ResolvedEvent, T> locationPointerExtractor;
     private final Timer timer;
+    private final ReaderOptions readerOptions;
+    private final Timer waitTimer;
+    private final boolean shortPageIsLast;
+    private final Deque<CompletableFuture<List<ResolvedEvent>>> prefetchedPages = new ArrayDeque<>();
 
     private T locationPointer;
     private Iterator<ResolvedEvent> currentPage = Collections.emptyIterator();
     private boolean streamExhausted = false;
+    private boolean lastPageFetched = false;
+
+    private static final byte[] EMPTY = new byte[0];
 
     private static Instant readInstant(ResultSet rs, String columnName) throws SQLException {
         return rs.getTimestamp(columnName).toLocalDateTime().toInstant(ZoneOffset.UTC);
     }
 
     public static Spliterator<ResolvedEvent> readAllEventSpliterator(ConnectionProvider connectionProvider,
-                                                                     int batchSize,
+                                                                     PageSize pageSize,
                                                                      String tableName,
                                                                      BasicMysqlEventStorePosition startingPosition,
-                                                                     boolean backwards, Timer timer) {
-        final String queryString = "select position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata" +
-                " from " + tableName +
-                " where position " + (backwards ? "<" : ">") + " %s" +
-                " order by position " + (backwards ? "desc" : "asc") +
-                " limit " + batchSize;
+                                                                     boolean backwards,
+                                                                     EventProjection projection,
+                                                                     EventTypeFilter filter,
+                                                                     Timer timer,
+                                                                     ReaderOptions readerOptions,
+                                                                     Timer waitTimer) {
+        if (!backwards && readerOptions.readsByPartition()) {
+            return new PartitionWindowSpliterator(
+                    startingPosition.value,
+                    readerOptions.positionsPerPartition,
+                    () -> BasicMysqlEventReader.maxPosition(connectionProvider, tableName),
+                    (position, upperInclusive) -> PositionRangeSpliterator.upTo(connectionProvider, pageSize, tableName, position.value, upperInclusive, projection, filter, timer, readerOptions, waitTimer));
+        }
+        if (!backwards && !readerOptions.streamingCursor) {
+            return new PositionRangeSpliterator(connectionProvider, pageSize, tableName, startingPosition.value, projection, filter, timer, readerOptions, waitTimer);
+        }
 
-        return new EventSpliterator<>(
+        PageQuery<BasicMysqlEventStorePosition> query = new PageQuery<>(
+                "select " + columns(projection) +
+                        " from " + tableName +
+                        " where position " + (backwards ? "<" : ">") + " ?" +
+                        filter.condition() +
+                        " order by position " + (backwards ? "desc" : "asc") +
+                        " limit ?",
+                projection,
+                readerOptions.compression,
+                (statement, position, limit) -> {
+                    statement.setLong(1, position.value);
+                    statement.setInt(filter.bind(statement, 1) + 1, limit);
+                });
+
+        return create(
                 connectionProvider,
                 startingPosition,
-                position -> String.format(queryString, position.value),
+                query,
+                pageSize,
                 resolvedEvent -> (BasicMysqlEventStorePosition) resolvedEvent.position(),
-                timer);
+                timer,
+                readerOptions,
+                waitTimer);
     }
 
     public static Spliterator<ResolvedEvent> readCategoryEventSpliterator(ConnectionProvider connectionProvider,
-                                                                          int batchSize,
+                                                                          PageSize pageSize,
                                                                           String tableName,
                                                                           String category,
                                                                           BasicMysqlEventStorePosition startingPosition,
                                                                           boolean backwards,
-                                                                          Timer timer) {
-        final String queryString = "select position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata" +
-                " from " + tableName +
-                " FORCE INDEX (stream_category_2)" +
-                " where position " + (backwards ? "<" : ">") + " %s" +
-                " and stream_category = '" + category + "'" +
-                " order by position " + (backwards ? "desc" : "asc") +
-                " limit " + batchSize;
+                                                                          EventProjection projection,
+                                                                          EventTypeFilter filter,
+                                                                          Timer timer,
+                                                                          ReaderOptions readerOptions,
+                                                                          Timer waitTimer) {
+        if (!backwards && readerOptions.readsByPartition()) {
+            return new PartitionWindowSpliterator(
+                    startingPosition.value,
+                    readerOptions.positionsPerPartition,
+                    () -> BasicMysqlEventReader.maxPosition(connectionProvider, tableName),
+                    (position, upperInclusive) -> readCategoryEventSpliterator(connectionProvider, pageSize, tableName, category, position, upperInclusive, false, projection, filter, timer, readerOptions, waitTimer));
+        }
+        return readCategoryEventSpliterator(connectionProvider, pageSize, tableName, category, startingPosition, MAX_VALUE, backwards, projection, filter, timer, readerOptions, waitTimer);
+    }
 
-        return new EventSpliterator<>(
+    /**
+     * Reads a category forwards no further than {@code upperInclusive}, so that the read stops at a position fixed
+     * before it started rather than at whichever events happen to have been written by the time it runs dry.
+     */
+    static Spliterator<ResolvedEvent> readCategoryEventSpliteratorUpTo(ConnectionProvider connectionProvider,
+                                                                       PageSize pageSize,
+                                                                       String tableName,
+                                                                       String category,
+                                                                       BasicMysqlEventStorePosition startingPosition,
+                                                                       long upperInclusive,
+                                                                       Timer timer,
+                                                                       ReaderOptions readerOptions,
+                                                                       Timer waitTimer) {
+        return readCategoryEventSpliterator(connectionProvider, pageSize, tableName, category, startingPosition, upperInclusive, false, FULL, EventTypeFilter.ALL_TYPES, timer, readerOptions, waitTimer);
+    }
+
+    private static Spliterator<ResolvedEvent> readCategoryEventSpliterator(ConnectionProvider connectionProvider,
+                                                                           PageSize pageSize,
+                                                                           String tableName,
+                                                                           String category,
+                                                                           BasicMysqlEventStorePosition startingPosition,
+                                                                           long upperInclusive,
+                                                                           boolean backwards,
+                                                                           EventProjection projection,
+                                                                           EventTypeFilter filter,
+                                                                           Timer timer,
+                                                                           ReaderOptions readerOptions,
+                                                                           Timer waitTimer) {
+        boolean bounded = upperInclusive != MAX_VALUE;
+        PageQuery<BasicMysqlEventStorePosition> query = new PageQuery<>(
+                "select " + columns(projection) +
+                        " from " + tableName +
+                        " FORCE INDEX (stream_category_2)" +
+                        " where position " + (backwards ? "<" : ">") + " ?" +
+                        (bounded ? " and position <= ?" : "") +
+                        " and stream_category = ?" +
+                        filter.condition() +
+                        " order by position " + (backwards ? "desc" : "asc") +
+                        " limit ?",
+                projection,
+                readerOptions.compression,
+                (statement, position, limit) -> {
+                    int parameterIndex = 0;
+                    statement.setLong(++parameterIndex, position.value);
+                    if (bounded) {
+                        statement.setLong(++parameterIndex, upperInclusive);
+                    }
+                    statement.setString(++parameterIndex, category);
+                    parameterIndex = filter.bind(statement, parameterIndex);
+                    statement.setInt(++parameterIndex, limit);
+                });
+
+        return create(
                 connectionProvider,
                 startingPosition,
-                position -> String.format(queryString, position.value),
+                query,
+                pageSize,
                 resolvedEvent -> (BasicMysqlEventStorePosition) resolvedEvent.position(),
-                timer);
+                timer,
+                readerOptions,
+                waitTimer);
     }
 
 
-    public static Spliterator<ResolvedEvent> readStreamEventSpliterator(ConnectionProvider connectionProvider,
+    public static EventSpliterator<Long> readStreamEventSpliterator(ConnectionProvider connectionProvider,
                                                                         int batchSize,
                                                                         String tableName,
                                                                         StreamId streamId,
                                                                         long startingEventNumber,
                                                                         boolean backwards,
+                                                                        @Nullable PayloadCompression compression,
                                                                         Timer timer) {
-        final String queryString = "select position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata" +
-                " from " + tableName +
-                " FORCE INDEX (stream_category)" +
-                " where event_number " + (backwards ? "<" : ">") + " %d" +
-                " and stream_category = '" + streamId.category() + "'" +
-                " and stream_id = '" + streamId.id() + "'" +
-                " order by event_number " + (backwards ? "desc" : "asc") +
-                " limit " + batchSize;
+        PageQuery<Long> query = new PageQuery<>(
+                "select " + columns(FULL) +
+                        " from " + tableName +
+                        " FORCE INDEX (stream_category)" +
+                        " where event_number " + (backwards ? "<" : ">") + " ?" +
+                        " and stream_category = ?" +
+                        " and stream_id = ?" +
+                        " order by event_number " + (backwards ? "desc" : "asc") +
+                        " limit ?",
+                FULL,
+                compression,
+                (statement, eventNumber, limit) -> {
+                    statement.setLong(1, eventNumber);
+                    statement.setString(2, streamId.category());
+                    statement.setString(3, streamId.id());
+                    statement.setInt(4, limit);
+                });
 
         return new EventSpliterator<>(
                 connectionProvider,
                 startingEventNumber,
-                eventNumber -> String.format(queryString, eventNumber),
+                query,
+                PageSize.fixed(batchSize),
                 resolvedEvent -> resolvedEvent.eventRecord().eventNumber(),
-                timer
+                timer,
+                ReaderOptions.DEFAULT,
+                Runnable::run,
+                true
         );
     }
 
-    EventSpliterator(
+    static <T> Spliterator<ResolvedEvent> create(
+            ConnectionProvider connectionProvider,
+            T startingLocation,
+            PageQuery<T> query,
+            PageSize pageSize,
+            Function<ResolvedEvent, T> locationPointerExtractor,
+            Timer timer,
+            ReaderOptions readerOptions,
+            Timer waitTimer) {
+        if (readerOptions.streamingCursor) {
+            return new StreamingEventSpliterator<>(connectionProvider, startingLocation, query, pageSize.rows(), locationPointerExtractor, timer);
+        }
+        return new EventSpliterator<>(connectionProvider, startingLocation, query, pageSize, locationPointerExtractor, timer, readerOptions, waitTimer, false);
+    }
+
+    static Stream<ResolvedEvent> stream(Spliterator<ResolvedEvent> spliterator) {
+        return StreamSupport.stream(spliterator, false).onClose(() -> close(spliterator));
+    }
+
+    /**
+     * Releases what a read cut short still holds: the cursor of a streaming read, or the pages being prefetched,
+     * including those of the reads a spliterator delegates to.
+     */
+    static void close(Spliterator<ResolvedEvent> spliterator) {
+        if (spliterator instanceof EventSpliterator) {
+            ((EventSpliterator<?>) spliterator).close();
+        } else if (spliterator instanceof StreamingEventSpliterator) {
+            ((StreamingEventSpliterator<?>) spliterator).close();
+        } else if (spliterator instanceof CategoryMergingSpliterator) {
+            ((CategoryMergingSpliterator) spliterator).close();
+        } else if (spliterator instanceof PositionRangeSpliterator) {
+            ((PositionRangeSpliterator) spliterator).close();
+        } else if (spliterator instanceof PartitionWindowSpliterator) {
+            ((PartitionWindowSpliterator) spliterator).close();
+        }
+    }
+
+    /*
+     * Unless shortPageIsLast is set, the spliterator reads until a page comes back empty, so that events written during
+     * the read are still picked up. Otherwise a page shorter than its limit is taken to be the last.
+     */
+    private EventSpliterator(
             ConnectionProvider connectionProvider,
             T startingLocation,
-            Function<T, String> queryStringGenerator,
+            PageQuery<T> query,
+            PageSize pageSize,
             Function<ResolvedEvent, T> locationPointerExtractor,
-            Timer timer) {
+            Timer timer,
+            ReaderOptions readerOptions,
+            Timer waitTimer,
+            boolean shortPageIsLast) {
         this.connectionProvider = connectionProvider;
         this.locationPointer = startingLocation;
-        this.queryStringGenerator = queryStringGenerator;
+        this.query = query;
+        this.pageSize = pageSize;
         this.locationPointerExtractor = locationPointerExtractor;
         this.timer = timer;
+        this.readerOptions = readerOptions;
+        this.waitTimer = waitTimer;
+        this.shortPageIsLast = shortPageIsLast;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
-        if (!currentPage.hasNext() && !streamExhausted) {
-            timer.time(() -> {
-                try (Connection connection = connectionProvider.getConnection();
-                     Statement statement = streamingStatementFrom(connection);
-                     ResultSet resultSet = statement.executeQuery(queryStringGenerator.apply(locationPointer))
-                ) {
-
-                    List<ResolvedEvent> list = new ArrayList<>();
-
-                    while (resultSet.next()) {
-                        list.add(new ResolvedEvent(
-                                new BasicMysqlEventStorePosition(resultSet.getLong("position")),
-                                eventRecord(
-                                        readInstant(resultSet, "timestamp"),
-                                        StreamId.streamId(resultSet.getString("stream_category"), resultSet.getString("stream_id")),
-                                        resultSet.getLong("event_number"),
-                                        resultSet.getString("event_type"),
-                                        resultSet.getBytes("data"),
-                                        resultSet.getBytes("metadata")
-                                )));
-                    }
-                    currentPage = list.iterator();
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+        if (!currentPage.hasNext() && !streamExhausted && !lastPageFetched) {
+            if (readerOptions.prefetching()) {
+                currentPage = nextPrefetchedPage().iterator();
+            } else {
+                waitTimer.time(() -> currentPage = fetchLivePage().iterator());
+            }
         }
 
         if (currentPage.hasNext()) {
@@ -152,11 +302,91 @@ class EventSpliterator<T> implements Spliterator<ResolvedEvent> {
             locationPointer = locationPointerExtractor.apply(next);
             return true;
         } else {
-            streamExhausted = true;
+            close();
             return false;
         }
     }
 
+    /**
+     * Stops fetching pages, cancelling those still queued to be prefetched so that they take no more connections.
+     */
+    void close() {
+        streamExhausted = true;
+        prefetchedPages.forEach(page -> page.cancel(false));
+        prefetchedPages.clear();
+    }
+
+    /**
+     * Fetches the first page now rather than when the stream is first consumed, returning whether it has any events.
+     */
+    boolean fetchFirstPage() {
+        waitTimer.time(() -> currentPage = fetchLivePage().iterator());
+        streamExhausted = !currentPage.hasNext();
+        return !streamExhausted;
+    }
+
+    private List<ResolvedEvent> fetchLivePage() {
+        int limit = pageSize.rows();
+        List<ResolvedEvent> page = fetchPage(locationPointer, limit);
+        lastPageFetched = shortPageIsLast && page.size() < limit;
+        return page;
+    }
+
+    private List<ResolvedEvent> fetchPage(T location) {
+        return fetchPage(location, pageSize.rows());
+    }
+
+    private List<ResolvedEvent> fetchPage(T location, int limit) {
+        List<ResolvedEvent> list = new ArrayList<>();
+        long[] columnBytes = new long[1];
+        timer.time(() -> {
+            long start = System.nanoTime();
+            try (Connection connection = connectionProvider.getConnection();
+                 PreparedStatement statement = query.prepare(connection, location, limit);
+                 ResultSet resultSet = statement.executeQuery()
+            ) {
+                while (resultSet.next()) {
+                    list.add(query.readEvent(resultSet, rowBytes -> columnBytes[0] += rowBytes));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            pageSize.pageFetched(limit, list.size(), columnBytes[0], System.nanoTime() - start);
+        });
+        return list;
+    }
+
+    /*
+     * Each page query needs the last location of the page before it, so pages are still fetched one after another,
+     * but on the prefetch executor and up to prefetchPages ahead of the page currently being consumed.
+     */
+    private List<ResolvedEvent> nextPrefetchedPage() {
+        if (prefetchedPages.isEmpty()) {
+            T location = locationPointer;
+            prefetchedPages.add(CompletableFuture.supplyAsync(() -> fetchPage(location), readerOptions.prefetchExecutor));
+        }
+        while (prefetchedPages.size() <= readerOptions.prefetchPages) {
+            prefetchedPages.add(prefetchedPages.getLast().thenApplyAsync(
+                    previous -> previous.isEmpty() ? previous : fetchPage(locationPointerExtractor.apply(previous.get(previous.size() - 1))),
+                    readerOptions.prefetchExecutor));
+        }
+
+        CompletableFuture<List<ResolvedEvent>> nextPage = prefetchedPages.removeFirst();
+        List<List<ResolvedEvent>> result = new ArrayList<>(1);
+        waitTimer.time(() -> {
+            try {
+                result.add(nextPage.join());
+            } catch (CompletionException e) {
+                prefetchedPages.clear();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        });
+        return result.get(0);
+    }
+
     @Override
     public Spliterator<ResolvedEvent> trySplit() {
         return null;
@@ -172,9 +402,35 @@ class EventSpliterator<T> implements Spliterator<ResolvedEvent> {
         return ORDERED | NONNULL | DISTINCT;
     }
 
-    private static Statement streamingStatementFrom(Connection connection) throws SQLException {
-        Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-        statement.setFetchSize(MIN_VALUE);
-        return statement;
+    /**
+     * The columns to select for a projection. Leaving out data and metadata means their off-page blob storage is
+     * never read.
+     */
+    static String columns(EventProjection projection) {
+        return "position, timestamp, stream_category, stream_id, event_number, event_type" +
+                (projection.includesData() ? ", data" : "") +
+                (projection.includesMetadata() ? ", metadata" : "");
     }
+
+    /**
+     * Data and metadata written with {@link PayloadCompression} are only decompressed when first asked for, so
+     * consumers that skip an event never pay for it, and only by readers of a source configured with compression, so
+     * that raw values written without it are never mistaken for compressed ones.
+     */
+    static ResolvedEvent readEvent(ResultSet resultSet, EventProjection projection, boolean decompressing, LongConsumer rowBytes) throws SQLException {
+        Instant timestamp = readInstant(resultSet, "timestamp");
+        String category = resultSet.getString("stream_category");
+        String id = resultSet.getString("stream_id");
+        long eventNumber = resultSet.getLong("event_number");
+        String eventType = resultSet.getString("event_type");
+        byte[] data = projection.includesData() ? resultSet.getBytes("data") : EMPTY;
+        byte[] metadata = projection.includesMetadata() ? resultSet.getBytes("metadata") : EMPTY;
+        rowBytes.accept(category.length() + id.length() + eventType.length() + data.length + metadata.length);
+        StreamId streamId = StreamId.streamId(category, id);
+        EventRecord record = decompressing && (PayloadCompression.hasHeader(data) || PayloadCompression.hasHeader(metadata))
+                ? lazyEventRecord(timestamp, streamId, eventNumber, eventType, () -> PayloadCompression.decompress(data), () -> PayloadCompression.decompress(metadata))
+                : eventRecord(timestamp, streamId, eventNumber, eventType, data, metadata);
+        return new ResolvedEvent(new BasicMysqlEventStorePosition(resultSet.getLong("position")), record);
+    }
+
 }
@@ -9,6 +9,7 @@ import com.timgroup.tucker.info.Status;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import static com.timgroup.eventstore.api.EventProjection.HEADERS;
 import static java.lang.String.format;
 
 /**
@@ -34,7 +35,7 @@ public final class EventStoreConnectionComponent extends Component {
     public Report getReport() {
         try {
             long before = System.currentTimeMillis();
-            Optional<ResolvedEvent> maybeLastEvent = eventSource.readAll().readLastEvent();
+            Optional<ResolvedEvent> maybeLastEvent = eventSource.readAll().readLastEvent(HEADERS);
             long after = System.currentTimeMillis();
             String durationText = (after - before) + "ms";
 
@@ -0,0 +1,57 @@
+package com.timgroup.eventstore.mysql;
+
+import javax.annotation.Nullable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Collections.nCopies;
+
+/**
+ * Restricts a page query to events of some types, so that rows of other types are discarded by the server instead of
+ * being sent to the client. The types are bound as parameters after the location.
+ */
+final class EventTypeFilter {
+    static final EventTypeFilter ALL_TYPES = new EventTypeFilter(null);
+
+    @Nullable private final List<String> eventTypes;
+
+    private EventTypeFilter(@Nullable List<String> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    static EventTypeFilter onlyTypes(Collection<String> eventTypes) {
+        if (eventTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one event type is needed to filter on");
+        }
+        return new EventTypeFilter(new ArrayList<>(eventTypes));
+    }
+
+    String condition() {
+        if (eventTypes == null) {
+            return "";
+        }
+        return " and event_type in (" + String.join(", ", nCopies(eventTypes.size(), "?")) + ")";
+    }
+
+    /**
+     * Binds the event types from the parameter after {@code parameterIndex}, returning the index of the last one bound.
+     */
+    int bind(PreparedStatement statement, int parameterIndex) throws SQLException {
+        if (eventTypes != null) {
+            for (String eventType : eventTypes) {
+                statement.setString(++parameterIndex, eventType);
+            }
+        }
+        return parameterIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "EventTypeFilter{" +
+                "eventTypes=" + eventTypes +
+                '}';
+    }
+}
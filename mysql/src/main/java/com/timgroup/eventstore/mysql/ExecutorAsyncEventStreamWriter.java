@@ -0,0 +1,65 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.AsyncEventStreamWriter;
+import com.timgroup.eventstore.api.EventStreamWriter.StreamWriteRequest;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteResult;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs blocking writes on an executor, so the connection and thread are held by the executor rather than the
+ * caller. If the executor rejects a write, the returned future fails with its {@link RejectedExecutionException}.
+ */
+@ParametersAreNonnullByDefault
+final class ExecutorAsyncEventStreamWriter implements AsyncEventStreamWriter {
+    private final BasicMysqlEventStreamWriter underlying;
+    private final Executor executor;
+
+    ExecutorAsyncEventStreamWriter(BasicMysqlEventStreamWriter underlying, Executor executor) {
+        this.underlying = requireNonNull(underlying);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events) {
+        return execute(singletonList(new StreamWriteRequest(streamId, events, OptionalLong.empty())));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<WriteResult> write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+        return execute(singletonList(new StreamWriteRequest(streamId, events, OptionalLong.of(expectedVersion))));
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<WriteResult> execute(Collection<StreamWriteRequest> writeRequests) {
+        try {
+            return CompletableFuture.supplyAsync(() -> underlying.executeReturningResult(writeRequests), executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<WriteResult> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorAsyncEventStreamWriter{" +
+                "underlying=" + underlying +
+                ", executor=" + executor +
+                '}';
+    }
+}
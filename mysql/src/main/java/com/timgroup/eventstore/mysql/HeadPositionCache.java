@@ -0,0 +1,81 @@
+package com.timgroup.eventstore.mysql;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Remembers the head positions of a store and of its categories for a fixed time, so that status pages and
+ * staleness checks asking for them over and over cost at most one query per category per period. Concurrent
+ * lookups of an expired head may each query it; the cache never blocks one caller on another's query.
+ */
+final class HeadPositionCache {
+    static final HeadPositionCache NONE = new HeadPositionCache(Duration.ZERO, System::nanoTime);
+
+    private final Duration timeToLive;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, Cached> categoryHeads = new ConcurrentHashMap<>();
+    private volatile Cached storeHead;
+
+    HeadPositionCache(Duration timeToLive, LongSupplier nanoTime) {
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("Time to live must not be negative: " + timeToLive);
+        }
+        this.timeToLive = timeToLive;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoTime = requireNonNull(nanoTime);
+    }
+
+    long storeHead(LongSupplier query) {
+        if (timeToLiveNanos == 0) {
+            return query.getAsLong();
+        }
+        long now = nanoTime.getAsLong();
+        Cached cached = storeHead;
+        if (cached != null && cached.freshAt(now, timeToLiveNanos)) {
+            return cached.position;
+        }
+        cached = new Cached(query.getAsLong(), now);
+        storeHead = cached;
+        return cached.position;
+    }
+
+    long categoryHead(String category, LongSupplier query) {
+        if (timeToLiveNanos == 0) {
+            return query.getAsLong();
+        }
+        long now = nanoTime.getAsLong();
+        Cached cached = categoryHeads.get(category);
+        if (cached != null && cached.freshAt(now, timeToLiveNanos)) {
+            return cached.position;
+        }
+        cached = new Cached(query.getAsLong(), now);
+        categoryHeads.put(category, cached);
+        return cached.position;
+    }
+
+    @Override
+    public String toString() {
+        return "HeadPositionCache{" +
+                "timeToLive=" + timeToLive +
+                '}';
+    }
+
+    private static final class Cached {
+        private final long position;
+        private final long queriedAtNanos;
+
+        private Cached(long position, long queriedAtNanos) {
+            this.position = position;
+            this.queriedAtNanos = queriedAtNanos;
+        }
+
+        private boolean freshAt(long nanos, long timeToLiveNanos) {
+            return nanos - queriedAtNanos < timeToLiveNanos;
+        }
+    }
+}
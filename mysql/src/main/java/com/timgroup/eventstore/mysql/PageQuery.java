@@ -0,0 +1,74 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventProjection;
+import com.timgroup.eventstore.api.ResolvedEvent;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.LongConsumer;
+
+import static java.lang.Integer.MIN_VALUE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The query for a page of events after a location. The location, the page's row limit and other values are bound as
+ * parameters, so the statement text is the same for every page and can be prepared once by the driver or server.
+ */
+final class PageQuery<T> {
+    @FunctionalInterface
+    interface Parameters<T> {
+        void bind(PreparedStatement statement, T location, int limit) throws SQLException;
+    }
+
+    private final String sql;
+    private final EventProjection projection;
+    @Nullable private final PayloadCompression compression;
+    private final Parameters<T> parameters;
+
+    /**
+     * @param compression the compression the source was configured with, if any, in which case compressed data and
+     *                    metadata are decompressed when read
+     */
+    PageQuery(String sql, EventProjection projection, @Nullable PayloadCompression compression, Parameters<T> parameters) {
+        this.sql = requireNonNull(sql);
+        this.projection = requireNonNull(projection);
+        this.compression = compression;
+        this.parameters = requireNonNull(parameters);
+    }
+
+    PreparedStatement prepare(Connection connection, T location, int limit) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            statement.setFetchSize(MIN_VALUE);
+            parameters.bind(statement, location, limit);
+            return statement;
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    ResolvedEvent readEvent(ResultSet resultSet) throws SQLException {
+        return readEvent(resultSet, columnBytes -> {});
+    }
+
+    /**
+     * Reads the event in the current row, telling {@code rowBytes} how many bytes its variable length columns took as
+     * stored.
+     */
+    ResolvedEvent readEvent(ResultSet resultSet, LongConsumer rowBytes) throws SQLException {
+        return EventSpliterator.readEvent(resultSet, projection, compression != null, rowBytes);
+    }
+
+    @Override
+    public String toString() {
+        return "PageQuery{" +
+                "sql='" + sql + '\'' +
+                ", projection=" + projection +
+                ", compression=" + compression +
+                '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.timgroup.eventstore.mysql;
+
+import java.util.function.LongConsumer;
+
+/**
+ * The limit to use for the next page query of one kind of read, shared by every spliterator of a reader. Spliterators
+ * tell it about each page they fetch so that an adaptive page size can follow the size of the rows being read and how
+ * long they take to fetch. Pages may be fetched concurrently, so updates race and the last one wins.
+ *
+ * <p>A page that comes back shorter than its limit says nothing about how long a full page would take, so only full
+ * pages can make the page size grow, and only full pages are used to judge latency. The page size at most doubles
+ * from one page to the next, but shrinks straight to its new value.</p>
+ */
+public final class PageSize {
+    private static final long ROW_OVERHEAD_BYTES = 64;
+
+    private final int maxPageSize;
+    private final long targetBytesPerPage;
+    private final long targetNanosPerPage;
+    private final LongConsumer rowsGauge;
+    private final LongConsumer bytesGauge;
+    private final boolean adaptive;
+
+    private volatile int rows;
+
+    PageSize(int initialPageSize, int maxPageSize, long targetBytesPerPage, long targetNanosPerPage, LongConsumer rowsGauge, LongConsumer bytesGauge) {
+        this.rows = initialPageSize;
+        this.maxPageSize = maxPageSize;
+        this.targetBytesPerPage = targetBytesPerPage;
+        this.targetNanosPerPage = targetNanosPerPage;
+        this.rowsGauge = rowsGauge;
+        this.bytesGauge = bytesGauge;
+        this.adaptive = true;
+    }
+
+    private PageSize(int rows) {
+        this.rows = rows;
+        this.maxPageSize = rows;
+        this.targetBytesPerPage = 0;
+        this.targetNanosPerPage = 0;
+        this.rowsGauge = value -> {};
+        this.bytesGauge = value -> {};
+        this.adaptive = false;
+    }
+
+    public static PageSize fixed(int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("Page size must be at least one row: " + rows);
+        }
+        return new PageSize(rows);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /**
+     * @param columnBytes the bytes of the variable length columns of the rows fetched, as stored, so that sizing a
+     *                    page never decompresses its events
+     */
+    public void pageFetched(int limit, int rowsFetched, long columnBytes, long fetchNanos) {
+        if (!adaptive) {
+            return;
+        }
+
+        long bytes = columnBytes + rowsFetched * ROW_OVERHEAD_BYTES;
+        bytesGauge.accept(bytes);
+
+        if (rowsFetched == 0) {
+            return;
+        }
+
+        boolean full = rowsFetched >= limit;
+        long target = targetBytesPerPage * rowsFetched / Math.max(bytes, 1);
+        if (full) {
+            target = Math.min(target, targetNanosPerPage * rowsFetched / Math.max(fetchNanos, 1));
+        }
+        target = Math.max(1, Math.min(target, maxPageSize));
+
+        int next;
+        if (target < limit) {
+            next = (int) target;
+        } else if (full) {
+            next = (int) Math.min(target, 2L * limit);
+        } else {
+            return;
+        }
+
+        rows = next;
+        rowsGauge.accept(next);
+    }
+
+    @Override
+    public String toString() {
+        return "PageSize{" +
+                "rows=" + rows +
+                ", maxPageSize=" + maxPageSize +
+                ", adaptive=" + adaptive +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+import static com.timgroup.eventstore.mysql.BasicMysqlEventReader.pageBytesGauge;
+import static com.timgroup.eventstore.mysql.BasicMysqlEventReader.pageSizeGauge;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * How many rows a reader asks for in each page query. A fixed page size always uses the same limit. An adaptive
+ * page size starts small and, after each page, moves the limit towards the number of rows expected to fill the
+ * target bytes per page or to take the target latency to fetch, whichever is fewer, never going above the maximum.
+ */
+public final class PageSizing {
+    static final int INITIAL_ADAPTIVE_PAGE_SIZE = 1000;
+
+    final int maxPageSize;
+    final long targetBytesPerPage;
+    @Nullable final Duration targetLatencyPerPage;
+
+    private PageSizing(int maxPageSize, long targetBytesPerPage, @Nullable Duration targetLatencyPerPage) {
+        if (maxPageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least one row: " + maxPageSize);
+        }
+        this.maxPageSize = maxPageSize;
+        this.targetBytesPerPage = targetBytesPerPage;
+        this.targetLatencyPerPage = targetLatencyPerPage;
+    }
+
+    public static PageSizing fixed(int pageSize) {
+        return new PageSizing(pageSize, 0, null);
+    }
+
+    public static PageSizing adaptive(int maxPageSize, long targetBytesPerPage, Duration targetLatencyPerPage) {
+        checkTargets(targetBytesPerPage, targetLatencyPerPage);
+        return new PageSizing(maxPageSize, targetBytesPerPage, targetLatencyPerPage);
+    }
+
+    static void checkTargets(long targetBytesPerPage, Duration targetLatencyPerPage) {
+        if (targetBytesPerPage <= 0) {
+            throw new IllegalArgumentException("Target bytes per page must be positive: " + targetBytesPerPage);
+        }
+        if (requireNonNull(targetLatencyPerPage).isNegative() || targetLatencyPerPage.isZero()) {
+            throw new IllegalArgumentException("Target latency per page must be positive: " + targetLatencyPerPage);
+        }
+    }
+
+    /**
+     * Starts sizing the pages of one kind of read. Adaptive page sizes report the current page size and the bytes
+     * in the last page fetched as gauges, labelled like the page fetch timers of the same read type.
+     */
+    public PageSize pageSize(String databaseName, String tableName, String readType, @Nullable MetricRegistry metricRegistry) {
+        if (targetLatencyPerPage == null) {
+            return PageSize.fixed(maxPageSize);
+        }
+
+        LongConsumer rowsGauge;
+        LongConsumer bytesGauge;
+        if (metricRegistry == null) {
+            rowsGauge = rows -> pageSizeGauge.labels(databaseName, tableName, readType).set(rows);
+            bytesGauge = bytes -> pageBytesGauge.labels(databaseName, tableName, readType).set(bytes);
+        } else {
+            rowsGauge = lastValueGauge(metricRegistry, String.format("database.%s.%s.%s.page_size", databaseName, tableName, readType));
+            bytesGauge = lastValueGauge(metricRegistry, String.format("database.%s.%s.%s.page_bytes", databaseName, tableName, readType));
+        }
+
+        int initialPageSize = Math.min(INITIAL_ADAPTIVE_PAGE_SIZE, maxPageSize);
+        rowsGauge.accept(initialPageSize);
+        return new PageSize(initialPageSize, maxPageSize, targetBytesPerPage, targetLatencyPerPage.toNanos(), rowsGauge, bytesGauge);
+    }
+
+    @Override
+    public String toString() {
+        return "PageSizing{" +
+                "maxPageSize=" + maxPageSize +
+                ", targetBytesPerPage=" + targetBytesPerPage +
+                ", targetLatencyPerPage=" + targetLatencyPerPage +
+                '}';
+    }
+
+    private static LongConsumer lastValueGauge(MetricRegistry metricRegistry, String name) {
+        LastValue gauge = (LastValue) metricRegistry.gauge(name, LastValue::new);
+        return value -> gauge.value = value;
+    }
+
+    private static final class LastValue implements Gauge<Long> {
+        private volatile long value;
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.ResolvedEvent;
+
+import javax.annotation.Nullable;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Reads forwards from a table partitioned by ranges of position one partition at a time, bounding every page query
+ * above by the end of the partition it starts in. MySQL can then prune each query to a single partition, rather than
+ * opening every partition above the starting position and merging them to find the next page.
+ *
+ * <p>A partition that has been read to its end is followed by the next one, until a partition ends at or beyond the
+ * head of the table. The head is looked up again before stopping, so events written during the read are still
+ * returned.</p>
+ */
+final class PartitionWindowSpliterator implements Spliterator<ResolvedEvent> {
+    private final long positionsPerPartition;
+    private final LongSupplier headPosition;
+    private final BoundedRead read;
+
+    private long lastPosition;
+    private long windowEnd;
+    private long head = Long.MIN_VALUE;
+    @Nullable private Spliterator<ResolvedEvent> window;
+
+    PartitionWindowSpliterator(long startExclusive, long positionsPerPartition, LongSupplier headPosition, BoundedRead read) {
+        if (positionsPerPartition <= 0) {
+            throw new IllegalArgumentException("Positions per partition must be positive: " + positionsPerPartition);
+        }
+        this.lastPosition = startExclusive;
+        this.positionsPerPartition = positionsPerPartition;
+        this.headPosition = headPosition;
+        this.read = read;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        while (true) {
+            if (window == null) {
+                windowEnd = partitionEnd(lastPosition + 1);
+                window = read.upTo(new BasicMysqlEventStorePosition(lastPosition), windowEnd);
+            }
+            boolean advanced = window.tryAdvance(event -> {
+                lastPosition = ((BasicMysqlEventStorePosition) event.position()).value;
+                action.accept(event);
+            });
+            if (advanced) {
+                return true;
+            }
+            if (windowEnd >= head) {
+                head = headPosition.getAsLong();
+                if (windowEnd >= head) {
+                    return false;
+                }
+            }
+            lastPosition = windowEnd;
+            window = null;
+        }
+    }
+
+    void close() {
+        if (window != null) {
+            EventSpliterator.close(window);
+        }
+    }
+
+    long partitionEnd(long position) {
+        long partition = Math.floorDiv(position, positionsPerPartition);
+        if (partition >= MAX_VALUE / positionsPerPartition) {
+            return MAX_VALUE;
+        }
+        return (partition + 1) * positionsPerPartition - 1;
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | DISTINCT;
+    }
+
+    @FunctionalInterface
+    interface BoundedRead {
+        Spliterator<ResolvedEvent> upTo(BasicMysqlEventStorePosition positionExclusive, long upperInclusive);
+    }
+}
@@ -0,0 +1,156 @@
+package com.timgroup.eventstore.mysql;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses event data and metadata as they are written, behind a small header naming how they were stored, so
+ * that readers can recognise compressed values and leave everything else alone. Rows written before compression was
+ * turned on therefore stay readable. Only the readers of an event source configured with compression decompress
+ * values; every writer to a table read that way should compress too, so that raw values starting with the header
+ * bytes are escaped.
+ *
+ * <p>A stored value starts with the three bytes {@code 00 65 7A}, then a byte giving the algorithm and four bytes
+ * giving the uncompressed length. Values smaller than the minimum size, or that do not get smaller, are written
+ * unchanged, unless they happen to start with the header bytes themselves, in which case they are written behind a
+ * header saying they are stored as they are.</p>
+ */
+public final class PayloadCompression {
+    private static final byte[] MAGIC = { 0x00, 0x65, 0x7A };
+    private static final int HEADER_BYTES = MAGIC.length + 1 + 4;
+    private static final byte STORED = 0;
+    private static final byte DEFLATE = 1;
+
+    private final int level;
+    private final int minimumBytes;
+
+    private PayloadCompression(int level, int minimumBytes) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Deflate level must be from 1 to 9: " + level);
+        }
+        if (minimumBytes < 0) {
+            throw new IllegalArgumentException("Minimum size must not be negative: " + minimumBytes);
+        }
+        this.level = level;
+        this.minimumBytes = minimumBytes;
+    }
+
+    /**
+     * Deflates values of 256 bytes or more at the fastest level, which is where most of the gain on JSON lies.
+     */
+    public static PayloadCompression deflate() {
+        return deflate(Deflater.BEST_SPEED, 256);
+    }
+
+    public static PayloadCompression deflate(int level, int minimumBytes) {
+        return new PayloadCompression(level, minimumBytes);
+    }
+
+    byte[] compress(byte[] raw) {
+        if (raw.length >= minimumBytes && raw.length > HEADER_BYTES) {
+            Deflater deflater = new Deflater(level);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                byte[] compressed = new byte[raw.length];
+                int length = HEADER_BYTES;
+                while (!deflater.finished() && length < compressed.length) {
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                if (deflater.finished() && length < raw.length) {
+                    writeHeader(compressed, DEFLATE, raw.length);
+                    return Arrays.copyOf(compressed, length);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        if (hasHeader(raw)) {
+            byte[] stored = new byte[HEADER_BYTES + raw.length];
+            writeHeader(stored, STORED, raw.length);
+            System.arraycopy(raw, 0, stored, HEADER_BYTES, raw.length);
+            return stored;
+        }
+        return raw;
+    }
+
+    /**
+     * Whether a value read may need {@linkplain #decompress(byte[]) decompressing}.
+     */
+    static boolean hasHeader(byte[] stored) {
+        return stored.length >= HEADER_BYTES
+                && stored[0] == MAGIC[0]
+                && stored[1] == MAGIC[1]
+                && stored[2] == MAGIC[2];
+    }
+
+    /**
+     * Reverses {@link #compress(byte[])}. Values without the header bytes were written before compression was turned
+     * on and are returned unchanged; values with them that do not decompress as described are corrupt.
+     *
+     * @throws IllegalStateException if the value has the header bytes but does not decompress
+     */
+    static byte[] decompress(byte[] stored) {
+        if (!hasHeader(stored)) {
+            return stored;
+        }
+        int rawLength = ((stored[4] & 0xFF) << 24) | ((stored[5] & 0xFF) << 16) | ((stored[6] & 0xFF) << 8) | (stored[7] & 0xFF);
+        if (rawLength < 0) {
+            throw corrupt("negative length " + rawLength);
+        }
+        switch (stored[3]) {
+            case STORED:
+                if (stored.length - HEADER_BYTES != rawLength) {
+                    throw corrupt("stored " + (stored.length - HEADER_BYTES) + " bytes but header says " + rawLength);
+                }
+                return Arrays.copyOfRange(stored, HEADER_BYTES, stored.length);
+            case DEFLATE:
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+                    byte[] raw = new byte[rawLength];
+                    int length = 0;
+                    while (!inflater.finished() && length < rawLength) {
+                        int inflated = inflater.inflate(raw, length, rawLength - length);
+                        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            throw corrupt("deflated data ends after " + length + " of " + rawLength + " bytes");
+                        }
+                        length += inflated;
+                    }
+                    if (length != rawLength || (!inflater.finished() && inflater.inflate(new byte[1]) != 0) || !inflater.finished()) {
+                        throw corrupt("deflated data does not inflate to " + rawLength + " bytes");
+                    }
+                    return raw;
+                } catch (DataFormatException e) {
+                    throw new IllegalStateException("Corrupt compressed payload: " + e.getMessage(), e);
+                } finally {
+                    inflater.end();
+                }
+            default:
+                throw corrupt("unknown algorithm " + stored[3]);
+        }
+    }
+
+    private static IllegalStateException corrupt(String reason) {
+        return new IllegalStateException("Corrupt compressed payload: " + reason);
+    }
+
+    private static void writeHeader(byte[] target, byte algorithm, int rawLength) {
+        System.arraycopy(MAGIC, 0, target, 0, MAGIC.length);
+        target[3] = algorithm;
+        target[4] = (byte) (rawLength >>> 24);
+        target[5] = (byte) (rawLength >>> 16);
+        target[6] = (byte) (rawLength >>> 8);
+        target[7] = (byte) rawLength;
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadCompression{" +
+                "level=" + level +
+                ", minimumBytes=" + minimumBytes +
+                '}';
+    }
+}
@@ -0,0 +1,151 @@
+package com.timgroup.eventstore.mysql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static java.lang.String.format;
+
+/**
+ * Chooses the positions for events written in a transaction. Positions must become visible to readers in order,
+ * so allocators work within the writing transaction rather than reserving blocks ahead of time.
+ *
+ * <p>Writers look up the last position before reading the current versions of the streams they write to. A writer
+ * that has missed a concurrent write to one of its streams then also misses the positions that write took, and
+ * collides with it, whatever the isolation level.</p>
+ */
+interface PositionAllocator {
+    /**
+     * Returns the last position allocated, from which the current transaction will go on to
+     * {@linkplain #reserve(Connection, long, int) reserve} positions.
+     */
+    long lastPosition(Connection connection) throws SQLException;
+
+    /**
+     * Reserves the {@code count} positions after {@code lastPosition} for the current transaction.
+     */
+    void reserve(Connection connection, long lastPosition, int count) throws SQLException;
+
+    /**
+     * Called in the transaction retrying a write that collided with an existing position.
+     */
+    void resynchronise(Connection connection) throws SQLException;
+
+    static PositionAllocator create(String tableName, WriterOptions writerOptions) {
+        return writerOptions.positionCounter ? new CounterTable(tableName) : new MaxPosition(tableName);
+    }
+
+    static String counterTableName(String tableName) {
+        return tableName + "_position";
+    }
+
+    /**
+     * Continues from the highest position already written. Concurrent writers read the same position and all but
+     * one of them collide on the primary key and retry.
+     */
+    final class MaxPosition implements PositionAllocator {
+        private final String tableName;
+
+        MaxPosition(String tableName) {
+            this.tableName = tableName;
+        }
+
+        @Override
+        public long lastPosition(Connection connection) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(format("select max(position) as current_position from %s", tableName))) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong("current_position");
+                }
+            }
+        }
+
+        @Override
+        public void reserve(Connection connection, long lastPosition, int count) {
+        }
+
+        @Override
+        public void resynchronise(Connection connection) {
+        }
+
+        @Override
+        public String toString() {
+            return "MaxPosition{" +
+                    "tableName='" + tableName + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * Holds the last allocated position in a single-row counter table, locked for the rest of the writing
+     * transaction. Concurrent writers queue on the row lock instead of colliding and retrying. If a writer not
+     * using the counter has written past it, the counter is moved up to the highest position on retry.
+     *
+     * <p>Writers using the counter rely on the unique index on stream and event number to reject conflicting writes
+     * to a stream, which a partitioned table does not have, so the first allocation checks the table is not
+     * partitioned.</p>
+     */
+    final class CounterTable implements PositionAllocator {
+        private final String tableName;
+        private final String counterTableName;
+        private volatile boolean checkedUnpartitioned;
+
+        CounterTable(String tableName) {
+            this.tableName = tableName;
+            this.counterTableName = counterTableName(tableName);
+        }
+
+        @Override
+        public long lastPosition(Connection connection) throws SQLException {
+            if (!checkedUnpartitioned) {
+                if (BasicMysqlEventStoreSetup.isPartitioned(connection, tableName)) {
+                    throw new IllegalStateException("Table " + tableName + " is partitioned, so cannot be written using a position counter");
+                }
+                checkedUnpartitioned = true;
+            }
+            return lockCounter(connection);
+        }
+
+        @Override
+        public void reserve(Connection connection, long lastPosition, int count) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(format("update %s set position = ? where id = 1", counterTableName))) {
+                statement.setLong(1, lastPosition + count);
+                statement.executeUpdate();
+            }
+        }
+
+        @Override
+        public void resynchronise(Connection connection) throws SQLException {
+            lockCounter(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(format("update %s set position = greatest(position, (select coalesce(max(position), 0) from %s)) where id = 1", counterTableName, tableName));
+            }
+        }
+
+        private long lockCounter(Connection connection) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(format("select position from %s where id = 1 for update", counterTableName))) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return resultSet.getLong(1);
+                    }
+                }
+                try (Statement seed = connection.createStatement()) {
+                    seed.executeUpdate(format("insert ignore into %s(id, position) select 1, coalesce(max(position), 0) from %s", counterTableName, tableName));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "CounterTable{" +
+                    "counterTableName='" + counterTableName + '\'' +
+                    '}';
+        }
+    }
+}
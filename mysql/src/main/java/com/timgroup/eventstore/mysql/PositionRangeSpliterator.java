@@ -0,0 +1,193 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventProjection;
+import com.timgroup.eventstore.api.ResolvedEvent;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Reads the whole store forwards, splitting on ranges of position when used in a parallel stream so that each
+ * fork pages through a disjoint range over its own connection. Splits always hand off the lower half of the
+ * remaining range, so ordered consumers still see events in position order. The highest range is left open so
+ * that, like an unsplit read, it also returns events written after the read started.
+ */
+final class PositionRangeSpliterator implements Spliterator<ResolvedEvent> {
+    private static final long OPEN = MAX_VALUE;
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final ConnectionProvider connectionProvider;
+    private final PageSize pageSize;
+    private final String tableName;
+    private final EventProjection projection;
+    private final EventTypeFilter filter;
+    private final Timer timer;
+    private final ReaderOptions readerOptions;
+    private final Timer waitTimer;
+    private final long upperInclusive;
+    private final Queue<Spliterator<ResolvedEvent>> openReads;
+
+    private long lowerExclusive;
+    private long head;
+    @Nullable private volatile Spliterator<ResolvedEvent> delegate;
+
+    PositionRangeSpliterator(ConnectionProvider connectionProvider, PageSize pageSize, String tableName, long lowerExclusive, EventProjection projection, EventTypeFilter filter, Timer timer, ReaderOptions readerOptions, Timer waitTimer) {
+        this(connectionProvider, pageSize, tableName, lowerExclusive, OPEN, UNKNOWN, projection, filter, timer, readerOptions, waitTimer, new ConcurrentLinkedQueue<>());
+    }
+
+    /**
+     * Reads no further than {@code upperInclusive}, taking that to be the head of the table when splitting.
+     */
+    static PositionRangeSpliterator upTo(ConnectionProvider connectionProvider, PageSize pageSize, String tableName, long lowerExclusive, long upperInclusive, EventProjection projection, EventTypeFilter filter, Timer timer, ReaderOptions readerOptions, Timer waitTimer) {
+        return new PositionRangeSpliterator(connectionProvider, pageSize, tableName, lowerExclusive, upperInclusive, upperInclusive, projection, filter, timer, readerOptions, waitTimer, new ConcurrentLinkedQueue<>());
+    }
+
+    private PositionRangeSpliterator(ConnectionProvider connectionProvider, PageSize pageSize, String tableName, long lowerExclusive, long upperInclusive, long head, EventProjection projection, EventTypeFilter filter, Timer timer, ReaderOptions readerOptions, Timer waitTimer, Queue<Spliterator<ResolvedEvent>> openReads) {
+        this.connectionProvider = connectionProvider;
+        this.pageSize = pageSize;
+        this.tableName = tableName;
+        this.lowerExclusive = lowerExclusive;
+        this.upperInclusive = upperInclusive;
+        this.head = head;
+        this.projection = projection;
+        this.filter = filter;
+        this.timer = timer;
+        this.readerOptions = readerOptions;
+        this.waitTimer = waitTimer;
+        this.openReads = openReads;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        Spliterator<ResolvedEvent> current = delegate();
+        if (current.tryAdvance(action)) {
+            return true;
+        }
+        release(current);
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super ResolvedEvent> action) {
+        Spliterator<ResolvedEvent> current = delegate();
+        current.forEachRemaining(action);
+        release(current);
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        if (delegate != null) {
+            return null;
+        }
+
+        long ceiling = Math.min(upperInclusive, head());
+        if (ceiling - lowerExclusive < 2L * pageSize.rows()) {
+            return null;
+        }
+
+        long middle = lowerExclusive + (ceiling - lowerExclusive) / 2;
+        PositionRangeSpliterator prefix = new PositionRangeSpliterator(connectionProvider, pageSize, tableName, lowerExclusive, middle, head, projection, filter, timer, readerOptions, waitTimer, openReads);
+        lowerExclusive = middle;
+        return prefix;
+    }
+
+    /**
+     * Closes the reads still open in this range and in every range split off from it, which the stream only knows as
+     * this one. Each fork registers its read in a queue shared by all of them, and takes it back out and closes it
+     * itself once it has run out, so only reads abandoned part way through are closed here, and each only once.
+     */
+    void close() {
+        Spliterator<ResolvedEvent> read;
+        while ((read = openReads.poll()) != null) {
+            EventSpliterator.close(read);
+        }
+    }
+
+    private void release(Spliterator<ResolvedEvent> read) {
+        if (openReads.remove(read)) {
+            EventSpliterator.close(read);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        if (delegate != null) {
+            return MAX_VALUE;
+        }
+        return Math.max(0, Math.min(upperInclusive, head()) - lowerExclusive);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | DISTINCT;
+    }
+
+    private Spliterator<ResolvedEvent> delegate() {
+        Spliterator<ResolvedEvent> current = delegate;
+        if (current == null) {
+            PageQuery<BasicMysqlEventStorePosition> query = new PageQuery<>(
+                    "select " + EventSpliterator.columns(projection) +
+                            " from " + tableName +
+                            " where position > ?" +
+                            (upperInclusive == OPEN ? "" : " and position <= ?") +
+                            filter.condition() +
+                            " order by position asc" +
+                            " limit ?",
+                    projection,
+                    readerOptions.compression,
+                    (statement, position, limit) -> {
+                        int parameterIndex = 0;
+                        statement.setLong(++parameterIndex, position.value);
+                        if (upperInclusive != OPEN) {
+                            statement.setLong(++parameterIndex, upperInclusive);
+                        }
+                        parameterIndex = filter.bind(statement, parameterIndex);
+                        statement.setInt(++parameterIndex, limit);
+                    });
+
+            current = EventSpliterator.create(
+                    connectionProvider,
+                    new BasicMysqlEventStorePosition(lowerExclusive),
+                    query,
+                    pageSize,
+                    resolvedEvent -> (BasicMysqlEventStorePosition) resolvedEvent.position(),
+                    timer,
+                    readerOptions,
+                    waitTimer);
+            openReads.add(current);
+            delegate = current;
+        }
+        return current;
+    }
+
+    private long head() {
+        if (head == UNKNOWN) {
+            try (Connection connection = connectionProvider.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("select min(position), max(position) from " + tableName + " where position > ?")) {
+                statement.setLong(1, lowerExclusive);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    long min = resultSet.getLong(1);
+                    if (resultSet.wasNull()) {
+                        head = lowerExclusive;
+                    } else {
+                        lowerExclusive = Math.max(lowerExclusive, min - 1);
+                        head = resultSet.getLong(2);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return head;
+    }
+}
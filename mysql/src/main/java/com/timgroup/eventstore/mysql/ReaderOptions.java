@@ -0,0 +1,115 @@
+package com.timgroup.eventstore.mysql;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+final class ReaderOptions {
+    static final ReaderOptions DEFAULT = new ReaderOptions(0, null, false, 0, null, HeadPositionCache.NONE, 0, null);
+
+    final int prefetchPages;
+    @Nullable
+    final Executor prefetchExecutor;
+    final boolean streamingCursor;
+    final long targetBytesPerPage;
+    @Nullable
+    final Duration targetLatencyPerPage;
+    final HeadPositionCache headPositions;
+    final long positionsPerPartition;
+    @Nullable
+    final PayloadCompression compression;
+
+    private ReaderOptions(int prefetchPages, @Nullable Executor prefetchExecutor, boolean streamingCursor, long targetBytesPerPage, @Nullable Duration targetLatencyPerPage, HeadPositionCache headPositions, long positionsPerPartition, @Nullable PayloadCompression compression) {
+        this.prefetchPages = prefetchPages;
+        this.prefetchExecutor = prefetchExecutor;
+        this.streamingCursor = streamingCursor;
+        this.targetBytesPerPage = targetBytesPerPage;
+        this.targetLatencyPerPage = targetLatencyPerPage;
+        this.headPositions = headPositions;
+        this.positionsPerPartition = positionsPerPartition;
+        this.compression = compression;
+    }
+
+    ReaderOptions withPrefetch(int pagesInFlight, Executor executor) {
+        if (pagesInFlight < 0) {
+            throw new IllegalArgumentException("Pages in flight must not be negative: " + pagesInFlight);
+        }
+        if (pagesInFlight > 0 && streamingCursor) {
+            throw new IllegalArgumentException("Prefetching pages cannot be combined with a streaming cursor");
+        }
+        return new ReaderOptions(pagesInFlight, pagesInFlight == 0 ? null : requireNonNull(executor), streamingCursor, targetBytesPerPage, targetLatencyPerPage, headPositions, positionsPerPartition, compression);
+    }
+
+    ReaderOptions withStreamingCursor() {
+        if (prefetching()) {
+            throw new IllegalArgumentException("A streaming cursor cannot be combined with prefetching pages");
+        }
+        if (adaptivePageSize()) {
+            throw new IllegalArgumentException("A streaming cursor cannot be combined with an adaptive page size");
+        }
+        if (readsByPartition()) {
+            throw new IllegalArgumentException("A streaming cursor cannot be combined with reading by partition");
+        }
+        return new ReaderOptions(prefetchPages, prefetchExecutor, true, targetBytesPerPage, targetLatencyPerPage, headPositions, positionsPerPartition, compression);
+    }
+
+    ReaderOptions withAdaptivePageSize(long targetBytesPerPage, Duration targetLatencyPerPage) {
+        if (streamingCursor) {
+            throw new IllegalArgumentException("An adaptive page size cannot be combined with a streaming cursor");
+        }
+        PageSizing.checkTargets(targetBytesPerPage, targetLatencyPerPage);
+        return new ReaderOptions(prefetchPages, prefetchExecutor, streamingCursor, targetBytesPerPage, targetLatencyPerPage, headPositions, positionsPerPartition, compression);
+    }
+
+    ReaderOptions withHeadPositionCache(Duration timeToLive) {
+        return new ReaderOptions(prefetchPages, prefetchExecutor, streamingCursor, targetBytesPerPage, targetLatencyPerPage, new HeadPositionCache(timeToLive, System::nanoTime), positionsPerPartition, compression);
+    }
+
+    ReaderOptions withReadsByPartition(long positionsPerPartition) {
+        if (positionsPerPartition <= 0) {
+            throw new IllegalArgumentException("Positions per partition must be positive: " + positionsPerPartition);
+        }
+        if (streamingCursor) {
+            throw new IllegalArgumentException("Reading by partition cannot be combined with a streaming cursor");
+        }
+        return new ReaderOptions(prefetchPages, prefetchExecutor, streamingCursor, targetBytesPerPage, targetLatencyPerPage, headPositions, positionsPerPartition, compression);
+    }
+
+    ReaderOptions withCompression(PayloadCompression compression) {
+        return new ReaderOptions(prefetchPages, prefetchExecutor, streamingCursor, targetBytesPerPage, targetLatencyPerPage, headPositions, positionsPerPartition, requireNonNull(compression));
+    }
+
+    PageSizing pageSizing(int maxPageSize) {
+        if (targetLatencyPerPage == null) {
+            return PageSizing.fixed(maxPageSize);
+        }
+        return PageSizing.adaptive(maxPageSize, targetBytesPerPage, targetLatencyPerPage);
+    }
+
+    boolean prefetching() {
+        return prefetchPages > 0;
+    }
+
+    boolean adaptivePageSize() {
+        return targetLatencyPerPage != null;
+    }
+
+    boolean readsByPartition() {
+        return positionsPerPartition > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ReaderOptions{" +
+                "prefetchPages=" + prefetchPages +
+                ", streamingCursor=" + streamingCursor +
+                ", targetBytesPerPage=" + targetBytesPerPage +
+                ", targetLatencyPerPage=" + targetLatencyPerPage +
+                ", headPositions=" + headPositions +
+                ", positionsPerPartition=" + positionsPerPartition +
+                ", compression=" + compression +
+                '}';
+    }
+}
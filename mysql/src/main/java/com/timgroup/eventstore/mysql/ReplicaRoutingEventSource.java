@@ -0,0 +1,342 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventCategoryReader;
+import com.timgroup.eventstore.api.EventProjection;
+import com.timgroup.eventstore.api.EventReader;
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.EventStreamReader;
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.PositionCodec;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.tucker.info.Component;
+import com.timgroup.tucker.info.Report;
+import com.timgroup.tucker.info.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.timgroup.eventstore.mysql.BasicMysqlEventStorePosition.EMPTY_STORE_POSITION;
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sends forward reads of the whole store and of categories to read replicas of the master's table, so that catching
+ * up does not load the master. Each read goes to the replica with the highest head position, and carries on from the
+ * master once that replica has nothing more to give, so readers still see events as soon as they are written. A read
+ * starting at or past the head of every replica, or finding no replica reachable, goes straight to the master.
+ *
+ * <p>Reading streams, reading backwards and writing always use the master. The replicas' lag behind the master is
+ * reported through {@link #monitoring()}.</p>
+ *
+ * <p>Choosing a replica reads the head position of every replica on every forward read, so replicas should be given
+ * with a head position cache, e.g. {@link BasicMysqlEventSource#withHeadPositionCache(java.time.Duration)}. A cached
+ * head can only be behind the replica's real one, so at worst a read starts on a less advanced replica or on the
+ * master; the reported lag is then up to one cache period old.</p>
+ */
+public final class ReplicaRoutingEventSource implements EventSource, EventReader, EventCategoryReader, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingEventSource.class);
+
+    private final EventSource master;
+    private final List<EventSource> replicas;
+    private final String name;
+
+    public ReplicaRoutingEventSource(EventSource master, List<? extends EventSource> replicas, String name) {
+        this.master = requireNonNull(master);
+        this.replicas = new ArrayList<>(replicas);
+        this.name = requireNonNull(name);
+    }
+
+    @Nonnull @Override public EventReader readAll() { return this; }
+    @Nonnull @Override public EventCategoryReader readCategory() { return this; }
+    @Nonnull @Override public EventStreamReader readStream() { return master.readStream(); }
+    @Nonnull @Override public EventStreamWriter writeStream() { return master.writeStream(); }
+
+    @Nonnull
+    @Override
+    public Collection<Component> monitoring() {
+        List<Component> result = new ArrayList<>(master.monitoring());
+        for (EventSource replica : replicas) {
+            result.addAll(replica.monitoring());
+        }
+        result.add(new ReplicaLagComponent());
+        return result;
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readAllForwards(Position positionExclusive) {
+        return route(positionExclusive, (source, position) -> source.readAll().readAllForwards(position));
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readAllForwards(Position positionExclusive, EventProjection projection) {
+        return route(positionExclusive, (source, position) -> source.readAll().readAllForwards(position, projection));
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readAllForwardsOfTypes(Position positionExclusive, Set<String> eventTypes) {
+        return route(positionExclusive, (source, position) -> source.readAll().readAllForwardsOfTypes(position, eventTypes));
+    }
+
+    @Override
+    public boolean filtersEventTypesAtSource() {
+        return master.readAll().filtersEventTypesAtSource();
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readAllBackwards() {
+        return master.readAll().readAllBackwards();
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readAllBackwards(Position positionExclusive) {
+        return master.readAll().readAllBackwards(positionExclusive);
+    }
+
+    @Nonnull @Override
+    public Optional<ResolvedEvent> readLastEvent() {
+        return master.readAll().readLastEvent();
+    }
+
+    @Nonnull @Override
+    public Optional<ResolvedEvent> readLastEvent(EventProjection projection) {
+        return master.readAll().readLastEvent(projection);
+    }
+
+    @Nonnull @Override
+    public Position headPosition() {
+        return master.readAll().headPosition();
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive) {
+        return route(positionExclusive, (source, position) -> source.readCategory().readCategoryForwards(category, position));
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoryForwards(String category, Position positionExclusive, EventProjection projection) {
+        return route(positionExclusive, (source, position) -> source.readCategory().readCategoryForwards(category, position, projection));
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoryForwardsOfTypes(String category, Position positionExclusive, Set<String> eventTypes) {
+        return route(positionExclusive, (source, position) -> source.readCategory().readCategoryForwardsOfTypes(category, position, eventTypes));
+    }
+
+    @Override
+    public boolean filtersCategoryEventTypesAtSource() {
+        return master.readCategory().filtersCategoryEventTypesAtSource();
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoriesForwards(List<String> categories, Position positionExclusive) {
+        return route(positionExclusive, (source, position) -> source.readCategory().readCategoriesForwards(categories, position));
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoryBackwards(String category) {
+        return master.readCategory().readCategoryBackwards(category);
+    }
+
+    @Nonnull @CheckReturnValue @Override
+    public Stream<ResolvedEvent> readCategoryBackwards(String category, Position positionExclusive) {
+        return master.readCategory().readCategoryBackwards(category, positionExclusive);
+    }
+
+    @Nonnull @Override
+    public Optional<ResolvedEvent> readLastEventInCategory(String category) {
+        return master.readCategory().readLastEventInCategory(category);
+    }
+
+    @Nonnull @Override
+    public Optional<ResolvedEvent> readLastEventInCategory(String category, EventProjection projection) {
+        return master.readCategory().readLastEventInCategory(category, projection);
+    }
+
+    @Nonnull @Override
+    public Position headPositionOfCategory(String category) {
+        return master.readCategory().headPositionOfCategory(category);
+    }
+
+    @Nonnull @Override public Position emptyStorePosition() { return EMPTY_STORE_POSITION; }
+    @Nonnull @Override public PositionCodec storePositionCodec() { return BasicMysqlEventStorePosition.CODEC; }
+    @Nonnull @Override public Position emptyCategoryPosition(String category) { return EMPTY_STORE_POSITION; }
+    @Nonnull @Override public PositionCodec categoryPositionCodec(String category) { return BasicMysqlEventStorePosition.CODEC; }
+
+    /**
+     * Closes the master and every replica that is {@link AutoCloseable}, carrying on past failures. The first failure
+     * is rethrown once all have been tried, with any later ones attached as suppressed.
+     */
+    @Override
+    public void close() {
+        IllegalStateException failure = null;
+        List<EventSource> sources = new ArrayList<>(replicas.size() + 1);
+        sources.add(master);
+        sources.addAll(replicas);
+        for (EventSource source : sources) {
+            if (source instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) source).close();
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (failure == null) {
+                        failure = new IllegalStateException("Failed to close " + source, e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaRoutingEventSource{" +
+                "master=" + master +
+                ", replicas=" + replicas +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    private Stream<ResolvedEvent> route(Position positionExclusive, Read read) {
+        BasicMysqlEventStorePosition startingPosition = (BasicMysqlEventStorePosition) positionExclusive;
+        EventSource replica = furthestAheadReplica(startingPosition);
+        if (replica == null) {
+            return read.from(master, startingPosition);
+        }
+        ReplicaThenMasterSpliterator spliterator = new ReplicaThenMasterSpliterator(read.from(replica, startingPosition), startingPosition, position -> read.from(master, position));
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    @Nullable
+    private EventSource furthestAheadReplica(BasicMysqlEventStorePosition startingPosition) {
+        EventSource furthestAhead = null;
+        long furthestAheadHead = startingPosition.value;
+        for (EventSource replica : replicas) {
+            try {
+                long head = headPosition(replica);
+                if (head > furthestAheadHead) {
+                    furthestAhead = replica;
+                    furthestAheadHead = head;
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to read head position of replica " + replica + ", leaving it out of this read", e);
+            }
+        }
+        return furthestAhead;
+    }
+
+    private static long headPosition(EventSource eventSource) {
+        return ((BasicMysqlEventStorePosition) eventSource.readAll().headPosition()).value;
+    }
+
+    @FunctionalInterface
+    private interface Read {
+        Stream<ResolvedEvent> from(EventSource source, Position positionExclusive);
+    }
+
+    /**
+     * Reads from the replica until it runs dry, then carries on from the master after the last event it returned.
+     */
+    private static final class ReplicaThenMasterSpliterator implements Spliterator<ResolvedEvent> {
+        private final Function<Position, Stream<ResolvedEvent>> readFromMaster;
+        private Stream<ResolvedEvent> current;
+        private Spliterator<ResolvedEvent> currentSpliterator;
+        private Position lastPosition;
+        private boolean onMaster = false;
+
+        private ReplicaThenMasterSpliterator(Stream<ResolvedEvent> fromReplica, Position startingPosition, Function<Position, Stream<ResolvedEvent>> readFromMaster) {
+            this.readFromMaster = readFromMaster;
+            this.current = fromReplica;
+            this.currentSpliterator = fromReplica.spliterator();
+            this.lastPosition = startingPosition;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+            while (true) {
+                boolean advanced = currentSpliterator.tryAdvance(event -> {
+                    lastPosition = event.position();
+                    action.accept(event);
+                });
+                if (advanced) {
+                    return true;
+                }
+                if (onMaster) {
+                    return false;
+                }
+                current.close();
+                current = readFromMaster.apply(lastPosition);
+                currentSpliterator = current.spliterator();
+                onMaster = true;
+            }
+        }
+
+        void close() {
+            current.close();
+        }
+
+        @Override
+        public Spliterator<ResolvedEvent> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | DISTINCT;
+        }
+    }
+
+    private final class ReplicaLagComponent extends Component {
+        private ReplicaLagComponent() {
+            super("EventStore-" + name + "-replica-lag", "EventStore replica lag (name=" + name + ")");
+        }
+
+        @Override
+        public Report getReport() {
+            long masterHead;
+            try {
+                masterHead = headPosition(master);
+            } catch (RuntimeException e) {
+                return new Report(Status.WARNING, format("Unable to read master head position: %s", e.getMessage()));
+            }
+
+            StringBuilder text = new StringBuilder(format("master head position: %d", masterHead));
+            Status status = Status.OK;
+            for (int i = 0; i < replicas.size(); i++) {
+                try {
+                    long replicaHead = headPosition(replicas.get(i));
+                    text.append(format("%nreplica %d head position: %d, lag: %d", i, replicaHead, Math.max(0, masterHead - replicaHead)));
+                } catch (RuntimeException e) {
+                    text.append(format("%nreplica %d unreachable: %s", i, e.getMessage()));
+                    status = Status.WARNING;
+                }
+            }
+            return new Report(status, text.toString());
+        }
+    }
+}
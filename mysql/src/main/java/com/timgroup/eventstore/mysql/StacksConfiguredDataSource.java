@@ -31,6 +31,10 @@ public final class StacksConfiguredDataSource {
     public static final int DEFAULT_MAX_POOLSIZE = 15;
     public static final int DEFAULT_SOCKET_TIMEOUT_MS = 15000;
 
+    // Set server_prepared_statements=true to prepare each distinct read query once per connection on the server
+    // rather than having it parsed and planned for every page.
+    private static final String PREPARED_STATEMENT_CACHE_PARAMETERS = "&useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=256&prepStmtCacheSqlLimit=4096";
+
     private static final SecretsManagerClient secretsManager = SecretsManagerClient.create();
 
     private StacksConfiguredDataSource() { /* prevent instantiation */ }
@@ -113,6 +117,7 @@ public final class StacksConfiguredDataSource {
                 properties.getProperty(prefix + "secret_id"),
                 properties.getProperty(prefix + "database"),
                 properties.getProperty(prefix + "driver"),
+                Boolean.parseBoolean(properties.getProperty(prefix + "server_prepared_statements", "false")),
                 maxPoolSize,
                 socketTimeoutMs,
                 metricRegistry
@@ -135,7 +140,7 @@ public final class StacksConfiguredDataSource {
         return pooledMasterDb(config, maxPoolSize, null);
     }
 
-    private static final Config DATA_SOURCE_FALLBACK = ConfigFactory.parseString("username=\nsecret_id=\npassword=", ConfigParseOptions.defaults().setSyntax(ConfigSyntax.PROPERTIES));
+    private static final Config DATA_SOURCE_FALLBACK = ConfigFactory.parseString("username=\nsecret_id=\npassword=\nserver_prepared_statements=false", ConfigParseOptions.defaults().setSyntax(ConfigSyntax.PROPERTIES));
 
     /**
      * @deprecated Use corresponding API without metric registry
@@ -151,6 +156,7 @@ public final class StacksConfiguredDataSource {
                 defaultedConfig.getString("secret_id"),
                 defaultedConfig.getString("database"),
                 defaultedConfig.getString("driver"),
+                defaultedConfig.getBoolean("server_prepared_statements"),
                 maxPoolSize,
                 DEFAULT_SOCKET_TIMEOUT_MS,
                 metricRegistry
@@ -187,6 +193,7 @@ public final class StacksConfiguredDataSource {
                 defaultedConfig.getString("secret_id"),
                 defaultedConfig.getString("database"),
                 defaultedConfig.getString("driver"),
+                defaultedConfig.getBoolean("server_prepared_statements"),
                 maxPoolSize,
                 DEFAULT_SOCKET_TIMEOUT_MS,
                 metricRegistry
@@ -201,11 +208,13 @@ public final class StacksConfiguredDataSource {
             @Nullable String secretId,
             String database,
             String driver,
+            boolean serverPreparedStatements,
             int maxPoolsize,
             int socketTimeoutMs,
             @Nullable MetricRegistry metricRegistry) {
         ComboPooledDataSource dataSource = new ComboPooledDataSource();
-        dataSource.setJdbcUrl(format("jdbc:mysql://%s:%d/%s?useSSL=false&rewriteBatchedStatements=true&secondsBeforeRetryMaster=1&queriesBeforeRetryMaster=1&connectTimeout=5000&socketTimeout=" + socketTimeoutMs,
+        dataSource.setJdbcUrl(format("jdbc:mysql://%s:%d/%s?useSSL=false&rewriteBatchedStatements=true&secondsBeforeRetryMaster=1&queriesBeforeRetryMaster=1&connectTimeout=5000&socketTimeout=" + socketTimeoutMs
+                        + (serverPreparedStatements ? PREPARED_STATEMENT_CACHE_PARAMETERS : ""),
                 hostname,
                 port,
                 database));
@@ -0,0 +1,153 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.ResolvedEvent;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.lang.Long.MAX_VALUE;
+
+/**
+ * Hands each row to the consumer straight from an open streaming result set, so only the current event is held
+ * in memory. The cursor is released and reopened after the last seen location whenever a page of the query is
+ * exhausted, so the batch size bounds how long a connection (and its read view) is held. Streams built on this
+ * must be closed to release the connection if they are not read to the end.
+ */
+final class StreamingEventSpliterator<T> implements Spliterator<ResolvedEvent> {
+    private final ConnectionProvider connectionProvider;
+    private final PageQuery<T> query;
+    private final int batchSize;
+    private final Function<ResolvedEvent, T> locationPointerExtractor;
+    private final Timer timer;
+
+    private T locationPointer;
+    @Nullable private Connection connection;
+    @Nullable private PreparedStatement statement;
+    @Nullable private ResultSet resultSet;
+    private long rowsReadFromCursor = 0;
+    private boolean streamExhausted = false;
+
+    StreamingEventSpliterator(
+            ConnectionProvider connectionProvider,
+            T startingLocation,
+            PageQuery<T> query,
+            int batchSize,
+            Function<ResolvedEvent, T> locationPointerExtractor,
+            Timer timer) {
+        this.connectionProvider = connectionProvider;
+        this.locationPointer = startingLocation;
+        this.query = query;
+        this.batchSize = batchSize;
+        this.locationPointerExtractor = locationPointerExtractor;
+        this.timer = timer;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+        if (streamExhausted) {
+            return false;
+        }
+
+        try {
+            while (true) {
+                if (resultSet == null) {
+                    openCursor();
+                }
+
+                //noinspection ConstantConditions
+                if (resultSet.next()) {
+                    rowsReadFromCursor++;
+                    ResolvedEvent next = query.readEvent(resultSet);
+                    locationPointer = locationPointerExtractor.apply(next);
+                    action.accept(next);
+                    return true;
+                }
+
+                boolean cursorWasEmpty = rowsReadFromCursor == 0;
+                close();
+                if (cursorWasEmpty) {
+                    streamExhausted = true;
+                    return false;
+                }
+            }
+        } catch (SQLException e) {
+            close();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void openCursor() {
+        timer.time(() -> {
+            try {
+                connection = connectionProvider.getConnection();
+                statement = query.prepare(connection, locationPointer, batchSize);
+                resultSet = statement.executeQuery();
+                rowsReadFromCursor = 0;
+            } catch (SQLException e) {
+                close();
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    void close() {
+        SQLException failure = null;
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            failure = e;
+        }
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            failure = suppressing(failure, e);
+        }
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            failure = suppressing(failure, e);
+        }
+        connection = null;
+        statement = null;
+        resultSet = null;
+        if (failure != null) {
+            LoggerFactory.getLogger(StreamingEventSpliterator.class).warn("Failed to release streaming cursor", failure);
+        }
+    }
+
+    private static SQLException suppressing(@Nullable SQLException failure, SQLException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    @Override
+    public Spliterator<ResolvedEvent> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | DISTINCT;
+    }
+}
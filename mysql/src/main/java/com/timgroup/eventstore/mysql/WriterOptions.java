@@ -0,0 +1,44 @@
+package com.timgroup.eventstore.mysql;
+
+import javax.annotation.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+final class WriterOptions {
+    static final WriterOptions DEFAULT = new WriterOptions(false, 1024 * 1024, null);
+
+    final boolean positionCounter;
+    final long writeChunkBytes;
+    @Nullable
+    final PayloadCompression compression;
+
+    private WriterOptions(boolean positionCounter, long writeChunkBytes, @Nullable PayloadCompression compression) {
+        this.positionCounter = positionCounter;
+        this.writeChunkBytes = writeChunkBytes;
+        this.compression = compression;
+    }
+
+    WriterOptions withPositionCounter() {
+        return new WriterOptions(true, writeChunkBytes, compression);
+    }
+
+    WriterOptions withCompression(PayloadCompression compression) {
+        return new WriterOptions(positionCounter, writeChunkBytes, requireNonNull(compression));
+    }
+
+    WriterOptions withWriteChunkBytes(long writeChunkBytes) {
+        if (writeChunkBytes <= 0) {
+            throw new IllegalArgumentException("Write chunk size must be positive: " + writeChunkBytes);
+        }
+        return new WriterOptions(positionCounter, writeChunkBytes, compression);
+    }
+
+    @Override
+    public String toString() {
+        return "WriterOptions{" +
+                "positionCounter=" + positionCounter +
+                ", writeChunkBytes=" + writeChunkBytes +
+                ", compression=" + compression +
+                '}';
+    }
+}
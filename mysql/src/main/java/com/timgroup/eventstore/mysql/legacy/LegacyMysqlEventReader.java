@@ -10,6 +10,8 @@ import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
 import com.timgroup.eventstore.mysql.ConnectionProvider;
+import com.timgroup.eventstore.mysql.PageSize;
+import com.timgroup.eventstore.mysql.PageSizing;
 import com.timgroup.eventstore.mysql.Timer;
 
 import javax.annotation.CheckReturnValue;
@@ -30,14 +32,18 @@ public final class LegacyMysqlEventReader implements EventReader, EventStreamRea
     private final ConnectionProvider connectionProvider;
     private final String tableName;
     private final StreamId pretendStreamId;
-    private final int batchSize;
+    private final PageSize pageSize;
     private final Timer timer;
 
     public LegacyMysqlEventReader(ConnectionProvider connectionProvider, String database, String tableName, StreamId pretendStreamId, int batchSize, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, database, tableName, pretendStreamId, PageSizing.fixed(batchSize), metricRegistry);
+    }
+
+    public LegacyMysqlEventReader(ConnectionProvider connectionProvider, String database, String tableName, StreamId pretendStreamId, PageSizing pageSizing, @Nullable MetricRegistry metricRegistry) {
         this.connectionProvider = connectionProvider;
         this.tableName = tableName;
         this.pretendStreamId = pretendStreamId;
-        this.batchSize = batchSize;
+        this.pageSize = pageSizing.pageSize(database, tableName, "read_legacy", metricRegistry);
         if (metricRegistry == null) {
             this.timer = (Runnable r) -> pageFetchTimer.labels(database, tableName, "read_legacy").time(r);
         } else {
@@ -71,7 +77,7 @@ public final class LegacyMysqlEventReader implements EventReader, EventStreamRea
         return stream(
                 new LegacyMysqlEventSpliterator(
                     connectionProvider,
-                    batchSize,
+                    pageSize,
                     tableName,
                     pretendStreamId,
                     (LegacyMysqlEventPosition)positionExclusive,
@@ -112,14 +118,14 @@ public final class LegacyMysqlEventReader implements EventReader, EventStreamRea
     @Nonnull
     @Override
     public Optional<ResolvedEvent> readLastEvent() {
-        return readBackwards(LegacyMysqlEventPosition.fromLegacyVersion(Long.MAX_VALUE), 1).findFirst();
+        return readBackwards(LegacyMysqlEventPosition.fromLegacyVersion(Long.MAX_VALUE), PageSize.fixed(1)).findFirst();
     }
 
     @Nonnull
     @CheckReturnValue
     @Override
     public Stream<ResolvedEvent> readAllBackwards(Position positionExclusive) {
-        return readBackwards((LegacyMysqlEventPosition) positionExclusive, this.batchSize);
+        return readBackwards((LegacyMysqlEventPosition) positionExclusive, pageSize);
     }
 
     @Nonnull
@@ -196,15 +202,15 @@ public final class LegacyMysqlEventReader implements EventReader, EventStreamRea
         return "LegacyMysqlEventReader{" +
                 "tableName='" + tableName + '\'' +
                 ", pretendStreamId=" + pretendStreamId +
-                ", batchSize=" + batchSize +
+                ", pageSize=" + pageSize +
                 '}';
     }
 
-    private Stream<ResolvedEvent> readBackwards(LegacyMysqlEventPosition positionExclusive, int theBatchSize) {
+    private Stream<ResolvedEvent> readBackwards(LegacyMysqlEventPosition positionExclusive, PageSize thePageSize) {
         return stream(
                 new LegacyMysqlEventSpliterator(
                         connectionProvider,
-                        theBatchSize,
+                        thePageSize,
                         tableName,
                         pretendStreamId,
                         positionExclusive,
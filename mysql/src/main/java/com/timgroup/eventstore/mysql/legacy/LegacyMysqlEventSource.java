@@ -9,6 +9,7 @@ import com.timgroup.eventstore.api.EventStreamReader;
 import com.timgroup.eventstore.api.EventStreamWriter;
 import com.timgroup.eventstore.api.StreamId;
 import com.timgroup.eventstore.mysql.ConnectionProvider;
+import com.timgroup.eventstore.mysql.PageSizing;
 import com.timgroup.eventstore.mysql.StacksConfiguredDataSource;
 import com.timgroup.tucker.info.Component;
 import com.timgroup.tucker.info.component.DatabaseConnectionComponent;
@@ -44,11 +45,23 @@ public class LegacyMysqlEventSource implements EventSource {
      */
     @Deprecated
     public LegacyMysqlEventSource(ConnectionProvider connectionProvider, String tableName, StreamId pretendStreamId, int batchSize, String name, @Nullable MetricRegistry metricRegistry) {
+        this(connectionProvider, tableName, pretendStreamId, PageSizing.fixed(batchSize), name, metricRegistry);
+    }
+
+    /**
+     * Reads pages sized by {@code pageSizing}, such as {@link PageSizing#adaptive} to size pages by the bytes and
+     * latency of the events being read rather than always asking for the same number of rows.
+     */
+    public LegacyMysqlEventSource(ConnectionProvider connectionProvider, String tableName, StreamId pretendStreamId, PageSizing pageSizing, String name) {
+        this(connectionProvider, tableName, pretendStreamId, pageSizing, name, null);
+    }
+
+    private LegacyMysqlEventSource(ConnectionProvider connectionProvider, String tableName, StreamId pretendStreamId, PageSizing pageSizing, String name, @Nullable MetricRegistry metricRegistry) {
         this.connectionProvider = connectionProvider;
         this.tableName = tableName;
         this.name = name;
         String database = databaseName(connectionProvider);
-        this.eventReader = new LegacyMysqlEventReader(connectionProvider, database, tableName, pretendStreamId, batchSize, metricRegistry);
+        this.eventReader = new LegacyMysqlEventReader(connectionProvider, database, tableName, pretendStreamId, pageSizing, metricRegistry);
         this.eventStreamWriter = new LegacyMysqlEventStreamWriter(connectionProvider, database, tableName, pretendStreamId, metricRegistry);
     }
 
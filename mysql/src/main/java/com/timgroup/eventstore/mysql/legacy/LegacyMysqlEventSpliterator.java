@@ -3,12 +3,13 @@ package com.timgroup.eventstore.mysql.legacy;
 import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
 import com.timgroup.eventstore.mysql.ConnectionProvider;
+import com.timgroup.eventstore.mysql.PageSize;
 import com.timgroup.eventstore.mysql.Timer;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,48 +26,57 @@ final class LegacyMysqlEventSpliterator implements Spliterator<ResolvedEvent> {
     private final ConnectionProvider connectionProvider;
     private final StreamId pretendStreamId;
     private final String queryString;
+    private final PageSize pageSize;
 
     private LegacyMysqlEventPosition lastPosition;
     private final Timer timer;
     private Iterator<ResolvedEvent> currentPage = Collections.emptyIterator();
     private boolean streamExhausted = false;
 
-    LegacyMysqlEventSpliterator(ConnectionProvider connectionProvider, int batchSize, String tableName, StreamId pretendStreamId, LegacyMysqlEventPosition startingPosition, boolean backwards, Timer timer) {
+    LegacyMysqlEventSpliterator(ConnectionProvider connectionProvider, PageSize pageSize, String tableName, StreamId pretendStreamId, LegacyMysqlEventPosition startingPosition, boolean backwards, Timer timer) {
         this.connectionProvider = connectionProvider;
+        this.pageSize = pageSize;
         this.pretendStreamId = pretendStreamId;
         this.lastPosition = startingPosition;
         this.timer = timer;
         this.queryString = "select version, effective_timestamp, eventType, body" +
                 " from " + tableName +
-                " where version " + (backwards ? "<" : ">") + " %s" +
+                " where version " + (backwards ? "<" : ">") + " ?" +
                 " order by version " + (backwards ? "desc" : "asc") +
-                " limit " + batchSize;
+                " limit ?";
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
         if (!currentPage.hasNext() && !streamExhausted) {
+            int limit = pageSize.rows();
             timer.time(() -> {
+                long start = System.nanoTime();
                 try (Connection connection = connectionProvider.getConnection();
-                     Statement statement = streamingStatementFrom(connection);
-                     ResultSet resultSet = statement.executeQuery(String.format(queryString, lastPosition.legacyVersion))
+                     PreparedStatement statement = streamingStatementFrom(connection, queryString, lastPosition.legacyVersion, limit);
+                     ResultSet resultSet = statement.executeQuery()
                 ) {
                     List<ResolvedEvent> list = new ArrayList<>();
+                    long columnBytes = 0;
 
                     while (resultSet.next()) {
                         LegacyMysqlEventPosition position = LegacyMysqlEventPosition.fromLegacyVersion(resultSet.getLong("version"));
                         Timestamp effectiveTimestamp = resultSet.getTimestamp("effective_timestamp");
+                        String eventType = resultSet.getString("eventType");
+                        byte[] body = resultSet.getBytes("body");
+                        columnBytes += eventType.length() + body.length;
                         list.add(new ResolvedEvent(
                                 position,
                                 eventRecord(
                                         effectiveTimestamp.toInstant(),
                                         pretendStreamId,
                                         position.toEventNumber(),
-                                        resultSet.getString("eventType"),
-                                        resultSet.getBytes("body"),
+                                        eventType,
+                                        body,
                                         LegacyMysqlMetadataCodec.metadataFrom(effectiveTimestamp)
                                 )));
                     }
+                    pageSize.pageFetched(limit, list.size(), columnBytes, System.nanoTime() - start);
                     currentPage = list.iterator();
                 } catch (SQLException e) {
                     throw new RuntimeException(e);
@@ -100,9 +110,11 @@ final class LegacyMysqlEventSpliterator implements Spliterator<ResolvedEvent> {
         return ORDERED | NONNULL | DISTINCT;
     }
 
-    private static Statement streamingStatementFrom(Connection connection) throws SQLException {
-        Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    private static PreparedStatement streamingStatementFrom(Connection connection, String queryString, long lastVersion, int limit) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(queryString, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
         statement.setFetchSize(MIN_VALUE);
+        statement.setLong(1, lastVersion);
+        statement.setInt(2, limit);
         return statement;
     }
 }
@@ -0,0 +1,102 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.typesafe.config.ConfigFactory.parseString;
+import static com.typesafe.config.ConfigParseOptions.defaults;
+import static com.typesafe.config.ConfigSyntax.PROPERTIES;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class AdaptivePageSizeBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "adaptive_page_eventstore";
+
+    private final Config config = parseString(
+            "hostname=localhost\n" +
+                    "port=3306\n" +
+                    "database=sql_eventstore\n" +
+                    "username=\n" +
+                    "password=\n" +
+                    "driver=com.mysql.jdbc.Driver", defaults().setSyntax(PROPERTIES));
+
+    private final BasicMysqlEventSource.PooledMysqlEventSource eventSource = BasicMysqlEventSource.pooledMasterDbEventSource(config, tableName, "adaptive", 100).withAdaptivePageSize(1024, Duration.ofSeconds(1));
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void reads_all_events_in_order_with_pages_shrunk_to_the_target_bytes() {
+        StreamId stream = streamId(randomCategory(), "large");
+        List<NewEvent> events = asList(
+                newEvent("type-1", new byte[600]),
+                newEvent("type-2", new byte[600]),
+                newEvent("type-3", new byte[600]),
+                newEvent("type-4", new byte[600]),
+                newEvent("type-5", new byte[600]));
+        eventSource.writeStream().write(stream, events);
+
+        List<String> eventTypes = eventSource.readAll().readAllForwards()
+                .map(event -> event.eventRecord().eventType())
+                .collect(toList());
+
+        assertThat(eventTypes, contains("type-1", "type-2", "type-3", "type-4", "type-5"));
+        assertThat(gauge("tg_eventstore_page_size_rows"), is(1.0));
+    }
+
+    @Test
+    public void reports_bytes_in_the_last_page() {
+        eventSource.writeStream().write(streamId(randomCategory(), "small"), asList(newEvent("type-1", new byte[10])));
+
+        eventSource.readAll().readAllForwards().collect(toList());
+
+        assertThat(gauge("tg_eventstore_page_size_bytes"), is(notNullValue()));
+    }
+
+    private Double gauge(String name) {
+        return CollectorRegistry.defaultRegistry.getSampleValue(name,
+                new String[]{"database", "table", "read_type"},
+                new String[]{"sql_eventstore", tableName, "read_all"});
+    }
+
+    @After
+    public void closeEventSource() {
+        eventSource.close();
+    }
+}
@@ -11,15 +11,23 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
 
@@ -78,4 +86,53 @@ public class BasicMysqlEventReaderTest {
         SortedMap<String, Timer> expectedMetric = metricRegistry.getTimers((name, metric) -> name.equals("database.sql_eventstore." + TABLE_NAME + ".read_all.page_fetch_time"));
         assertThat(expectedMetric.keySet(), hasSize(0));
     }
+
+    @Test
+    public void reads_all_events_in_order_when_split_across_parallel_ranges() throws Exception {
+        insertEventsUpTo(100);
+
+        BasicMysqlEventReader eventReader = new BasicMysqlEventReader(connectionProvider, "sql_eventstore", TABLE_NAME, 5, null);
+        List<Long> positions = eventReader.readAllForwards().parallel()
+                .map(event -> ((BasicMysqlEventStorePosition) event.position()).value)
+                .collect(toList());
+
+        assertThat(positions, contains(LongStream.rangeClosed(1, 100).boxed().toArray()));
+    }
+
+    @Test
+    public void splits_reads_of_the_whole_store_into_disjoint_ranges() throws Exception {
+        insertEventsUpTo(100);
+
+        BasicMysqlEventReader eventReader = new BasicMysqlEventReader(connectionProvider, "sql_eventstore", TABLE_NAME, 5, null);
+        try (Stream<ResolvedEvent> events = eventReader.readAllForwards()) {
+            Spliterator<ResolvedEvent> upper = events.spliterator();
+            Spliterator<ResolvedEvent> lower = upper.trySplit();
+            assertThat(lower, is(notNullValue()));
+
+            List<Long> lowerPositions = new ArrayList<>();
+            lower.forEachRemaining(event -> lowerPositions.add(((BasicMysqlEventStorePosition) event.position()).value));
+            List<Long> upperPositions = new ArrayList<>();
+            upper.forEachRemaining(event -> upperPositions.add(((BasicMysqlEventStorePosition) event.position()).value));
+
+            assertThat(lowerPositions, is(not(empty())));
+            assertThat(upperPositions, is(not(empty())));
+            assertThat(lowerPositions.get(lowerPositions.size() - 1), is(lessThan(upperPositions.get(0))));
+
+            List<Long> positions = new ArrayList<>(lowerPositions);
+            positions.addAll(upperPositions);
+            assertThat(positions, contains(LongStream.rangeClosed(1, 100).boxed().toArray()));
+        }
+    }
+
+    private void insertEventsUpTo(int lastPosition) throws SQLException {
+        try (Connection conn = connectionProvider.getConnection()) {
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                for (int position = 2; position <= lastPosition; position++) {
+                    stmt.executeUpdate("insert into " + TABLE_NAME + "(position, timestamp, stream_category, stream_id, event_number, event_type, data, metadata)" +
+                            " values(" + position + ", '2020-05-27 17:15:00', 'test', 'test', " + (position - 1) + ", 'test', '{}', '{}')");
+                }
+            }
+        }
+    }
 }
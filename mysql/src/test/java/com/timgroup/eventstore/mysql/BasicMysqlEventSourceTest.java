@@ -2,9 +2,13 @@ package com.timgroup.eventstore.mysql;
 
 import com.codahale.metrics.MetricRegistry;
 import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.EventStreamWriter;
 import com.timgroup.eventstore.api.JavaEventStoreTest;
 import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteResult;
 import com.timgroup.tucker.info.Component;
 import com.typesafe.config.Config;
 import org.hamcrest.core.StringContains;
@@ -14,8 +18,13 @@ import org.junit.Test;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.timgroup.eventstore.api.NewEvent.newEvent;
 import static com.timgroup.eventstore.api.StreamId.streamId;
@@ -24,7 +33,9 @@ import static com.typesafe.config.ConfigParseOptions.defaults;
 import static com.typesafe.config.ConfigSyntax.PROPERTIES;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.core.StringContains.containsString;
 
 public class BasicMysqlEventSourceTest extends JavaEventStoreTest {
@@ -77,6 +88,95 @@ public class BasicMysqlEventSourceTest extends JavaEventStoreTest {
                 containsString("jdbc:mysql://localhost:3306/sql_eventstore"));
     }
 
+    @Test
+    public void checks_expected_versions_of_more_streams_than_fit_in_one_version_query() {
+        String category = randomCategory();
+        List<EventStreamWriter.StreamWriteRequest> firstWrites = new ArrayList<>();
+        List<EventStreamWriter.StreamWriteRequest> secondWrites = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            StreamId stream = streamId(category, "stream-" + i);
+            firstWrites.add(new EventStreamWriter.StreamWriteRequest(stream, singleton(newEvent("type-A", randomData())), OptionalLong.of(-1)));
+            secondWrites.add(new EventStreamWriter.StreamWriteRequest(stream, singleton(newEvent("type-B", randomData())), OptionalLong.of(0)));
+        }
+
+        eventSource().writeStream().execute(firstWrites);
+        eventSource().writeStream().execute(secondWrites);
+
+        assertThat(eventSource().readStream().readStreamForwards(streamId(category, "stream-249")).count(), is(2L));
+    }
+
+    @Test
+    public void async_writes_complete_with_the_positions_they_were_written_at() {
+        StreamId stream = streamId(randomCategory(), "async");
+
+        WriteResult result = eventSource.writeStreamAsync().write(stream, asList(newEvent("type-A", randomData()), newEvent("type-B", randomData())), -1).join();
+
+        List<Position> positionsRead = eventSource.readStream().readStreamForwards(stream).map(ResolvedEvent::position).collect(toList());
+        assertThat(result.events().stream().map(WriteResult.WrittenEvent::position).collect(toList()), is(positionsRead));
+        assertThat(result.streamVersions().get(stream), is(1L));
+    }
+
+    @Test
+    public void reads_categories_and_streams_whose_names_contain_quotes() {
+        StreamId stream = streamId("it's-" + randomCategory(), "o'brien");
+        eventSource.writeStream().write(stream, singleton(newEvent("type-A", randomData())));
+
+        assertThat(eventSource.readStream().readStreamForwards(stream).count(), is(1L));
+        assertThat(eventSource.readCategory().readCategoryForwards(stream.category()).count(), is(1L));
+    }
+
+    @Test
+    public void merges_categories_read_a_page_at_a_time_in_position_order() {
+        String categoryA = randomCategory();
+        String categoryB = randomCategory();
+        for (int i = 0; i < 3; i++) {
+            eventSource.writeStream().write(streamId(categoryA, "a"), singleton(newEvent("type-A", randomData())));
+            eventSource.writeStream().write(streamId(categoryB, "b"), asList(newEvent("type-B", randomData()), newEvent("type-B", randomData())));
+        }
+
+        BasicMysqlEventCategoryReader reader = new BasicMysqlEventCategoryReader(connectionProvider, "sql_eventstore", tableName, 1, null);
+        List<Position> positions = reader.readCategoriesForwards(asList(categoryA, categoryB), BasicMysqlEventStorePosition.EMPTY_STORE_POSITION)
+                .map(ResolvedEvent::position)
+                .collect(toList());
+
+        List<Position> sorted = new ArrayList<>(positions);
+        sorted.sort(BasicMysqlEventStorePosition.CODEC::comparePositions);
+        assertThat(positions.size(), is(9));
+        assertThat(positions, is(sorted));
+    }
+
+    @Test
+    public void reads_a_short_stream_from_the_start_with_a_single_query() {
+        StreamId stream = streamId(randomCategory(), "aggregate");
+        eventSource.writeStream().write(stream, asList(newEvent("type-A", randomData()), newEvent("type-B", randomData())));
+
+        AtomicInteger connectionsUsed = new AtomicInteger();
+        BasicMysqlEventStreamReader reader = new BasicMysqlEventStreamReader(() -> {
+            connectionsUsed.incrementAndGet();
+            return connectionProvider.getConnection();
+        }, "sql_eventstore", tableName, 100, null);
+
+        assertThat(reader.readStreamForwards(stream).count(), is(2L));
+        assertThat(connectionsUsed.get(), is(1));
+    }
+
+    @Test
+    public void reuses_head_positions_until_the_cache_time_to_live_has_passed() {
+        String category = randomCategory();
+        eventSource.writeStream().write(streamId(category, "a"), singleton(newEvent("type-A", randomData())));
+
+        BasicMysqlEventSource cachingSource = eventSource.withHeadPositionCache(Duration.ofHours(1));
+        Position storeHead = cachingSource.readAll().headPosition();
+        Position categoryHead = cachingSource.readCategory().headPositionOfCategory(category);
+
+        eventSource.writeStream().write(streamId(category, "a"), singleton(newEvent("type-A", randomData())));
+
+        assertThat(cachingSource.readAll().headPosition(), is(storeHead));
+        assertThat(cachingSource.readCategory().headPositionOfCategory(category), is(categoryHead));
+        assertThat(eventSource.readAll().headPosition(), is(eventSource.readAll().readLastEvent().get().position()));
+        assertThat(eventSource.readCategory().headPositionOfCategory(category), is(eventSource.readCategory().readLastEventInCategory(category).get().position()));
+    }
+
     @After
     public void closeEventSource() {
         ((BasicMysqlEventSource.PooledMysqlEventSource)eventSource).close();
@@ -1,9 +1,23 @@
 package com.timgroup.eventstore.mysql;
 
+import com.codahale.metrics.MetricRegistry;
+import com.timgroup.eventstore.api.NewEvent;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
 import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
 
 public class BasicMysqlEventStreamWriterTest {
     @Test public void
@@ -13,4 +27,57 @@ public class BasicMysqlEventStreamWriterTest {
         writer.write(streamId("", ""), emptyList());
         writer.write(streamId("", ""), emptyList(), 5);
     }
-}
\ No newline at end of file
+
+    @Test public void
+    writes_events_in_multiple_chunks_when_they_exceed_the_chunk_budget() {
+        ConnectionProvider connectionProvider = TestConnectionProvider.create();
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, "chunked_eventstore");
+        setup.drop();
+        setup.lazyCreate();
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        BasicMysqlEventStreamWriter writer = new BasicMysqlEventStreamWriter(connectionProvider, "sql_eventstore", "chunked_eventstore", metricRegistry,
+                WriterOptions.DEFAULT.withWriteChunkBytes(1000));
+
+        List<NewEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(newEvent("type-" + i, "{\"padding\":\"0123456789012345678901234567890123456789\"}".getBytes(UTF_8)));
+        }
+        writer.write(streamId("chunked", "stream"), events);
+
+        List<String> eventTypes = new BasicMysqlEventReader(connectionProvider, "sql_eventstore", "chunked_eventstore", 100, null)
+                .readAllForwards()
+                .map(event -> event.eventRecord().eventType())
+                .collect(toList());
+
+        assertThat(eventTypes, contains(IntStream.range(0, 20).mapToObj(i -> "type-" + i).toArray()));
+        assertThat(metricRegistry.histogram("database.sql_eventstore.chunked_eventstore.write.count").getCount(), is(1L));
+        assertThat(metricRegistry.histogram("database.sql_eventstore.chunked_eventstore.write.chunk.count").getCount(), is(greaterThan(1L)));
+    }
+
+    @Test public void
+    keeps_chunks_below_max_allowed_packet_when_the_chunk_budget_is_larger() {
+        ConnectionProvider connectionProvider = TestConnectionProvider.create();
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, "chunked_eventstore");
+        setup.drop();
+        setup.lazyCreate();
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        BasicMysqlEventStreamWriter writer = new BasicMysqlEventStreamWriter(connectionProvider, "sql_eventstore", "chunked_eventstore", metricRegistry,
+                WriterOptions.DEFAULT.withWriteChunkBytes(1024 * 1024)) {
+            @Override
+            long maxAllowedPacket(Connection connection) {
+                return 4096;
+            }
+        };
+
+        List<NewEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(newEvent("type-" + i, "{\"padding\":\"0123456789012345678901234567890123456789\"}".getBytes(UTF_8)));
+        }
+        writer.write(streamId("chunked", "stream"), events);
+
+        assertThat(new BasicMysqlEventReader(connectionProvider, "sql_eventstore", "chunked_eventstore", 100, null).readAllForwards().count(), is(20L));
+        assertThat(metricRegistry.histogram("database.sql_eventstore.chunked_eventstore.write.chunk.count").getCount(), is(greaterThan(1L)));
+    }
+}
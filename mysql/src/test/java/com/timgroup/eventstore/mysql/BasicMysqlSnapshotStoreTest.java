@@ -0,0 +1,34 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.SnapshotStore;
+import com.timgroup.eventstore.api.SnapshotStoreTest;
+import org.junit.Before;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+public class BasicMysqlSnapshotStoreTest extends SnapshotStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "snapshot_eventstore";
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+        setup.lazyCreateSnapshots();
+    }
+
+    @Override
+    public SnapshotStore snapshotStore() {
+        return new BasicMysqlEventSource(connectionProvider, tableName).snapshots();
+    }
+}
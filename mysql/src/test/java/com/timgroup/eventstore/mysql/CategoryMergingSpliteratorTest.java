@@ -0,0 +1,90 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.ResolvedEvent;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+import static com.timgroup.eventstore.api.EventRecord.eventRecord;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class CategoryMergingSpliteratorTest {
+
+    @Test
+    public void merges_categories_in_position_order() {
+        CategoryMergingSpliterator merged = new CategoryMergingSpliterator(() -> Arrays.asList(
+                category("a", 1, 4, 5),
+                category("b", 2, 6),
+                category("c", 3, 7, 8)));
+
+        assertThat(positions(merged), contains(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L));
+    }
+
+    @Test
+    public void reads_from_each_category_only_as_far_as_the_events_delivered() {
+        AtomicInteger eventsReadFromA = new AtomicInteger();
+        Spliterator<ResolvedEvent> a = counting(category("a", 1, 2, 3, 4, 10, 11), eventsReadFromA);
+        CategoryMergingSpliterator merged = new CategoryMergingSpliterator(() -> Arrays.asList(a, category("b", 5, 6)));
+
+        List<Long> firstThree = StreamSupport.stream(merged, false).limit(3).map(CategoryMergingSpliteratorTest::position).collect(toList());
+
+        assertThat(firstThree, contains(1L, 2L, 3L));
+        assertThat(eventsReadFromA.get(), is(4));
+    }
+
+    @Test
+    public void does_not_open_cursors_until_first_read() {
+        AtomicInteger opened = new AtomicInteger();
+        CategoryMergingSpliterator merged = new CategoryMergingSpliterator(() -> {
+            opened.incrementAndGet();
+            return Collections.singletonList(category("a", 1));
+        });
+
+        assertThat(opened.get(), is(0));
+        assertThat(positions(merged), contains(1L));
+        assertThat(opened.get(), is(1));
+    }
+
+    private static List<Long> positions(Spliterator<ResolvedEvent> spliterator) {
+        return StreamSupport.stream(spliterator, false).map(CategoryMergingSpliteratorTest::position).collect(toList());
+    }
+
+    private static long position(ResolvedEvent event) {
+        return ((BasicMysqlEventStorePosition) event.position()).value;
+    }
+
+    private static Spliterator<ResolvedEvent> category(String category, long... positions) {
+        List<ResolvedEvent> events = new ArrayList<>();
+        for (int i = 0; i < positions.length; i++) {
+            events.add(new ResolvedEvent(
+                    new BasicMysqlEventStorePosition(positions[i]),
+                    eventRecord(Instant.EPOCH, streamId(category, "id"), i, "Something", new byte[0], new byte[0])));
+        }
+        return events.spliterator();
+    }
+
+    private static Spliterator<ResolvedEvent> counting(Spliterator<ResolvedEvent> underlying, AtomicInteger count) {
+        return new Spliterators.AbstractSpliterator<ResolvedEvent>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super ResolvedEvent> action) {
+                return underlying.tryAdvance(event -> {
+                    count.incrementAndGet();
+                    action.accept(event);
+                });
+            }
+        };
+    }
+}
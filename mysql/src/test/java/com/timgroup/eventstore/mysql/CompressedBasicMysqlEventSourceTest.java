@@ -0,0 +1,96 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.MetricRegistry;
+import com.timgroup.eventstore.api.EventRecord;
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class CompressedBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "compressed_eventstore";
+
+    private final BasicMysqlEventSource uncompressedSource = new BasicMysqlEventSource(connectionProvider, tableName, 100, "test");
+    private final BasicMysqlEventSource eventSource = uncompressedSource.withCompression(PayloadCompression.deflate(1, 0));
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void reads_events_written_before_compression_was_turned_on() {
+        StreamId stream = streamId(randomCategory(), "mixed");
+        byte[] data = repeat("{\"field\":\"value\"}", 50);
+        uncompressedSource.writeStream().write(stream, asList(newEvent("Plain", data, data)));
+        eventSource.writeStream().write(stream, asList(newEvent("Compressed", data, data)));
+
+        List<EventRecord> events = eventSource.readStream().readStreamForwards(stream).map(ResolvedEvent::eventRecord).collect(toList());
+        assertThat(events.stream().map(EventRecord::data).collect(toList()), contains(data, data));
+        assertThat(events.stream().map(EventRecord::metadata).collect(toList()), contains(data, data));
+    }
+
+    @Test
+    public void sources_without_compression_read_values_that_look_compressed_as_stored() {
+        StreamId stream = streamId(randomCategory(), "raw");
+        byte[] data = { 0x00, 0x65, 0x7A, 0x01, 0x00, 0x00, 0x00, 0x20, 0x01, 0x02, 0x03 };
+        uncompressedSource.writeStream().write(stream, asList(newEvent("Plain", data, data)));
+
+        EventRecord event = uncompressedSource.readStream().readStreamForwards(stream).map(ResolvedEvent::eventRecord).findFirst().get();
+        assertThat(event.data(), is(data));
+        assertThat(event.metadata(), is(data));
+    }
+
+    @Test
+    public void reports_the_ratio_of_stored_to_raw_bytes() {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        BasicMysqlEventStreamWriter writer = new BasicMysqlEventStreamWriter(connectionProvider, "sql_eventstore", tableName, metricRegistry,
+                WriterOptions.DEFAULT.withCompression(PayloadCompression.deflate(1, 0)));
+        writer.write(streamId(randomCategory(), "ratio"), asList(newEvent("Compressed", repeat("{\"field\":\"value\"}", 50), new byte[0])));
+
+        long raw = metricRegistry.counter("database.sql_eventstore." + tableName + ".write.payload.raw_bytes").getCount();
+        long stored = metricRegistry.counter("database.sql_eventstore." + tableName + ".write.payload.stored_bytes").getCount();
+        assertThat(raw, greaterThan(stored * 5));
+        assertThat(metricRegistry.getGauges().get("database.sql_eventstore." + tableName + ".write.payload.compression_ratio").getValue(), is((double) stored / raw));
+    }
+
+    private static byte[] repeat(String value, int times) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            result.append(value);
+        }
+        return result.toString().getBytes(UTF_8);
+    }
+}
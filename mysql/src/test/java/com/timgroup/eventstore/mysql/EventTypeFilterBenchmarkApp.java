@@ -0,0 +1,90 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventReader;
+import com.timgroup.eventstore.api.NewEvent;
+import com.typesafe.config.Config;
+
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.typesafe.config.ConfigFactory.parseString;
+import static com.typesafe.config.ConfigParseOptions.defaults;
+import static com.typesafe.config.ConfigSyntax.PROPERTIES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Compares reading one event type in twenty from a local database by discarding the others in Java and by filtering
+ * them out in the query, with and without the event type index.
+ */
+public class EventTypeFilterBenchmarkApp {
+    private static final String TABLE_NAME = "event_type_filter_benchmark";
+    private static final int EVENT_TYPES = 20;
+    private static final int EVENTS = 200_000;
+    private static final int ROUNDS = 5;
+    private static final Set<String> WANTED = singleton("Type-7");
+
+    public static void main(String[] args) throws Exception {
+        DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(TestConnectionProvider.create(), TABLE_NAME);
+        populate(setup);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            run("client-side", false);
+            run("pushed-down", true);
+        }
+
+        setup.lazyCreateEventTypeIndex();
+        for (int round = 0; round < ROUNDS; round++) {
+            run("indexed", true);
+        }
+    }
+
+    private static void populate(BasicMysqlEventStoreSetup setup) {
+        setup.drop();
+        setup.create();
+
+        BasicMysqlEventStreamWriter writer = new BasicMysqlEventStreamWriter(TestConnectionProvider.create(), "sql_eventstore", TABLE_NAME, null);
+        for (int written = 0; written < EVENTS; ) {
+            List<NewEvent> events = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                events.add(newEvent("Type-" + (written + i) % EVENT_TYPES, ("{\"n\":" + (written + i) + "}").getBytes(UTF_8)));
+            }
+            writer.write(streamId("category", "stream-" + written), events);
+            written += events.size();
+        }
+    }
+
+    private static void run(String label, boolean pushDown) {
+        Config config = parseString(
+                "hostname=localhost\n" +
+                        "port=3306\n" +
+                        "database=sql_eventstore\n" +
+                        "username=\n" +
+                        "password=\n" +
+                        "driver=com.mysql.jdbc.Driver", defaults().setSyntax(PROPERTIES));
+
+        try (BasicMysqlEventSource.PooledMysqlEventSource eventSource = BasicMysqlEventSource.pooledMasterDbEventSource(config, TABLE_NAME, "benchmark", 1000)) {
+            EventReader reader = eventSource.readAll();
+            long start = System.nanoTime();
+            long[] shipped = new long[1];
+            long delivered;
+            if (pushDown) {
+                delivered = reader.readAllForwardsOfTypes(reader.emptyStorePosition(), WANTED).peek(event -> shipped[0]++).count();
+            } else {
+                delivered = reader.readAllForwards()
+                        .peek(event -> shipped[0]++)
+                        .filter(event -> WANTED.contains(event.eventRecord().eventType()))
+                        .count();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%-12s shipped=%d delivered=%d total=%dms%n", label, shipped[0], delivered, NANOSECONDS.toMillis(elapsed));
+        }
+    }
+}
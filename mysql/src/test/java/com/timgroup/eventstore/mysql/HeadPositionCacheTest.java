@@ -0,0 +1,65 @@
+package com.timgroup.eventstore.mysql;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HeadPositionCacheTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicLong head = new AtomicLong(10);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    public void queries_every_time_without_a_time_to_live() {
+        HeadPositionCache cache = new HeadPositionCache(Duration.ZERO, nanoTime::get);
+
+        assertThat(cache.storeHead(this::query), is(10L));
+        head.set(11);
+        assertThat(cache.storeHead(this::query), is(11L));
+        assertThat(queries.get(), is(2));
+    }
+
+    @Test
+    public void reuses_store_head_until_it_is_as_old_as_the_time_to_live() {
+        HeadPositionCache cache = new HeadPositionCache(Duration.ofSeconds(5), nanoTime::get);
+
+        assertThat(cache.storeHead(this::query), is(10L));
+        head.set(11);
+        nanoTime.addAndGet(SECONDS.toNanos(4));
+        assertThat(cache.storeHead(this::query), is(10L));
+        nanoTime.addAndGet(SECONDS.toNanos(1));
+        assertThat(cache.storeHead(this::query), is(11L));
+        assertThat(queries.get(), is(2));
+    }
+
+    @Test
+    public void caches_each_category_separately_from_the_store() {
+        HeadPositionCache cache = new HeadPositionCache(Duration.ofSeconds(5), nanoTime::get);
+
+        assertThat(cache.storeHead(this::query), is(10L));
+        head.set(3);
+        assertThat(cache.categoryHead("alpha", this::query), is(3L));
+        head.set(7);
+        assertThat(cache.categoryHead("beta", this::query), is(7L));
+
+        assertThat(cache.categoryHead("alpha", this::query), is(3L));
+        assertThat(cache.storeHead(this::query), is(10L));
+        assertThat(queries.get(), is(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_a_negative_time_to_live() {
+        new HeadPositionCache(Duration.ofSeconds(-1), nanoTime::get);
+    }
+
+    private long query() {
+        queries.incrementAndGet();
+        return head.get();
+    }
+}
@@ -0,0 +1,76 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class PageSizeTest {
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Test
+    public void fixed_page_size_never_changes() {
+        PageSize pageSize = PageSize.fixed(100);
+
+        pageSize.pageFetched(100, 100, columnBytes(100, 1_000_000), MILLISECONDS.toNanos(10_000));
+
+        assertThat(pageSize.rows(), is(100));
+    }
+
+    @Test
+    public void doubles_after_a_full_page_of_small_fast_rows_up_to_the_maximum() {
+        PageSize pageSize = PageSizing.adaptive(3000, 1_000_000, Duration.ofSeconds(1)).pageSize("db", "table", "read_all", metricRegistry);
+
+        pageSize.pageFetched(1000, 1000, columnBytes(1000, 10), MILLISECONDS.toNanos(5));
+        assertThat(pageSize.rows(), is(2000));
+
+        pageSize.pageFetched(2000, 2000, columnBytes(2000, 10), MILLISECONDS.toNanos(10));
+        assertThat(pageSize.rows(), is(3000));
+    }
+
+    @Test
+    public void shrinks_to_the_rows_that_fit_in_the_target_bytes() {
+        PageSize pageSize = PageSizing.adaptive(100_000, 10_000_000, Duration.ofSeconds(1)).pageSize("db", "table", "read_all", metricRegistry);
+
+        pageSize.pageFetched(1000, 1000, columnBytes(1000, 1_000_000 - 78), MILLISECONDS.toNanos(5));
+
+        assertThat(pageSize.rows(), is(10));
+    }
+
+    @Test
+    public void shrinks_to_the_rows_that_can_be_fetched_in_the_target_latency() {
+        PageSize pageSize = PageSizing.adaptive(100_000, 1_000_000_000, Duration.ofMillis(100)).pageSize("db", "table", "read_all", metricRegistry);
+
+        pageSize.pageFetched(1000, 1000, columnBytes(1000, 10), MILLISECONDS.toNanos(400));
+
+        assertThat(pageSize.rows(), is(250));
+    }
+
+    @Test
+    public void does_not_judge_latency_or_grow_from_a_short_page() {
+        PageSize pageSize = PageSizing.adaptive(100_000, 1_000_000, Duration.ofMillis(100)).pageSize("db", "table", "read_all", metricRegistry);
+
+        pageSize.pageFetched(1000, 1, columnBytes(1, 10), MILLISECONDS.toNanos(400));
+
+        assertThat(pageSize.rows(), is(1000));
+    }
+
+    @Test
+    public void reports_page_size_and_bytes_per_page_as_gauges() {
+        PageSize pageSize = PageSizing.adaptive(100_000, 1_000_000, Duration.ofSeconds(1)).pageSize("db", "table", "read_all", metricRegistry);
+
+        pageSize.pageFetched(1000, 1000, columnBytes(1000, 22), MILLISECONDS.toNanos(5));
+
+        assertThat(metricRegistry.getGauges().get("database.db.table.read_all.page_size").getValue(), equalTo(2000L));
+        assertThat(metricRegistry.getGauges().get("database.db.table.read_all.page_bytes").getValue(), equalTo(100_000L));
+    }
+
+    private static long columnBytes(int rows, int dataBytes) {
+        return rows * (long) ("cat".length() + "id".length() + "Something".length() + dataBytes);
+    }
+}
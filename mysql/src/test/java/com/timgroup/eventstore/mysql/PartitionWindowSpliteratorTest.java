@@ -0,0 +1,97 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.ResolvedEvent;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
+
+import static com.timgroup.eventstore.api.EventRecord.eventRecord;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+public class PartitionWindowSpliteratorTest {
+    private final List<Long> positions = new ArrayList<>();
+    private final List<String> windowsRead = new ArrayList<>();
+
+    @Test
+    public void reads_each_partition_up_to_its_end() {
+        positions.addAll(asList(1L, 2L, 5L, 9L, 10L, 11L));
+
+        assertThat(read(0, 5), contains(1L, 2L, 5L, 9L, 10L, 11L));
+        assertThat(windowsRead, contains("(0, 4]", "(4, 9]", "(9, 14]"));
+    }
+
+    @Test
+    public void starts_in_the_partition_after_the_position_read_from() {
+        positions.addAll(asList(3L, 4L, 5L, 6L));
+
+        assertThat(read(4, 5), contains(5L, 6L));
+        assertThat(windowsRead, contains("(4, 9]"));
+    }
+
+    @Test
+    public void steps_over_partitions_without_events() {
+        positions.addAll(asList(1L, 17L));
+
+        assertThat(read(0, 5), contains(1L, 17L));
+        assertThat(windowsRead, contains("(0, 4]", "(4, 9]", "(9, 14]", "(14, 19]"));
+    }
+
+    @Test
+    public void picks_up_events_written_beyond_the_head_during_the_read() {
+        positions.add(1L);
+        PartitionWindowSpliterator spliterator = spliterator(0, 5);
+
+        List<Long> read = new ArrayList<>();
+        spliterator.tryAdvance(event -> read.add(position(event)));
+        positions.add(7L);
+        spliterator.forEachRemaining(event -> read.add(position(event)));
+
+        assertThat(read, contains(1L, 7L));
+    }
+
+    @Test
+    public void reads_nothing_from_an_empty_table() {
+        assertThat(read(-1, 5), empty());
+        assertThat(windowsRead, contains("(-1, 4]"));
+    }
+
+    private List<Long> read(long startExclusive, long positionsPerPartition) {
+        return StreamSupport.stream(spliterator(startExclusive, positionsPerPartition), false)
+                .map(PartitionWindowSpliteratorTest::position)
+                .collect(toList());
+    }
+
+    private PartitionWindowSpliterator spliterator(long startExclusive, long positionsPerPartition) {
+        return new PartitionWindowSpliterator(
+                startExclusive,
+                positionsPerPartition,
+                () -> positions.isEmpty() ? -1 : positions.get(positions.size() - 1),
+                this::window);
+    }
+
+    private Spliterator<ResolvedEvent> window(BasicMysqlEventStorePosition positionExclusive, long upperInclusive) {
+        windowsRead.add("(" + positionExclusive.value + ", " + upperInclusive + "]");
+        List<ResolvedEvent> events = new ArrayList<>();
+        for (long position : positions) {
+            if (position > positionExclusive.value && position <= upperInclusive) {
+                events.add(new ResolvedEvent(
+                        new BasicMysqlEventStorePosition(position),
+                        eventRecord(Instant.EPOCH, streamId("category", "id"), position, "Something", new byte[0], new byte[0])));
+            }
+        }
+        return events.spliterator();
+    }
+
+    private static long position(ResolvedEvent event) {
+        return ((BasicMysqlEventStorePosition) event.position()).value;
+    }
+}
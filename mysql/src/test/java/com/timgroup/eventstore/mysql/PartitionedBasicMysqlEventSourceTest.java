@@ -0,0 +1,92 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class PartitionedBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final long POSITIONS_PER_PARTITION = 3;
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "partitioned_eventstore";
+    private final BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+
+    private final BasicMysqlEventSource eventSource = new BasicMysqlEventSource(connectionProvider, tableName, 2, "test")
+            .withReadsByPartition(POSITIONS_PER_PARTITION);
+
+    @Before
+    public void createTables() {
+        setup.drop();
+        setup.lazyCreatePartitioned(POSITIONS_PER_PARTITION);
+        setup.lazyCreatePartitioned(POSITIONS_PER_PARTITION);
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void rolls_over_to_keep_empty_partitions_beyond_the_last_event() {
+        assertThat(setup.rollOverPartitions(POSITIONS_PER_PARTITION, 2), is(2));
+        assertThat(setup.rollOverPartitions(POSITIONS_PER_PARTITION, 2), is(0));
+
+        IntStream.range(0, 7).forEach(i -> eventSource.writeStream().write(streamId("partitioned", "stream"), singletonList(newEvent("type", randomData()))));
+
+        assertThat(setup.rollOverPartitions(POSITIONS_PER_PARTITION, 2), is(2));
+        assertThat(positionsRead(), contains(LongStream.rangeClosed(1, 7).boxed().toArray()));
+    }
+
+    @Test
+    public void reads_events_left_in_the_catch_all_partition() {
+        IntStream.range(0, 10).forEach(i -> eventSource.writeStream().write(streamId("partitioned", "stream"), singletonList(newEvent("type", randomData()))));
+
+        assertThat(positionsRead(), contains(LongStream.rangeClosed(1, 10).boxed().toArray()));
+        assertThat(eventSource.readCategory().readCategoryForwards("partitioned").count(), is(10L));
+
+        setup.rollOverPartitions(POSITIONS_PER_PARTITION, 1);
+
+        assertThat(positionsRead(), contains(LongStream.rangeClosed(1, 10).boxed().toArray()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_to_create_a_position_counter_for_a_partitioned_table() {
+        setup.lazyCreatePositionCounter();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_to_write_to_a_partitioned_table_using_a_position_counter() {
+        eventSource.withPositionCounter().writeStream().write(streamId("partitioned", "stream"), singletonList(newEvent("type", randomData())));
+    }
+
+    private List<Long> positionsRead() {
+        return eventSource.readAll().readAllForwards()
+                .map(ResolvedEvent::position)
+                .map(position -> ((BasicMysqlEventStorePosition) position).value)
+                .collect(toList());
+    }
+}
@@ -0,0 +1,98 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import com.timgroup.eventstore.api.EventCategoryReader;
+import com.timgroup.eventstore.api.EventReader;
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.NewEvent;
+
+import javax.annotation.Nullable;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Compares insert latency, and the latency of reading the last few hundred events of the store and of a category,
+ * between an unpartitioned table and one partitioned by position in a local database. Tail reads from the partitioned
+ * table are measured both as plain reads and with reads by partition.
+ */
+public class PartitionedTableBenchmarkApp {
+    private static final String TABLE_NAME = "partitioned_table_benchmark";
+    private static final int EVENTS = 500_000;
+    private static final int EVENTS_PER_WRITE = 100;
+    private static final long POSITIONS_PER_PARTITION = 50_000;
+    private static final int CATEGORIES = 10;
+    private static final int TAIL_EVENTS = 500;
+    private static final int TAIL_READS = 200;
+
+    public static void main(String[] args) throws Exception {
+        DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        ConnectionProvider connectionProvider = TestConnectionProvider.create();
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, TABLE_NAME);
+        BasicMysqlEventSource eventSource = new BasicMysqlEventSource(connectionProvider, TABLE_NAME, 1000, "benchmark");
+
+        setup.drop();
+        setup.create();
+        populate("unpartitioned", eventSource.writeStream(), null);
+        tailReads("unpartitioned", eventSource);
+
+        setup.drop();
+        setup.lazyCreatePartitioned(POSITIONS_PER_PARTITION);
+        populate("partitioned", eventSource.writeStream(), setup);
+        tailReads("partitioned", eventSource);
+        tailReads("partitioned, reads by partition", eventSource.withReadsByPartition(POSITIONS_PER_PARTITION));
+    }
+
+    private static void populate(String label, EventStreamWriter writer, @Nullable BasicMysqlEventStoreSetup partitionedSetup) {
+        Histogram latency = new Histogram(new UniformReservoir());
+        for (int written = 0; written < EVENTS; written += EVENTS_PER_WRITE) {
+            if (partitionedSetup != null && written % POSITIONS_PER_PARTITION == 0) {
+                partitionedSetup.rollOverPartitions(POSITIONS_PER_PARTITION, 1);
+            }
+            List<NewEvent> events = new ArrayList<>();
+            for (int i = 0; i < EVENTS_PER_WRITE; i++) {
+                events.add(newEvent("Benchmarked", ("{\"n\":" + (written + i) + "}").getBytes(UTF_8)));
+            }
+            long start = System.nanoTime();
+            writer.write(streamId("category-" + (written / EVENTS_PER_WRITE) % CATEGORIES, "stream-" + written), events);
+            latency.update(System.nanoTime() - start);
+        }
+        print(label, "insert " + EVENTS_PER_WRITE + " events", latency.getSnapshot());
+    }
+
+    private static void tailReads(String label, BasicMysqlEventSource eventSource) {
+        EventReader reader = eventSource.readAll();
+        EventCategoryReader categoryReader = eventSource.readCategory();
+        BasicMysqlEventStorePosition tailStart = new BasicMysqlEventStorePosition(EVENTS - TAIL_EVENTS);
+
+        Histogram storeLatency = new Histogram(new UniformReservoir());
+        Histogram categoryLatency = new Histogram(new UniformReservoir());
+        for (int i = 0; i < TAIL_READS; i++) {
+            long start = System.nanoTime();
+            reader.readAllForwards(tailStart).count();
+            storeLatency.update(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            categoryReader.readCategoryForwards("category-" + i % CATEGORIES, tailStart).count();
+            categoryLatency.update(System.nanoTime() - start);
+        }
+        print(label, "tail read of store", storeLatency.getSnapshot());
+        print(label, "tail read of category", categoryLatency.getSnapshot());
+    }
+
+    private static void print(String label, String operation, Snapshot snapshot) {
+        double nanosPerMilli = MILLISECONDS.toNanos(1);
+        System.out.printf("%-32s %-24s p50=%.2fms p99=%.2fms max=%.2fms%n",
+                label, operation,
+                snapshot.getMedian() / nanosPerMilli,
+                snapshot.get99thPercentile() / nanosPerMilli,
+                snapshot.getMax() / nanosPerMilli);
+    }
+}
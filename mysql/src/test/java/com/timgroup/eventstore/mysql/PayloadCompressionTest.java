@@ -0,0 +1,68 @@
+package com.timgroup.eventstore.mysql;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PayloadCompressionTest {
+    private final PayloadCompression compression = PayloadCompression.deflate(1, 16);
+
+    @Test
+    public void compresses_repetitive_data_behind_a_header() {
+        byte[] raw = json(100);
+
+        byte[] stored = compression.compress(raw);
+
+        assertThat(stored.length, lessThan(raw.length / 5));
+        assertThat(PayloadCompression.hasHeader(stored), is(true));
+        assertThat(PayloadCompression.decompress(stored), is(raw));
+    }
+
+    @Test
+    public void leaves_values_below_the_minimum_size_unchanged() {
+        byte[] raw = "{\"a\":1}".getBytes(UTF_8);
+
+        assertThat(compression.compress(raw), sameInstance(raw));
+        assertThat(PayloadCompression.decompress(raw), sameInstance(raw));
+    }
+
+    @Test
+    public void leaves_values_that_do_not_get_smaller_unchanged() {
+        byte[] raw = new byte[1000];
+        new Random(42).nextBytes(raw);
+        raw[0] = 1;
+
+        assertThat(compression.compress(raw), sameInstance(raw));
+    }
+
+    @Test
+    public void stores_values_that_look_like_a_header_behind_one() {
+        byte[] raw = { 0x00, 0x65, 0x7A, 0x01, 0x00, 0x00, 0x00, 0x02, 0x03 };
+
+        byte[] stored = compression.compress(raw);
+
+        assertThat(stored.length, is(raw.length + 8));
+        assertThat(PayloadCompression.decompress(stored), is(raw));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejects_values_with_header_bytes_that_do_not_decompress() {
+        byte[] raw = { 0x00, 0x65, 0x7A, 0x01, 0x00, 0x00, 0x00, 0x20, 0x01, 0x02, 0x03 };
+
+        PayloadCompression.decompress(raw);
+    }
+
+    private static byte[] json(int items) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"type\":\"Something\",\"count\":").append(i).append(",\"valid\":true}");
+        }
+        return json.append("]").toString().getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class PositionCounterBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "position_counter_eventstore";
+
+    private final BasicMysqlEventSource eventSource = new BasicMysqlEventSource(connectionProvider, tableName).withPositionCounter();
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+        setup.lazyCreatePositionCounter();
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void concurrent_writers_are_given_contiguous_positions() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int writer = 0; writer < 8; writer++) {
+                String streamName = "writer-" + writer;
+                writes.add(executor.submit(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        eventSource.writeStream().write(streamId("counter", streamName), asList(newEvent("type", randomData()), newEvent("type", randomData())));
+                    }
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> positions = eventSource.readAll().readAllForwards()
+                .map(ResolvedEvent::position)
+                .map(position -> ((BasicMysqlEventStorePosition) position).value)
+                .collect(toList());
+
+        assertThat(positions, contains(LongStream.rangeClosed(1, 160).boxed().toArray()));
+    }
+
+    @Test
+    public void continues_from_positions_written_without_the_counter() {
+        new BasicMysqlEventSource(connectionProvider, tableName).writeStream().write(streamId("counter", "uncounted"), asList(newEvent("type", randomData())));
+        eventSource.writeStream().write(streamId("counter", "counted"), asList(newEvent("type", randomData())));
+        new BasicMysqlEventSource(connectionProvider, tableName).writeStream().write(streamId("counter", "uncounted"), asList(newEvent("type", randomData())));
+        eventSource.writeStream().write(streamId("counter", "counted"), asList(newEvent("type", randomData())));
+
+        List<String> streams = eventSource.readAll().readAllForwards()
+                .map(event -> event.eventRecord().streamId().id())
+                .collect(toList());
+
+        assertThat(streams, contains("uncounted", "counted", "uncounted", "counted"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.typesafe.config.ConfigFactory.parseString;
+import static com.typesafe.config.ConfigParseOptions.defaults;
+import static com.typesafe.config.ConfigSyntax.PROPERTIES;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class PrefetchingBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "prefetching_eventstore";
+
+    private final Config config = parseString(
+            "hostname=localhost\n" +
+                    "port=3306\n" +
+                    "database=sql_eventstore\n" +
+                    "username=\n" +
+                    "password=\n" +
+                    "driver=com.mysql.jdbc.Driver", defaults().setSyntax(PROPERTIES));
+
+    private final BasicMysqlEventSource.PooledMysqlEventSource eventSource = BasicMysqlEventSource.pooledMasterDbEventSource(config, tableName, "prefetching", 2).withPrefetch(3);
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void reads_all_pages_in_order_when_prefetching() {
+        StreamId stream = streamId(randomCategory(), "prefetched");
+        List<NewEvent> events = asList(
+                newEvent("type-1", randomData()),
+                newEvent("type-2", randomData()),
+                newEvent("type-3", randomData()),
+                newEvent("type-4", randomData()),
+                newEvent("type-5", randomData()));
+        eventSource.writeStream().write(stream, events);
+
+        List<String> eventTypes = eventSource.readAll().readAllForwards()
+                .map(event -> event.eventRecord().eventType())
+                .collect(toList());
+
+        assertThat(eventTypes, contains("type-1", "type-2", "type-3", "type-4", "type-5"));
+    }
+
+    @Test
+    public void records_page_wait_time() {
+        eventSource.writeStream().write(streamId(randomCategory(), "waited"), asList(newEvent("type-1", randomData())));
+
+        eventSource.readAll().readAllForwards().collect(toList());
+
+        Double waitCount = CollectorRegistry.defaultRegistry.getSampleValue("tg_eventstore_page_wait_seconds_count",
+                new String[]{"database", "table", "read_type"},
+                new String[]{"sql_eventstore", tableName, "read_all"});
+        assertThat(waitCount, is(notNullValue()));
+        assertThat(waitCount, is(greaterThan(0.0)));
+    }
+
+    @Test
+    public void stops_prefetching_pages_when_a_read_is_closed_early() throws Exception {
+        String category = randomCategory();
+        for (int i = 0; i < 20; i++) {
+            eventSource.writeStream().write(streamId(category, "stream"), asList(newEvent("type", randomData())));
+        }
+        AtomicInteger connections = new AtomicInteger();
+        BasicMysqlEventSource countingSource = new BasicMysqlEventSource(() -> {
+            connections.incrementAndGet();
+            return connectionProvider.getConnection();
+        }, tableName, 1, "counting").withPrefetch(3);
+        connections.set(0);
+
+        try (Stream<ResolvedEvent> events = countingSource.readCategory().readCategoryForwards(category)) {
+            assertThat(events.limit(2).count(), is(2L));
+        }
+        Thread.sleep(500);
+
+        assertThat(connections.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @After
+    public void closeEventSource() {
+        eventSource.close();
+    }
+}
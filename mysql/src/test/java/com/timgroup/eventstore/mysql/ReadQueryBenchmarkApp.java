@@ -0,0 +1,88 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.mchange.v2.c3p0.PooledDataSource;
+import com.timgroup.eventstore.api.NewEvent;
+import com.typesafe.config.Config;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.typesafe.config.ConfigFactory.parseString;
+import static com.typesafe.config.ConfigParseOptions.defaults;
+import static com.typesafe.config.ConfigSyntax.PROPERTIES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Compares per-page read latency against a local database with client-side and server-side prepared statements.
+ */
+public class ReadQueryBenchmarkApp {
+    private static final String TABLE_NAME = "read_query_benchmark";
+    private static final int CATEGORIES = 10;
+    private static final int EVENTS = 200_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        populate();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            run("client-side", false);
+            run("server-side", true);
+        }
+    }
+
+    private static void populate() {
+        ConnectionProvider connectionProvider = TestConnectionProvider.create();
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, TABLE_NAME);
+        setup.drop();
+        setup.create();
+
+        BasicMysqlEventStreamWriter writer = new BasicMysqlEventStreamWriter(connectionProvider, "sql_eventstore", TABLE_NAME, null);
+        for (int written = 0; written < EVENTS; ) {
+            List<NewEvent> events = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                events.add(newEvent("Benchmarked", ("{\"n\":" + (written + i) + "}").getBytes(UTF_8)));
+            }
+            writer.write(streamId("category-" + (written / 1000) % CATEGORIES, "stream-" + written), events);
+            written += events.size();
+        }
+    }
+
+    private static void run(String label, boolean serverPreparedStatements) throws SQLException {
+        Config config = parseString(
+                "hostname=localhost\n" +
+                        "port=3306\n" +
+                        "database=sql_eventstore\n" +
+                        "username=\n" +
+                        "password=\n" +
+                        "driver=com.mysql.jdbc.Driver\n" +
+                        "server_prepared_statements=" + serverPreparedStatements, defaults().setSyntax(PROPERTIES));
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        PooledDataSource dataSource = StacksConfiguredDataSource.pooledMasterDb(config);
+        try {
+            BasicMysqlEventCategoryReader reader = new BasicMysqlEventCategoryReader(dataSource::getConnection, "sql_eventstore", TABLE_NAME, BATCH_SIZE, metricRegistry);
+            long start = System.nanoTime();
+            long events = 0;
+            for (int category = 0; category < CATEGORIES; category++) {
+                events += reader.readCategoryForwards("category-" + category).count();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Snapshot pages = metricRegistry.timer("database.sql_eventstore." + TABLE_NAME + ".read_category.page_fetch_time").getSnapshot();
+            System.out.printf("%-12s events=%d total=%dms page p50=%.0fus p99=%.0fus%n",
+                    label, events, NANOSECONDS.toMillis(elapsed),
+                    pages.getMedian() / 1000, pages.get99thPercentile() / 1000);
+        } finally {
+            dataSource.close();
+        }
+    }
+}
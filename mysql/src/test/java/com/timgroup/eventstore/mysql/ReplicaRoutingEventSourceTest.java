@@ -0,0 +1,101 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.tucker.info.Component;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.StringContains.containsString;
+
+public class ReplicaRoutingEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String masterTableName = "replica_routing_master";
+    private final String replicaTableName = "replica_routing_replica";
+
+    private final BasicMysqlEventSource master = new BasicMysqlEventSource(connectionProvider, masterTableName);
+    private final BasicMysqlEventSource replica = new BasicMysqlEventSource(connectionProvider, replicaTableName);
+    private final ReplicaRoutingEventSource eventSource = new ReplicaRoutingEventSource(master, singletonList(replica), "test");
+
+    @Before
+    public void createTables() {
+        for (String tableName : new String[] { masterTableName, replicaTableName }) {
+            BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+            setup.drop();
+            setup.lazyCreate();
+        }
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void catches_up_from_the_replica_and_carries_on_from_the_master() {
+        StreamId stream = streamId(randomCategory(), "stream");
+        for (int i = 0; i < 3; i++) {
+            master.writeStream().write(stream, singletonList(event("master-" + i)));
+            replica.writeStream().write(stream, singletonList(event("replica-" + i)));
+        }
+        master.writeStream().write(stream, singletonList(event("master-3")));
+
+        assertThat(dataOf(eventSource.readAll().readAllForwards()), contains("replica-0", "replica-1", "replica-2", "master-3"));
+        assertThat(dataOf(eventSource.readCategory().readCategoryForwards(stream.category())), contains("replica-0", "replica-1", "replica-2", "master-3"));
+    }
+
+    @Test
+    public void reads_from_the_master_once_past_the_replica_head() {
+        StreamId stream = streamId(randomCategory(), "stream");
+        master.writeStream().write(stream, singletonList(event("master-0")));
+        replica.writeStream().write(stream, singletonList(event("replica-0")));
+        master.writeStream().write(stream, singletonList(event("master-1")));
+
+        assertThat(dataOf(eventSource.readAll().readAllForwards(new BasicMysqlEventStorePosition(1))), contains("master-1"));
+    }
+
+    @Test
+    public void reports_replica_lag() {
+        StreamId stream = streamId(randomCategory(), "stream");
+        master.writeStream().write(stream, singletonList(event("master-0")));
+        master.writeStream().write(stream, singletonList(event("master-1")));
+        replica.writeStream().write(stream, singletonList(event("replica-0")));
+
+        List<Component> components = new ArrayList<>(eventSource.monitoring());
+        Component lag = components.get(components.size() - 1);
+
+        assertThat(lag.getReport().getValue().toString(), containsString("lag: 1"));
+    }
+
+    private static NewEvent event(String data) {
+        return newEvent("type-A", data.getBytes(UTF_8));
+    }
+
+    private static List<String> dataOf(Stream<ResolvedEvent> events) {
+        return events.map(event -> new String(event.eventRecord().data(), UTF_8)).collect(toList());
+    }
+}
@@ -0,0 +1,100 @@
+package com.timgroup.eventstore.mysql;
+
+import com.timgroup.eventstore.api.EventSource;
+import com.timgroup.eventstore.api.JavaEventStoreTest;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.typesafe.config.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static com.typesafe.config.ConfigFactory.parseString;
+import static com.typesafe.config.ConfigParseOptions.defaults;
+import static com.typesafe.config.ConfigSyntax.PROPERTIES;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class StreamingCursorBasicMysqlEventSourceTest extends JavaEventStoreTest {
+    static {
+        try {
+            DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final ConnectionProvider connectionProvider = TestConnectionProvider.create();
+    private final String tableName = "streaming_eventstore";
+
+    private final Config config = parseString(
+            "hostname=localhost\n" +
+                    "port=3306\n" +
+                    "database=sql_eventstore\n" +
+                    "username=\n" +
+                    "password=\n" +
+                    "driver=com.mysql.jdbc.Driver", defaults().setSyntax(PROPERTIES));
+
+    private final BasicMysqlEventSource.PooledMysqlEventSource eventSource = BasicMysqlEventSource.pooledMasterDbEventSource(config, tableName, "streaming", 2).withStreamingCursor();
+
+    @Before
+    public void createTables() {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, tableName);
+        setup.drop();
+        setup.lazyCreate();
+    }
+
+    @Override
+    public EventSource eventSource() {
+        return eventSource;
+    }
+
+    @Test
+    public void reads_across_cursor_reopens_in_order() {
+        StreamId stream = streamId(randomCategory(), "prefetched");
+        List<NewEvent> events = asList(
+                newEvent("type-1", randomData()),
+                newEvent("type-2", randomData()),
+                newEvent("type-3", randomData()),
+                newEvent("type-4", randomData()),
+                newEvent("type-5", randomData()));
+        eventSource.writeStream().write(stream, events);
+
+        List<String> eventTypes = eventSource.readAll().readAllForwards()
+                .map(event -> event.eventRecord().eventType())
+                .collect(toList());
+
+        assertThat(eventTypes, contains("type-1", "type-2", "type-3", "type-4", "type-5"));
+    }
+
+    @Test
+    public void reading_part_of_a_category_and_closing_the_stream_releases_the_cursor() {
+        String category = randomCategory();
+        eventSource.writeStream().write(streamId(category, "partial"), asList(
+                newEvent("type-1", randomData()),
+                newEvent("type-2", randomData()),
+                newEvent("type-3", randomData())));
+
+        for (int i = 0; i < 20; i++) {
+            try (Stream<ResolvedEvent> events = eventSource.readCategory().readCategoryForwards(category)) {
+                assertThat(events.findFirst().get().eventRecord().eventType(), is("type-1"));
+            }
+        }
+    }
+
+    @After
+    public void closeEventSource() {
+        eventSource.close();
+    }
+}
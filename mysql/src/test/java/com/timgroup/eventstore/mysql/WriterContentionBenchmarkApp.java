@@ -0,0 +1,74 @@
+package com.timgroup.eventstore.mysql;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.timgroup.eventstore.api.EventStreamWriter;
+
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+
+/**
+ * Compares write throughput of the position allocation strategies against a local database at increasing numbers
+ * of concurrent writers.
+ */
+public class WriterContentionBenchmarkApp {
+    private static final String TABLE_NAME = "writer_contention_benchmark";
+    private static final long RUN_MILLIS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        DriverManager.registerDriver(new com.mysql.jdbc.Driver());
+        ConnectionProvider connectionProvider = TestConnectionProvider.create();
+
+        for (int writers : new int[] { 1, 8, 32 }) {
+            run("max(position)", connectionProvider, writers, false);
+            run("counter table", connectionProvider, writers, true);
+        }
+    }
+
+    private static void run(String strategy, ConnectionProvider connectionProvider, int writers, boolean positionCounter) throws Exception {
+        BasicMysqlEventStoreSetup setup = new BasicMysqlEventStoreSetup(connectionProvider, TABLE_NAME);
+        setup.drop();
+        setup.create();
+        setup.lazyCreatePositionCounter();
+
+        MetricRegistry metricRegistry = new MetricRegistry();
+        WriterOptions writerOptions = positionCounter ? WriterOptions.DEFAULT.withPositionCounter() : WriterOptions.DEFAULT;
+        EventStreamWriter writer = new BasicMysqlEventStreamWriter(connectionProvider, "sql_eventstore", TABLE_NAME, metricRegistry, writerOptions);
+
+        AtomicLong written = new AtomicLong();
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            String stream = "writer-" + i;
+            futures.add(executor.submit(() -> {
+                while (System.currentTimeMillis() < deadline) {
+                    writer.write(streamId("benchmark", stream), singletonList(newEvent("Benchmarked", "{}".getBytes(UTF_8))));
+                    written.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Snapshot retries = metricRegistry.getHistograms((name, metric) -> name.endsWith(".write.retries")).values().iterator().next().getSnapshot();
+
+        System.out.printf("%-14s writers=%-3d events/s=%-8.0f retries p50=%.0f p99=%.0f max=%d%n",
+                strategy, writers, written.get() * 1000.0 / RUN_MILLIS,
+                retries.getMedian(), retries.get99thPercentile(), retries.getMax());
+    }
+}
@@ -23,6 +23,10 @@ import static com.timgroup.eventstore.readerutils.RekeyingEventReader.rekeying;
 import static java.util.Objects.requireNonNull;
 
 public interface EventReaderOp {
+    /**
+     * Filters to events of the given types, which readers that {@linkplain EventReader#filtersEventTypesAtSource()
+     * filter event types at source} do without reading the other events.
+     */
     static EventReaderOp filterContainingEventTypes(Set<String> eventTypes) {
         Set<String> s = ImmutableSet.copyOf(eventTypes);
         return r -> FilteringEventReader.containingEventTypes(r, s);
@@ -7,6 +7,7 @@ import com.timgroup.eventstore.api.ResolvedEvent;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -18,16 +19,26 @@ public final class FilteringEventReader implements EventReader {
 
     private final EventReader underlying;
     private final Predicate<? super ResolvedEvent> predicate;
+    @Nullable private final Set<String> eventTypes;
 
     public FilteringEventReader(EventReader underlying, Predicate<? super ResolvedEvent> predicate) {
+        this(underlying, predicate, null);
+    }
+
+    private FilteringEventReader(EventReader underlying, Predicate<? super ResolvedEvent> predicate, @Nullable Set<String> eventTypes) {
         this.underlying = requireNonNull(underlying);
         this.predicate = requireNonNull(predicate);
+        this.eventTypes = eventTypes;
     }
 
     @CheckReturnValue
     @Nonnull
     @Override
     public Stream<ResolvedEvent> readAllForwards(Position positionExclusive) {
+        if (eventTypes != null && underlying.filtersEventTypesAtSource()) {
+            // the source may match event types more loosely, e.g. case-insensitively, so the predicate still applies
+            return underlying.readAllForwardsOfTypes(positionExclusive, eventTypes).filter(predicate);
+        }
         return underlying.readAllForwards(positionExclusive).filter(predicate);
     }
 
@@ -71,8 +82,11 @@ public final class FilteringEventReader implements EventReader {
                 '}';
     }
 
+    /**
+     * Reading forwards, the types are passed to the underlying reader if it can filter them at source.
+     */
     public static FilteringEventReader containingEventTypes(EventReader underlying, Set<String> eventTypes) {
-        return new FilteringEventReader(underlying, e -> eventTypes.contains(e.eventRecord().eventType()));
+        return new FilteringEventReader(underlying, e -> eventTypes.contains(e.eventRecord().eventType()), eventTypes);
     }
 
 }
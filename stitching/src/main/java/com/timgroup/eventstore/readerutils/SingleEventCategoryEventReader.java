@@ -1,6 +1,7 @@
 package com.timgroup.eventstore.readerutils;
 
 import com.timgroup.eventstore.api.EventCategoryReader;
+import com.timgroup.eventstore.api.EventProjection;
 import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.EventSource;
 import com.timgroup.eventstore.api.Position;
@@ -10,6 +11,7 @@ import com.timgroup.eventstore.api.ResolvedEvent;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -35,6 +37,25 @@ public final class SingleEventCategoryEventReader implements EventReader {
         return underlying.readCategoryForwards(this.category, positionExclusive);
     }
 
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readAllForwards(Position positionExclusive, EventProjection projection) {
+        return underlying.readCategoryForwards(this.category, positionExclusive, projection);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readAllForwardsOfTypes(Position positionExclusive, Set<String> eventTypes) {
+        return underlying.readCategoryForwardsOfTypes(this.category, positionExclusive, eventTypes);
+    }
+
+    @Override
+    public boolean filtersEventTypesAtSource() {
+        return underlying.filtersCategoryEventTypesAtSource();
+    }
+
     @Nonnull
     @Override
     public Position emptyStorePosition() {
@@ -61,6 +82,18 @@ public final class SingleEventCategoryEventReader implements EventReader {
         return underlying.readLastEventInCategory(this.category);
     }
 
+    @Nonnull
+    @Override
+    public Optional<ResolvedEvent> readLastEvent(EventProjection projection) {
+        return underlying.readLastEventInCategory(this.category, projection);
+    }
+
+    @Nonnull
+    @Override
+    public Position headPosition() {
+        return underlying.headPositionOfCategory(this.category);
+    }
+
     @Nonnull
     @Override
     public PositionCodec storePositionCodec() {
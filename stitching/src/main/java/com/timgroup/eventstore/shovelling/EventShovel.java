@@ -30,6 +30,7 @@ import java.util.stream.Stream;
 
 import static com.google.common.collect.Iterators.partition;
 import static com.google.common.collect.Iterators.peekingIterator;
+import static com.timgroup.eventstore.api.EventProjection.WITHOUT_DATA;
 import static com.timgroup.eventstore.api.NewEvent.newEvent;
 import static com.timgroup.eventstore.writerutils.IdempotentEventStreamWriter.BASIC_COMPATIBILITY_CHECK;
 import static com.timgroup.eventstore.writerutils.IdempotentEventStreamWriter.METADATA_COMPATIBILITY_CHECK;
@@ -104,7 +105,7 @@ public final class EventShovel {
     }
 
     public void shovelAllNewlyAvailableEvents() {
-        Optional<ResolvedEvent> maybeLastWrittenEvent = outputReader.readLastEvent();
+        Optional<ResolvedEvent> maybeLastWrittenEvent = outputReader.readLastEvent(WITHOUT_DATA);
 
         Position currentPosition = maybeLastWrittenEvent
                 .map(re -> extractShovelPositionFromMetadata(re.eventRecord().metadata()))
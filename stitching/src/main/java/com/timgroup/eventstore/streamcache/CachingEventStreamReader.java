@@ -0,0 +1,95 @@
+package com.timgroup.eventstore.streamcache;
+
+import com.timgroup.eventstore.api.EventStreamReader;
+import com.timgroup.eventstore.api.PositionCodec;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.streamcache.StreamCache.CachedStream;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Only reads from the start of a stream are cached, since those are what loading an aggregate needs. A read from part
+ * way through a stream that is not cached goes straight to the underlying reader.
+ */
+final class CachingEventStreamReader implements EventStreamReader {
+    private final EventStreamReader underlying;
+    private final StreamCache cache;
+
+    CachingEventStreamReader(EventStreamReader underlying, StreamCache cache) {
+        this.underlying = requireNonNull(underlying);
+        this.cache = requireNonNull(cache);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readStreamForwards(StreamId streamId, long eventNumber) {
+        long writesBefore = cache.writes();
+        CachedStream cached = cache.get(streamId);
+        if (cached == null) {
+            if (eventNumber != EmptyStreamEventNumber) {
+                return underlying.readStreamForwards(streamId, eventNumber);
+            }
+            List<ResolvedEvent> events = readAll(streamId, EmptyStreamEventNumber);
+            if (!events.isEmpty()) {
+                cache.put(streamId, CachedStream.of(events), writesBefore);
+            }
+            return events.stream();
+        }
+
+        if (!cache.isFresh(cached)) {
+            cached = cached.extendedBy(readAll(streamId, cached.lastEventNumber()));
+            cache.put(streamId, cached, writesBefore);
+        }
+        int from = (int) Math.min(Math.max(eventNumber + 1, 0), cached.events.size());
+        return cached.events.subList(from, cached.events.size()).stream();
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readStreamBackwards(StreamId streamId) {
+        return underlying.readStreamBackwards(streamId);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public Stream<ResolvedEvent> readStreamBackwards(StreamId streamId, long eventNumber) {
+        return underlying.readStreamBackwards(streamId, eventNumber);
+    }
+
+    @CheckReturnValue
+    @Nonnull
+    @Override
+    public ResolvedEvent readLastEventInStream(StreamId streamId) {
+        return underlying.readLastEventInStream(streamId);
+    }
+
+    @Nonnull
+    @Override
+    public PositionCodec streamPositionCodec() {
+        return underlying.streamPositionCodec();
+    }
+
+    @Override
+    public String toString() {
+        return "CachingEventStreamReader{" +
+                "underlying=" + underlying +
+                ", cache=" + cache +
+                '}';
+    }
+
+    private List<ResolvedEvent> readAll(StreamId streamId, long eventNumber) {
+        try (Stream<ResolvedEvent> events = underlying.readStreamForwards(streamId, eventNumber)) {
+            return events.collect(toList());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.timgroup.eventstore.streamcache;
+
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+
+import java.util.Collection;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Marks each stream written as needing its cached tail checked, whether or not the write succeeded, since a failed
+ * write may still mean the stream has moved on.
+ */
+final class InvalidatingEventStreamWriter implements EventStreamWriter {
+    private final EventStreamWriter underlying;
+    private final StreamCache cache;
+
+    InvalidatingEventStreamWriter(EventStreamWriter underlying, StreamCache cache) {
+        this.underlying = requireNonNull(underlying);
+        this.cache = requireNonNull(cache);
+    }
+
+    @Override
+    public void write(StreamId streamId, Collection<NewEvent> events) {
+        try {
+            underlying.write(streamId, events);
+        } finally {
+            cache.markStale(streamId);
+        }
+    }
+
+    @Override
+    public void write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+        try {
+            underlying.write(streamId, events, expectedVersion);
+        } finally {
+            cache.markStale(streamId);
+        }
+    }
+
+    @Override
+    public void execute(Collection<StreamWriteRequest> writeRequests) {
+        try {
+            underlying.execute(writeRequests);
+        } finally {
+            writeRequests.forEach(request -> cache.markStale(request.streamId));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InvalidatingEventStreamWriter{" +
+                "underlying=" + underlying +
+                ", cache=" + cache +
+                '}';
+    }
+}
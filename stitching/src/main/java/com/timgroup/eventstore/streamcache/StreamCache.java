@@ -0,0 +1,233 @@
+package com.timgroup.eventstore.streamcache;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.timgroup.eventstore.api.EventRecord;
+import com.timgroup.eventstore.api.EventStreamReader;
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import io.prometheus.client.Gauge;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the events of recently read streams, so that reading a stream again only has to fetch the events written
+ * since. Streams are evicted least recently read first, once more than {@code maxStreams} are held or their events
+ * come to more than {@code maxBytes}. A stream larger than {@code maxBytes} on its own is never kept.
+ *
+ * <p>Readers from {@link #reader(EventStreamReader)} still ask the underlying reader for events after the cached
+ * tail, unless the stream was last checked less than {@code maxStaleness} ago. Writes through
+ * {@link #writer(EventStreamWriter)} mark the stream as needing a check, so the writing process always reads its own
+ * writes. Writes made elsewhere are seen within {@code maxStaleness}.</p>
+ *
+ * <p>Hits, misses, evictions and resident bytes are reported to the metric registry given, or otherwise as
+ * Prometheus metrics labelled with the cache name.</p>
+ */
+public final class StreamCache {
+    private static final io.prometheus.client.Counter requests = io.prometheus.client.Counter.build("tg_eventstore_stream_cache_requests_total", "TG Eventstore stream cache reads, by whether the stream was cached")
+            .labelNames("cache", "result")
+            .register();
+    private static final io.prometheus.client.Counter evictions = io.prometheus.client.Counter.build("tg_eventstore_stream_cache_evictions_total", "TG Eventstore streams evicted from the stream cache")
+            .labelNames("cache")
+            .register();
+    private static final Gauge residentBytes = Gauge.build("tg_eventstore_stream_cache_resident_bytes", "TG Eventstore estimated bytes of events held in the stream cache")
+            .labelNames("cache")
+            .register();
+
+    private final int maxStreams;
+    private final long maxBytes;
+    private final long maxStalenessNanos;
+    private final String name;
+    private final Runnable hit;
+    private final Runnable miss;
+    private final Runnable eviction;
+    private final LongConsumer resident;
+    private final LinkedHashMap<StreamId, CachedStream> streams = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes = 0;
+    private long writes = 0;
+
+    public StreamCache(int maxStreams, long maxBytes, Duration maxStaleness, String name) {
+        this(maxStreams, maxBytes, maxStaleness, name, null);
+    }
+
+    public StreamCache(int maxStreams, long maxBytes, Duration maxStaleness, String name, @Nullable MetricRegistry metricRegistry) {
+        if (maxStreams < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one stream: " + maxStreams);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one byte: " + maxBytes);
+        }
+        if (maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Staleness must not be negative: " + maxStaleness);
+        }
+        this.maxStreams = maxStreams;
+        this.maxBytes = maxBytes;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.name = requireNonNull(name);
+        if (metricRegistry == null) {
+            this.hit = requests.labels(name, "hit")::inc;
+            this.miss = requests.labels(name, "miss")::inc;
+            this.eviction = evictions.labels(name)::inc;
+            this.resident = value -> residentBytes.labels(name).set(value);
+        } else {
+            Counter hits = metricRegistry.counter(String.format("stream_cache.%s.hit", name));
+            Counter misses = metricRegistry.counter(String.format("stream_cache.%s.miss", name));
+            this.hit = hits::inc;
+            this.miss = misses::inc;
+            this.eviction = metricRegistry.counter(String.format("stream_cache.%s.eviction", name))::inc;
+            metricRegistry.gauge(String.format("stream_cache.%s.hit_ratio", name), () -> new RatioGauge() {
+                @Override
+                protected Ratio getRatio() {
+                    return Ratio.of(hits.getCount(), hits.getCount() + misses.getCount());
+                }
+            });
+            metricRegistry.gauge(String.format("stream_cache.%s.resident_bytes", name), () -> this::residentBytes);
+            this.resident = value -> { };
+        }
+    }
+
+    public EventStreamReader reader(EventStreamReader underlying) {
+        return new CachingEventStreamReader(underlying, this);
+    }
+
+    public EventStreamWriter writer(EventStreamWriter underlying) {
+        return new InvalidatingEventStreamWriter(underlying, this);
+    }
+
+    @Override
+    public String toString() {
+        return "StreamCache{" +
+                "maxStreams=" + maxStreams +
+                ", maxBytes=" + maxBytes +
+                ", maxStalenessNanos=" + maxStalenessNanos +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    @Nullable
+    synchronized CachedStream get(StreamId streamId) {
+        CachedStream cached = streams.get(streamId);
+        (cached == null ? miss : hit).run();
+        return cached;
+    }
+
+    boolean isFresh(CachedStream cached) {
+        return cached.checkedAtNanos != CachedStream.NEVER && System.nanoTime() - cached.checkedAtNanos < maxStalenessNanos;
+    }
+
+    /**
+     * Counts writes through this cache's writers, so that a reader can tell whether one happened while it was
+     * reading a stream's tail.
+     */
+    synchronized long writes() {
+        return writes;
+    }
+
+    /**
+     * Replaces what is held for a stream, unless the events already held for it are further ahead. If any stream has
+     * been written since {@code writesBefore}, the events are kept but checked again on the next read.
+     */
+    synchronized void put(StreamId streamId, CachedStream cached, long writesBefore) {
+        CachedStream existing = streams.get(streamId);
+        if (existing != null && existing.lastEventNumber() > cached.lastEventNumber()) {
+            return;
+        }
+        if (writes != writesBefore) {
+            cached = cached.unchecked();
+        }
+        remove(streamId);
+        if (cached.bytes > maxBytes) {
+            return;
+        }
+        streams.put(streamId, cached);
+        bytes += cached.bytes;
+
+        Iterator<Map.Entry<StreamId, CachedStream>> eldest = streams.entrySet().iterator();
+        while (streams.size() > maxStreams || bytes > maxBytes) {
+            bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+            eviction.run();
+        }
+        resident.accept(bytes);
+    }
+
+    synchronized void markStale(StreamId streamId) {
+        writes++;
+        CachedStream cached = streams.get(streamId);
+        if (cached != null) {
+            streams.put(streamId, cached.unchecked());
+        }
+    }
+
+    private synchronized long residentBytes() {
+        return bytes;
+    }
+
+    private void remove(StreamId streamId) {
+        CachedStream removed = streams.remove(streamId);
+        if (removed != null) {
+            bytes -= removed.bytes;
+        }
+    }
+
+    /**
+     * The events of a stream from its first, which are never changed once held.
+     */
+    static final class CachedStream {
+        private static final long NEVER = Long.MIN_VALUE;
+
+        final List<ResolvedEvent> events;
+        final long bytes;
+        final long checkedAtNanos;
+
+        private CachedStream(List<ResolvedEvent> events, long bytes, long checkedAtNanos) {
+            this.events = events;
+            this.bytes = bytes;
+            this.checkedAtNanos = checkedAtNanos;
+        }
+
+        static CachedStream of(List<ResolvedEvent> events) {
+            return new CachedStream(Collections.unmodifiableList(events), sizeOf(events), System.nanoTime());
+        }
+
+        CachedStream extendedBy(List<ResolvedEvent> tail) {
+            if (tail.isEmpty()) {
+                return new CachedStream(events, bytes, System.nanoTime());
+            }
+            List<ResolvedEvent> extended = new ArrayList<>(events.size() + tail.size());
+            extended.addAll(events);
+            extended.addAll(tail);
+            return new CachedStream(Collections.unmodifiableList(extended), bytes + sizeOf(tail), System.nanoTime());
+        }
+
+        long lastEventNumber() {
+            return events.get(events.size() - 1).eventRecord().eventNumber();
+        }
+
+        private CachedStream unchecked() {
+            return new CachedStream(events, bytes, NEVER);
+        }
+
+        private static long sizeOf(List<ResolvedEvent> events) {
+            long bytes = 0;
+            for (ResolvedEvent event : events) {
+                EventRecord record = event.eventRecord();
+                bytes += record.data().length + record.metadata().length + record.eventType().length() + record.streamId().category().length() + record.streamId().id().length() + 64;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package com.timgroup.eventstore.streamcache;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,295 @@
+package com.timgroup.eventstore.writerutils;
+
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WrongExpectedVersionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofNanos;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Coalesces writes from concurrent callers into a single {@link EventStreamWriter#execute(Collection)} on the
+ * underlying writer, so that they share one transaction and one commit. Each caller still blocks until its own
+ * write is committed, and is only told about wrong expected versions on its own streams.
+ *
+ * <p>Writes are collected for up to {@code maxDelay} after the first one arrives. A write to a stream that is already
+ * in the group closes the group and starts the next one, so writes to the same stream are applied in the order they
+ * were made.</p>
+ *
+ * <p>Wrong expected versions are handed to the callers whose streams are named in
+ * {@link WrongExpectedVersionException#failures()}. Any other failure of the group, or a wrong expected version that
+ * names no streams, cannot be pinned on one caller, so each write in the group is then retried on its own and its
+ * caller told of its own outcome. This relies on the underlying writer applying all of an execute or none of it, as
+ * the mysql writer does.</p>
+ */
+public final class GroupCommitEventStreamWriter implements EventStreamWriter, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitEventStreamWriter.class);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final PendingWrite CLOSE = new PendingWrite(emptyList());
+
+    private final EventStreamWriter underlying;
+    private final Duration maxDelay;
+    private final int maxWritesPerGroup;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private final Thread committer;
+
+    private boolean closed;
+    private boolean closing;
+    @Nullable private PendingWrite carriedOver;
+
+    private GroupCommitEventStreamWriter(EventStreamWriter underlying, Duration maxDelay, int maxWritesPerGroup) {
+        if (maxWritesPerGroup < 1) {
+            throw new IllegalArgumentException("Groups must allow at least one write: " + maxWritesPerGroup);
+        }
+        this.underlying = requireNonNull(underlying);
+        this.maxDelay = requireNonNull(maxDelay);
+        this.maxWritesPerGroup = maxWritesPerGroup;
+        this.committer = new Thread(this::commitGroups, "EventStore-group-commit-" + threadCount.getAndIncrement());
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    @Override
+    public void write(StreamId streamId, Collection<NewEvent> events) {
+        execute(singletonList(new StreamWriteRequest(streamId, events, OptionalLong.empty())));
+    }
+
+    @Override
+    public void write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+        execute(singletonList(new StreamWriteRequest(streamId, events, OptionalLong.of(expectedVersion))));
+    }
+
+    @Override
+    public void execute(Collection<StreamWriteRequest> writeRequests) {
+        writeRequests.stream().collect(toMap(r -> r.streamId, r -> r, (r1, r2) -> {
+            throw new RuntimeException("Duplicate streamId in write request: " + r1.streamId);
+        }));
+
+        if (writeRequests.stream().allMatch(r -> r.events.isEmpty())) {
+            return;
+        }
+
+        PendingWrite write = new PendingWrite(writeRequests);
+        synchronized (pending) {
+            if (closed) {
+                throw new IllegalStateException("Group commit writer is closed");
+            }
+            pending.add(write);
+        }
+
+        try {
+            write.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops collecting writes once those already queued have been committed. Writes made after closing fail.
+     */
+    @Override
+    public void close() {
+        synchronized (pending) {
+            if (!closed) {
+                closed = true;
+                pending.add(CLOSE);
+            }
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GroupCommitEventStreamWriter{" +
+                "underlying=" + underlying +
+                ", maxDelay=" + maxDelay +
+                ", maxWritesPerGroup=" + maxWritesPerGroup +
+                '}';
+    }
+
+    /*
+     * Closing queues a marker behind every write accepted before it, so the committer commits all of those and then
+     * stops. Should it stop any other way, everything still queued is failed rather than left waiting.
+     */
+    private void commitGroups() {
+        try {
+            while (!closing || carriedOver != null) {
+                try {
+                    List<PendingWrite> group = nextGroup();
+                    if (!group.isEmpty()) {
+                        commit(group);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.error("Unexpected failure committing writes", e);
+                }
+            }
+        } finally {
+            failRemaining();
+        }
+    }
+
+    private List<PendingWrite> nextGroup() {
+        List<PendingWrite> group = new ArrayList<>();
+        PendingWrite first = carriedOver;
+        carriedOver = null;
+        if (first == null) {
+            try {
+                first = pending.take();
+            } catch (InterruptedException e) {
+                return group;
+            }
+        }
+        if (first == CLOSE) {
+            closing = true;
+            return group;
+        }
+
+        group.add(first);
+        Set<StreamId> streams = new HashSet<>(first.streamIds());
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+
+        while (!closing && group.size() < maxWritesPerGroup) {
+            PendingWrite next;
+            try {
+                next = pending.poll(deadline - System.nanoTime(), NANOSECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            if (next == CLOSE) {
+                closing = true;
+                break;
+            }
+            if (next.streamIds().stream().anyMatch(streams::contains)) {
+                carriedOver = next;
+                break;
+            }
+            group.add(next);
+            streams.addAll(next.streamIds());
+        }
+
+        return group;
+    }
+
+    private void failRemaining() {
+        List<PendingWrite> remaining = new ArrayList<>();
+        synchronized (pending) {
+            closed = true;
+            pending.drainTo(remaining);
+        }
+        if (carriedOver != null) {
+            remaining.add(carriedOver);
+            carriedOver = null;
+        }
+        IllegalStateException closedException = new IllegalStateException("Group commit writer is closed");
+        remaining.stream().filter(write -> write != CLOSE).forEach(write -> write.result.completeExceptionally(closedException));
+    }
+
+    private void commit(List<PendingWrite> group) {
+        List<StreamWriteRequest> requests = new ArrayList<>();
+        group.forEach(write -> requests.addAll(write.requests));
+
+        try {
+            underlying.execute(requests);
+            group.forEach(write -> write.result.complete(null));
+        } catch (WrongExpectedVersionException e) {
+            if (e.failures().isEmpty()) {
+                commitEachAlone(group, e);
+                return;
+            }
+            for (PendingWrite write : group) {
+                Map<StreamId, String> failures = new LinkedHashMap<>();
+                write.streamIds().stream()
+                        .filter(e.failures()::containsKey)
+                        .forEach(streamId -> failures.put(streamId, e.failures().get(streamId)));
+                if (failures.isEmpty()) {
+                    write.result.complete(null);
+                } else {
+                    write.result.completeExceptionally(new WrongExpectedVersionException(failures));
+                }
+            }
+        } catch (RuntimeException e) {
+            commitEachAlone(group, e);
+        } catch (Error e) {
+            group.forEach(write -> write.result.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private void commitEachAlone(List<PendingWrite> group, RuntimeException groupFailure) {
+        if (group.size() == 1) {
+            group.get(0).result.completeExceptionally(groupFailure);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            PendingWrite write = group.get(i);
+            try {
+                underlying.execute(write.requests);
+                write.result.complete(null);
+            } catch (RuntimeException e) {
+                write.result.completeExceptionally(e);
+            } catch (Error e) {
+                group.subList(i, group.size()).forEach(remaining -> remaining.result.completeExceptionally(e));
+                throw e;
+            }
+        }
+    }
+
+    public static GroupCommitEventStreamWriter groupCommitting(EventStreamWriter underlying) {
+        return new GroupCommitEventStreamWriter(underlying, ofNanos(500_000), 500);
+    }
+
+    public static GroupCommitEventStreamWriter groupCommitting(EventStreamWriter underlying, Duration maxDelay, int maxWritesPerGroup) {
+        return new GroupCommitEventStreamWriter(underlying, maxDelay, maxWritesPerGroup);
+    }
+
+    private static final class PendingWrite {
+        private final Collection<StreamWriteRequest> requests;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingWrite(Collection<StreamWriteRequest> requests) {
+            this.requests = requests;
+        }
+
+        private List<StreamId> streamIds() {
+            List<StreamId> streamIds = new ArrayList<>(requests.size());
+            requests.forEach(request -> streamIds.add(request.streamId));
+            return streamIds;
+        }
+    }
+}
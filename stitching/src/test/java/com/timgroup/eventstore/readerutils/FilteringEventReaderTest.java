@@ -3,10 +3,12 @@ package com.timgroup.eventstore.readerutils;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.timgroup.clocks.testing.ManualClock;
+import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.EventRecord;
 import com.timgroup.eventstore.api.EventRecordMatcher;
 import com.timgroup.eventstore.api.NewEvent;
 import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.PositionCodec;
 import com.timgroup.eventstore.api.ResolvedEvent;
 import com.timgroup.eventstore.api.StreamId;
 import com.timgroup.eventstore.memory.InMemoryEventSource;
@@ -15,13 +17,17 @@ import org.junit.Test;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static com.timgroup.eventstore.api.EventRecordMatcher.anEventRecord;
 import static com.timgroup.eventstore.api.NewEvent.newEvent;
 import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -167,6 +173,51 @@ public final class FilteringEventReaderTest {
         ));
     }
 
+    @Test public void
+    passes_event_types_to_an_underlying_reader_that_filters_them_at_source() throws Exception {
+        inputEventArrived(streamId("david", "tom"), newEvent("CoolenessAdded", new byte[0], new byte[0]));
+        inputEventArrived(streamId("foo", "bar"), newEvent("CoolenessRemoved", new byte[0], new byte[0]));
+        inputEventArrived(streamId("foo", "baz"), newEvent("coolenessremoved", new byte[0], new byte[0]));
+
+        EventReader input = inputSource.readAll();
+        List<Set<String>> typesPassedDown = new ArrayList<>();
+        EventReader filteringAtSource = new EventReader() {
+            @Override
+            public Stream<ResolvedEvent> readAllForwards(Position positionExclusive) {
+                throw new AssertionError("expected event types to be filtered at source");
+            }
+
+            @Override
+            public Stream<ResolvedEvent> readAllForwardsOfTypes(Position positionExclusive, Set<String> eventTypes) {
+                typesPassedDown.add(eventTypes);
+                // like the mysql event_type column, match types case-insensitively
+                return input.readAllForwards(positionExclusive)
+                        .filter(e -> eventTypes.stream().anyMatch(e.eventRecord().eventType()::equalsIgnoreCase));
+            }
+
+            @Override
+            public boolean filtersEventTypesAtSource() {
+                return true;
+            }
+
+            @Override
+            public Position emptyStorePosition() {
+                return input.emptyStorePosition();
+            }
+
+            @Override
+            public PositionCodec storePositionCodec() {
+                return input.storePositionCodec();
+            }
+        };
+
+        FilteringEventReader underTest = FilteringEventReader.containingEventTypes(filteringAtSource, Sets.newHashSet("CoolenessRemoved"));
+
+        List<String> eventTypes = underTest.readAllForwards().map(e -> e.eventRecord().eventType()).collect(toList());
+        assertThat(eventTypes, contains("CoolenessRemoved"));
+        assertThat(typesPassedDown, is(singletonList(Sets.newHashSet("CoolenessRemoved"))));
+    }
+
     private void inputEventArrived(StreamId streamId, NewEvent... events) {
         inputReader.write(streamId, Lists.newArrayList(events));
     }
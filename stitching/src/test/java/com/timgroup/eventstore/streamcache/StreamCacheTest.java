@@ -0,0 +1,117 @@
+package com.timgroup.eventstore.streamcache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.timgroup.eventstore.api.EventStreamReader;
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.PositionCodec;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.memory.JavaInMemoryEventStore;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class StreamCacheTest {
+    private final JavaInMemoryEventStore eventStore = new JavaInMemoryEventStore(Clock.systemUTC());
+    private final AtomicInteger eventsReadFromStore = new AtomicInteger();
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    private final StreamId stream_1 = streamId("cached", "1");
+    private final StreamId stream_2 = streamId("cached", "2");
+
+    @Test
+    public void reads_only_events_after_the_cached_tail() {
+        EventStreamReader reader = cache(10, 1_000_000, Duration.ZERO).reader(countingStore());
+        eventStore.write(stream_1, asList(event("A"), event("B")));
+
+        assertThat(eventTypes(reader.readStreamForwards(stream_1)), contains("A", "B"));
+        eventStore.write(stream_1, singletonList(event("C")));
+        assertThat(eventTypes(reader.readStreamForwards(stream_1)), contains("A", "B", "C"));
+        assertThat(eventTypes(reader.readStreamForwards(stream_1, 1)), contains("C"));
+
+        assertThat(eventsReadFromStore.get(), is(3));
+        assertThat(metricRegistry.counter("stream_cache.test.hit").getCount(), is(2L));
+        assertThat(metricRegistry.counter("stream_cache.test.miss").getCount(), is(1L));
+    }
+
+    @Test
+    public void evicts_the_least_recently_read_stream() {
+        EventStreamReader reader = cache(1, 1_000_000, Duration.ZERO).reader(countingStore());
+        eventStore.write(stream_1, singletonList(event("A")));
+        eventStore.write(stream_2, singletonList(event("B")));
+
+        reader.readStreamForwards(stream_1).count();
+        reader.readStreamForwards(stream_2).count();
+        reader.readStreamForwards(stream_1).count();
+
+        assertThat(eventsReadFromStore.get(), is(3));
+        assertThat(metricRegistry.counter("stream_cache.test.eviction").getCount(), is(2L));
+    }
+
+    @Test
+    public void does_not_keep_a_stream_larger_than_the_cache() {
+        EventStreamReader reader = cache(10, 100, Duration.ZERO).reader(countingStore());
+        eventStore.write(stream_1, singletonList(newEvent("A", new byte[200])));
+
+        reader.readStreamForwards(stream_1).count();
+        reader.readStreamForwards(stream_1).count();
+
+        assertThat(eventsReadFromStore.get(), is(2));
+        assertThat(metricRegistry.getGauges().get("stream_cache.test.resident_bytes").getValue(), is(0L));
+    }
+
+    @Test
+    public void serves_recently_checked_streams_without_reading_but_sees_its_own_writes() {
+        StreamCache cache = cache(10, 1_000_000, Duration.ofHours(1));
+        EventStreamReader reader = cache.reader(countingStore());
+        EventStreamWriter writer = cache.writer(eventStore);
+        writer.write(stream_1, singletonList(event("A")));
+
+        reader.readStreamForwards(stream_1).count();
+        eventStore.write(stream_1, singletonList(event("written elsewhere")));
+        assertThat(eventTypes(reader.readStreamForwards(stream_1)), contains("A"));
+
+        writer.write(stream_1, singletonList(event("B")));
+        assertThat(eventTypes(reader.readStreamForwards(stream_1)), contains("A", "written elsewhere", "B"));
+    }
+
+    private StreamCache cache(int maxStreams, long maxBytes, Duration maxStaleness) {
+        return new StreamCache(maxStreams, maxBytes, maxStaleness, "test", metricRegistry);
+    }
+
+    private EventStreamReader countingStore() {
+        return new EventStreamReader() {
+            @Override
+            public Stream<ResolvedEvent> readStreamForwards(StreamId streamId, long eventNumber) {
+                return eventStore.readStreamForwards(streamId, eventNumber).peek(event -> eventsReadFromStore.incrementAndGet());
+            }
+
+            @Override
+            public PositionCodec streamPositionCodec() {
+                return eventStore.streamPositionCodec();
+            }
+        };
+    }
+
+    private static NewEvent event(String type) {
+        return newEvent(type, new byte[0]);
+    }
+
+    private static List<String> eventTypes(Stream<ResolvedEvent> events) {
+        return events.map(event -> event.eventRecord().eventType()).collect(toList());
+    }
+}
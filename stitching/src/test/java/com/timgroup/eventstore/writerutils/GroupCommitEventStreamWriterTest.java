@@ -0,0 +1,144 @@
+package com.timgroup.eventstore.writerutils;
+
+import com.timgroup.clocks.testing.ManualClock;
+import com.timgroup.eventstore.api.EventStreamWriter;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WrongExpectedVersionException;
+import com.timgroup.eventstore.memory.JavaInMemoryEventStore;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static com.timgroup.eventstore.api.StreamId.streamId;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.fail;
+
+public class GroupCommitEventStreamWriterTest {
+    private final JavaInMemoryEventStore store = new JavaInMemoryEventStore(ManualClock.createDefault());
+    private final AtomicInteger executions = new AtomicInteger();
+    private final GroupCommitEventStreamWriter writer = GroupCommitEventStreamWriter.groupCommitting(new EventStreamWriter() {
+        @Override
+        public void write(StreamId streamId, Collection<NewEvent> events) {
+            store.write(streamId, events);
+        }
+
+        @Override
+        public void write(StreamId streamId, Collection<NewEvent> events, long expectedVersion) {
+            store.write(streamId, events, expectedVersion);
+        }
+
+        @Override
+        public void execute(Collection<StreamWriteRequest> writeRequests) {
+            executions.incrementAndGet();
+            writeRequests.stream().filter(request -> request.streamId.id().equals("rejected")).findFirst().ifPresent(request -> {
+                throw new IllegalArgumentException("rejected write to " + request.streamId);
+            });
+            EventStreamWriter.super.execute(writeRequests);
+        }
+    }, Duration.ofMillis(50), 100);
+
+    @After
+    public void closeWriter() {
+        writer.close();
+    }
+
+    @Test
+    public void coalesces_concurrent_writes_into_fewer_executions() {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            StreamId stream = streamId("group", "stream-" + i);
+            writes.add(CompletableFuture.runAsync(() -> writer.write(stream, singletonList(anEvent()))));
+        }
+        writes.forEach(CompletableFuture::join);
+
+        assertThat(store.readAllForwards().count(), is(20L));
+        assertThat(executions.get(), is(lessThan(20)));
+    }
+
+    @Test
+    public void only_fails_the_caller_whose_expected_version_is_wrong() throws Exception {
+        CompletableFuture<Void> wrong = CompletableFuture.runAsync(() -> writer.write(streamId("group", "wrong"), singletonList(anEvent()), 5));
+        CompletableFuture<Void> right = CompletableFuture.runAsync(() -> writer.write(streamId("group", "right"), singletonList(anEvent()), -1));
+
+        right.get();
+        try {
+            wrong.get();
+            fail("expected wrong expected version");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(WrongExpectedVersionException.class)));
+            assertThat(e.getCause().getMessage(), containsString("wrong"));
+            assertThat(e.getCause().getMessage(), not(containsString("right")));
+        }
+        assertThat(store.readStreamForwards(streamId("group", "right")).count(), is(1L));
+    }
+
+    @Test
+    public void only_fails_the_caller_whose_write_is_rejected() throws Exception {
+        CompletableFuture<Void> rejected = CompletableFuture.runAsync(() -> writer.write(streamId("group", "rejected"), singletonList(anEvent())));
+        CompletableFuture<Void> accepted = CompletableFuture.runAsync(() -> writer.write(streamId("group", "accepted"), singletonList(anEvent())));
+
+        accepted.get();
+        try {
+            rejected.get();
+            fail("expected write to be rejected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+        assertThat(store.readStreamForwards(streamId("group", "accepted")).count(), is(1L));
+    }
+
+    @Test
+    public void applies_writes_to_the_same_stream_in_order() {
+        StreamId stream = streamId("group", "ordered");
+        for (int version = -1; version < 9; version++) {
+            writer.write(stream, singletonList(anEvent()), version);
+        }
+
+        assertThat(store.readStreamForwards(stream).count(), is(10L));
+    }
+
+    @Test
+    public void settles_every_write_queued_while_closing_and_rejects_writes_after() throws Exception {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            StreamId stream = streamId("group", "closing-" + i);
+            writes.add(CompletableFuture.runAsync(() -> writer.write(stream, singletonList(anEvent()))));
+        }
+        writer.close();
+
+        for (CompletableFuture<Void> write : writes) {
+            try {
+                write.get(10, SECONDS);
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+            }
+        }
+        try {
+            writer.write(streamId("group", "after"), singletonList(anEvent()));
+            fail("expected writer to be closed");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), containsString("closed"));
+        }
+    }
+
+    private static NewEvent anEvent() {
+        return newEvent("type", "{}".getBytes(UTF_8));
+    }
+}
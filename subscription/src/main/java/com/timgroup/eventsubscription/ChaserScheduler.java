@@ -0,0 +1,94 @@
+package com.timgroup.eventsubscription;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BooleanSupplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runs a chaser, which reports whether it read any events, again after a delay that starts at the minimum when it
+ * reads events and doubles, up to the maximum, each time it finds nothing new. A {@linkplain #wakeUp() wake up} runs
+ * it straight away, or as soon as the current run finishes.
+ */
+final class ChaserScheduler {
+    private final ScheduledExecutorService executor;
+    private final BooleanSupplier chase;
+    private final long minimumDelayNanos;
+    private final long maximumDelayNanos;
+
+    private long delayNanos;
+    private boolean chasing;
+    private boolean wokenUp;
+    private boolean stopped;
+    private long generation;
+    @Nullable private ScheduledFuture<?> next;
+
+    ChaserScheduler(ScheduledExecutorService executor, BooleanSupplier chase, Duration minimumDelay, Duration maximumDelay) {
+        if (maximumDelay.compareTo(minimumDelay) < 0) {
+            throw new IllegalArgumentException("Maximum delay " + maximumDelay + " is less than minimum delay " + minimumDelay);
+        }
+        this.executor = requireNonNull(executor);
+        this.chase = requireNonNull(chase);
+        this.minimumDelayNanos = minimumDelay.toNanos();
+        this.maximumDelayNanos = maximumDelay.toNanos();
+        this.delayNanos = minimumDelayNanos;
+    }
+
+    synchronized void start() {
+        schedule(0);
+    }
+
+    synchronized void wakeUp() {
+        if (chasing) {
+            wokenUp = true;
+        } else if (next != null && next.cancel(false)) {
+            schedule(0);
+        }
+    }
+
+    synchronized void stop() {
+        stopped = true;
+        if (next != null) {
+            next.cancel(false);
+        }
+    }
+
+    private void run(long scheduledGeneration) {
+        synchronized (this) {
+            if (stopped || scheduledGeneration != generation) {
+                // A wake-up rescheduled this run after it had started but before it got the monitor; the
+                // replacement run does the chasing and keeps the schedule going.
+                return;
+            }
+            chasing = true;
+            wokenUp = false;
+        }
+        boolean readEvents = chase.getAsBoolean();
+        synchronized (this) {
+            chasing = false;
+            if (readEvents) {
+                delayNanos = minimumDelayNanos;
+            } else {
+                delayNanos = Math.min(maximumDelayNanos, Math.max(1, delayNanos) * 2);
+            }
+            schedule(wokenUp ? 0 : delayNanos);
+        }
+    }
+
+    private void schedule(long delay) {
+        if (stopped) {
+            return;
+        }
+        long scheduledGeneration = ++generation;
+        try {
+            next = executor.schedule(() -> run(scheduledGeneration), delay, NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            stopped = true;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.timgroup.eventsubscription;
 
 import com.codahale.metrics.Counter;
+import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventsubscription.lifecycleevents.CaughtUp;
 import com.timgroup.eventsubscription.lifecycleevents.SubscriptionTerminated;
 
@@ -25,18 +26,23 @@ public class DisruptorEventHandlerAdapter implements com.lmax.disruptor.EventHan
             return;
         }
 
+        Position position = eventContainer.position;
         try {
             if (eventContainer.deserializedEvent != null) {
                 if (eventContainer.deserializedEvent instanceof SubscriptionTerminated) {
                     throw ((SubscriptionTerminated) eventContainer.deserializedEvent).exception;
                 }
 
-                eventHandler.apply(eventContainer.position, eventContainer.deserializedEvent);
+                eventHandler.apply(position, eventContainer.deserializedEvent);
             }
 
             clear(eventContainer);
+
+            if (endOfBatch) {
+                eventHandler.onBatchEnd(position);
+            }
         } catch (Exception e) {
-            eventHandler.apply(eventContainer.position, new SubscriptionTerminated(eventContainer.position, e));
+            eventHandler.apply(position, new SubscriptionTerminated(position, e));
             throw e;
         }
     }
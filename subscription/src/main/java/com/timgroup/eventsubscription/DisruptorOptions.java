@@ -0,0 +1,50 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.EventRecord;
+import com.timgroup.eventstore.api.StreamId;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+final class DisruptorOptions {
+    static final Function<EventRecord, StreamId> STREAM_KEY = EventRecord::streamId;
+    static final DisruptorOptions DEFAULT = new DisruptorOptions(2, SubscriptionWaitStrategy.BLOCKING, null, 1, STREAM_KEY);
+
+    final int deserializerThreads;
+    final SubscriptionWaitStrategy waitStrategy;
+    @Nullable final ThreadFactory threadFactory;
+    final int handlerLanes;
+    final Function<? super EventRecord, ?> laneKey;
+
+    DisruptorOptions(int deserializerThreads,
+                     SubscriptionWaitStrategy waitStrategy,
+                     @Nullable ThreadFactory threadFactory,
+                     int handlerLanes,
+                     Function<? super EventRecord, ?> laneKey) {
+        if (deserializerThreads < 1) {
+            throw new IllegalArgumentException("Deserializer threads must be positive: " + deserializerThreads);
+        }
+        if (handlerLanes < 1) {
+            throw new IllegalArgumentException("Handler lanes must be positive: " + handlerLanes);
+        }
+        this.deserializerThreads = deserializerThreads;
+        this.waitStrategy = requireNonNull(waitStrategy);
+        this.threadFactory = threadFactory;
+        this.handlerLanes = handlerLanes;
+        this.laneKey = requireNonNull(laneKey);
+    }
+
+    @Override
+    public String toString() {
+        return "DisruptorOptions{" +
+                "deserializerThreads=" + deserializerThreads +
+                ", waitStrategy=" + waitStrategy +
+                ", threadFactory=" + threadFactory +
+                ", handlerLanes=" + handlerLanes +
+                ", laneKey=" + laneKey +
+                '}';
+    }
+}
@@ -15,6 +15,14 @@ import static java.util.Objects.requireNonNull;
 public interface EventHandler {
     void apply(Position position, Event deserialized);
 
+    /**
+     * Called after the last event of each batch the subscription has ready, with the position of that event, so that
+     * a handler can collect what it has to write and write it once per batch. Batches grow while the handler falls
+     * behind, as during catch-up, and shrink to single events once it keeps up.
+     */
+    default void onBatchEnd(Position position) {
+    }
+
     default EventHandler andThen(EventHandler o) {
         return SequencingEventHandler.flatten(Arrays.asList(this, requireNonNull(o)));
     }
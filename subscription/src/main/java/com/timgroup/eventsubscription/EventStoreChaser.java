@@ -9,9 +9,11 @@ import com.timgroup.eventsubscription.lifecycleevents.CaughtUp;
 import com.timgroup.eventsubscription.lifecycleevents.InitialCatchupCompleted;
 
 import java.time.Clock;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -48,35 +50,119 @@ public class EventStoreChaser implements Runnable {
 
     @Override
     public void run() {
+        chase();
+    }
+
+    /**
+     * Reads and publishes everything after the last position read.
+     *
+     * @return whether any events were read
+     */
+    boolean chase() {
+        Position startPosition = lastPosition;
         try {
             try (Stream<ResolvedEvent> stream = eventSource.apply(lastPosition)) {
-                stream.forEachOrdered(nextEvent -> {
-                    checkForShutdown();
-                    listener.chaserReceived(nextEvent.position());
-                    lastPosition = nextEvent.position();
-                    publish(translator.setting(nextEvent));
-                });
+                stream.forEachOrdered(this::receive);
             }
+            upToDate();
+        } catch (ShutdownException e) {
+            // Ignore
+        } catch (Exception e) {
+            listener.transientFailure(e);
+        }
+        return lastPosition != startPosition;
+    }
 
-            if (initialCatchupCompleted) {
-                publish((event, sequence) -> {
-                    event.deserializedEvent = new CaughtUp(lastPosition, clock.instant());
-                    event.position = lastPosition;
-                });
-            } else {
-                initialCatchupCompleted = true;
-                publish((event, sequence) -> {
-                    event.deserializedEvent = new InitialCatchupCompleted(lastPosition, clock.instant());
-                    event.position = lastPosition;
-                });
+    /**
+     * Reads and publishes events after the last position read for as long as their positions satisfy the predicate.
+     *
+     * @return whether reading stopped at an event not satisfying the predicate or at the end, and so not because of
+     * a failure or because the subscription stopped
+     */
+    boolean chaseWhile(Predicate<Position> reading) {
+        try {
+            try (Stream<ResolvedEvent> stream = eventSource.apply(lastPosition)) {
+                Iterator<ResolvedEvent> events = stream.iterator();
+                while (events.hasNext()) {
+                    ResolvedEvent nextEvent = events.next();
+                    if (!reading.test(nextEvent.position())) {
+                        break;
+                    }
+                    receive(nextEvent);
+                }
             }
-            listener.chaserUpToDate(lastPosition);
-            counter.ifPresent(Counter::inc);
+            upToDate();
+            return true;
         } catch (ShutdownException e) {
-            // Ignore
+            return false;
         } catch (Exception e) {
             listener.transientFailure(e);
+            return false;
+        }
+    }
+
+    /**
+     * Publishes an event read by someone else.
+     *
+     * @return false if the subscription has stopped
+     */
+    boolean received(ResolvedEvent event) {
+        try {
+            receive(event);
+            return true;
+        } catch (ShutdownException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Publishes that the events read by someone else are up to date.
+     *
+     * @return false if the subscription has stopped
+     */
+    boolean caughtUp() {
+        try {
+            upToDate();
+            return true;
+        } catch (ShutdownException e) {
+            return false;
+        }
+    }
+
+    void failed(Exception e) {
+        listener.transientFailure(e);
+    }
+
+    Position lastPosition() {
+        return lastPosition;
+    }
+
+    boolean isRunning() {
+        return isRunning.get();
+    }
+
+    private void receive(ResolvedEvent nextEvent) throws ShutdownException {
+        checkForShutdown();
+        listener.chaserReceived(nextEvent.position());
+        lastPosition = nextEvent.position();
+        publish(translator.setting(nextEvent));
+    }
+
+    private void upToDate() throws ShutdownException {
+        if (initialCatchupCompleted) {
+            publish((event, sequence) -> {
+                event.deserializedEvent = new CaughtUp(lastPosition, clock.instant());
+                event.position = lastPosition;
+            });
+        } else {
+            initialCatchupCompleted = true;
+            publish((event, sequence) -> {
+                event.deserializedEvent = new InitialCatchupCompleted(lastPosition, clock.instant());
+                event.position = lastPosition;
+            });
         }
+        listener.chaserUpToDate(lastPosition);
+        counter.ifPresent(Counter::inc);
     }
 
     private void checkForShutdown() throws ShutdownException {
@@ -1,16 +1,19 @@
 package com.timgroup.eventsubscription;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
-import com.lmax.disruptor.BlockingWaitStrategy;
 import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.EventHandlerGroup;
 import com.timgroup.eventstore.api.EventCategoryReader;
 import com.timgroup.eventstore.api.EventReader;
 import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.WriteNotifier;
 import com.timgroup.eventsubscription.healthcheck.ChaserHealth;
 import com.timgroup.eventsubscription.healthcheck.DurationThreshold;
 import com.timgroup.eventsubscription.healthcheck.EventSubscriptionStatus;
+import com.timgroup.eventsubscription.lifecycleevents.SubscriptionLifecycleEvent;
 import com.timgroup.eventsubscription.lifecycleevents.SubscriptionTerminated;
 import com.timgroup.structuredevents.EventSink;
 import com.timgroup.tucker.info.Component;
@@ -18,9 +21,11 @@ import com.timgroup.tucker.info.Health;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -35,7 +40,7 @@ import java.util.stream.Stream;
 import static com.lmax.disruptor.dsl.ProducerType.SINGLE;
 import static java.lang.String.format;
 import static java.util.Collections.unmodifiableCollection;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.Objects.requireNonNull;
 
 public class EventSubscription {
     private static final Logger LOG = LoggerFactory.getLogger(EventSubscription.class);
@@ -44,8 +49,10 @@ public class EventSubscription {
     private final ScheduledExecutorService chaserExecutor;
     private final ExecutorService eventHandlerExecutor;
     private final Disruptor<EventContainer> disruptor;
-    private final EventStoreChaser chaser;
-    private final Duration runFrequency;
+    @Nullable private final ChaserScheduler chaserScheduler;
+    @Nullable private final SubscriptionHub.Membership hubMembership;
+    @Nullable private final WriteNotifier writeNotifier;
+    @Nullable private volatile WriteNotifier.Registration writeRegistration;
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     EventSubscription(
@@ -80,7 +87,46 @@ public class EventSubscription {
                 null
         );
     }
-    
+
+    EventSubscription(
+                String name,
+                String description,
+                Function<Position, Stream<ResolvedEvent>> eventSource,
+                Deserializer<? extends Event> deserializer,
+                EventHandler eventHandler,
+                Clock clock,
+                int bufferSize,
+                Duration runFrequency,
+                Position startingPosition,
+                DurationThreshold initialReplay,
+                DurationThreshold staleness,
+                EventSink eventSink,
+                Optional<MetricRegistry> metricRegistry,
+                DurationThreshold chaserStaleness
+    ) {
+        this(
+                name,
+                description,
+                eventSource,
+                deserializer,
+                eventHandler,
+                clock,
+                bufferSize,
+                runFrequency,
+                runFrequency,
+                null,
+                null,
+                null,
+                DisruptorOptions.DEFAULT,
+                startingPosition,
+                initialReplay,
+                staleness,
+                eventSink,
+                metricRegistry,
+                chaserStaleness
+        );
+    }
+
     EventSubscription(
                 String name,
                 String description,
@@ -90,6 +136,11 @@ public class EventSubscription {
                 Clock clock,
                 int bufferSize,
                 Duration runFrequency,
+                Duration maximumIdleRunFrequency,
+                @Nullable WriteNotifier writeNotifier,
+                @Nullable SubscriptionHub hub,
+                @Nullable SubscriptionHub.Source hubSource,
+                DisruptorOptions disruptorOptions,
                 Position startingPosition,
                 DurationThreshold initialReplay,
                 DurationThreshold staleness,
@@ -97,16 +148,18 @@ public class EventSubscription {
                 Optional<MetricRegistry> metricRegistry,
                 DurationThreshold chaserStaleness
     ) {
-        this.runFrequency = runFrequency;
+        this.writeNotifier = writeNotifier;
         ChaserHealth chaserHealth = chaserStaleness == null
-                ? new ChaserHealth(name, clock, runFrequency)
+                ? new ChaserHealth(name, clock, maximumIdleRunFrequency)
                 : new ChaserHealth(name, clock, chaserStaleness.getWarning(), chaserStaleness.getCritical()
         );
         subscriptionStatus = new EventSubscriptionStatus(name, clock, initialReplay, staleness, eventSink);
 
         chaserExecutor = Executors.newScheduledThreadPool(1, new NamedThreadFactory("EventChaser-" + name));
-        eventHandlerExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("EventSubscription-" + name));
-        disruptor = new Disruptor<>(new EventContainer.Factory(), bufferSize, eventHandlerExecutor, SINGLE, new BlockingWaitStrategy());
+        eventHandlerExecutor = Executors.newCachedThreadPool(disruptorOptions.threadFactory == null
+                ? new NamedThreadFactory("EventSubscription-" + name)
+                : new NamedThreadFactory("EventSubscription-" + name, disruptorOptions.threadFactory));
+        disruptor = new Disruptor<>(new EventContainer.Factory(), bufferSize, eventHandlerExecutor, SINGLE, disruptorOptions.waitStrategy.create());
 
         disruptor.handleExceptionsWith(new ExceptionHandler<EventContainer>() {
             @Override
@@ -131,24 +184,26 @@ public class EventSubscription {
                 LOG.error("Error shutting down disruptor", ex);
             }
         });
-        disruptor.handleEventsWithWorkerPool(
-                new DisruptorDeserializationAdapter(deserializer),
-                new DisruptorDeserializationAdapter(deserializer)
-        ).then(new DisruptorEventHandlerAdapter((position, deserialized) -> {
-            if (running.get()) {
-                boolean applied = false;
-                try {
-                    eventHandler.apply(position, deserialized);
-                    applied = true;
-                } finally {
-                    if (applied || (deserialized instanceof SubscriptionTerminated)) {
-                        subscriptionStatus.apply(position, deserialized);
-                    }
-                }
-            }
-        }, metricRegistry.map(r -> r.counter(String.format("eventsubscription.%s.missedCatchup", name)))));
+        DisruptorDeserializationAdapter[] deserializers = new DisruptorDeserializationAdapter[disruptorOptions.deserializerThreads];
+        Arrays.setAll(deserializers, i -> new DisruptorDeserializationAdapter(deserializer));
+        EventHandlerGroup<EventContainer> deserialized = disruptor.handleEventsWithWorkerPool(deserializers);
+        Optional<Counter> missedCatchupCounter = metricRegistry.map(r -> r.counter(String.format("eventsubscription.%s.missedCatchup", name)));
+        if (disruptorOptions.handlerLanes == 1) {
+            deserialized.then(new DisruptorEventHandlerAdapter(new HandlerStage(eventHandler, false), missedCatchupCounter));
+        } else {
+            KeyedLaneHandler[] lanes = new KeyedLaneHandler[disruptorOptions.handlerLanes];
+            Arrays.setAll(lanes, lane -> new KeyedLaneHandler(lane, lanes.length, disruptorOptions.laneKey, new LaneStage(eventHandler)));
+            deserialized.then(lanes).then(new DisruptorEventHandlerAdapter(new HandlerStage(eventHandler, true), missedCatchupCounter));
+        }
 
-        chaser = new EventStoreChaser(eventSource, startingPosition, disruptor, chaserHealth, clock, metricRegistry.map(r -> r.counter(format("eventsubscription.%s.chaserRun", name))), running::get);
+        EventStoreChaser chaser = new EventStoreChaser(eventSource, startingPosition, disruptor, chaserHealth, clock, metricRegistry.map(r -> r.counter(format("eventsubscription.%s.chaserRun", name))), running::get);
+        if (hub == null) {
+            chaserScheduler = new ChaserScheduler(chaserExecutor, chaser::chase, runFrequency, maximumIdleRunFrequency);
+            hubMembership = null;
+        } else {
+            chaserScheduler = null;
+            hubMembership = hub.membership(requireNonNull(hubSource), eventSource, chaser, chaserExecutor, writeNotifier);
+        }
 
         statusComponents = new ArrayList<>();
         statusComponents.add(Component.supplyInfo("event-subscription-description", "Subscription source (" + name + ")", () -> description));
@@ -173,12 +228,28 @@ public class EventSubscription {
         running.set(true);
         subscriptionStatus.notifyStarted();
         disruptor.start();
-        chaserExecutor.scheduleWithFixedDelay(chaser, 0, runFrequency.toMillis(), MILLISECONDS);
+        if (hubMembership != null) {
+            hubMembership.start();
+        } else {
+            chaserScheduler.start();
+            if (writeNotifier != null) {
+                writeRegistration = writeNotifier.addWriteListener(chaserScheduler::wakeUp);
+            }
+        }
     }
 
     public void stop() {
         try {
             running.set(false);
+            WriteNotifier.Registration registration = writeRegistration;
+            if (registration != null) {
+                registration.close();
+            }
+            if (hubMembership != null) {
+                hubMembership.stop();
+            } else {
+                chaserScheduler.stop();
+            }
             chaserExecutor.shutdown();
             disruptor.halt();
             eventHandlerExecutor.shutdown();
@@ -189,6 +260,75 @@ public class EventSubscription {
         }
     }
 
+    /**
+     * Applies events to the handler and then to the subscription status, in order. Once events have been handled in
+     * lanes, this applies only lifecycle events to the handler, so that their positions, like every position the status
+     * sees, are ones up to which every event has been handled.
+     */
+    private final class HandlerStage implements EventHandler {
+        private final EventHandler eventHandler;
+        private final boolean afterLanes;
+
+        private HandlerStage(EventHandler eventHandler, boolean afterLanes) {
+            this.eventHandler = eventHandler;
+            this.afterLanes = afterLanes;
+        }
+
+        @Override
+        public void apply(Position position, Event deserialized) {
+            if (running.get()) {
+                if (afterLanes && !(deserialized instanceof SubscriptionLifecycleEvent)) {
+                    subscriptionStatus.apply(position, deserialized);
+                    return;
+                }
+                boolean applied = false;
+                try {
+                    eventHandler.apply(position, deserialized);
+                    applied = true;
+                } finally {
+                    if (applied || (deserialized instanceof SubscriptionTerminated)) {
+                        subscriptionStatus.apply(position, deserialized);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onBatchEnd(Position position) {
+            if (running.get() && !afterLanes) {
+                eventHandler.onBatchEnd(position);
+            }
+        }
+    }
+
+    private final class LaneStage implements EventHandler {
+        private final EventHandler eventHandler;
+
+        private LaneStage(EventHandler eventHandler) {
+            this.eventHandler = eventHandler;
+        }
+
+        @Override
+        public void apply(Position position, Event deserialized) {
+            if (running.get()) {
+                try {
+                    eventHandler.apply(position, deserialized);
+                } finally {
+                    if (deserialized instanceof SubscriptionTerminated) {
+                        subscriptionStatus.apply(position, deserialized);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onBatchEnd(Position position) {
+            if (running.get()) {
+                eventHandler.onBatchEnd(position);
+            }
+        }
+    }
+
     public static String descriptionFor(EventCategoryReader eventReader,
                                   String category) {
         return "reader=" + eventReader.toString() + ",category="+category;
@@ -0,0 +1,100 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.EventCategoryReader;
+import com.timgroup.eventstore.api.EventReader;
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.WriteNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Notices writes made by other processes by polling the head position of a store or category, which for the mysql
+ * store is a single {@code max(position)} lookup on the primary key. Share one poller between all the subscriptions
+ * reading the same source, so that they cost one cheap query per interval between them rather than a read each, and
+ * give it to them with {@link SubscriptionBuilder#wakingOn(WriteNotifier)}.
+ *
+ * <p>The poller runs on its own thread while it has listeners. A head position cache on the reader delays
+ * notifications by up to its time to live, so configure a poll interval no shorter than that.</p>
+ */
+public final class HeadPositionPoller implements WriteNotifier {
+    private static final Logger LOG = LoggerFactory.getLogger(HeadPositionPoller.class);
+
+    private final String name;
+    private final Supplier<Position> headPosition;
+    private final Duration pollInterval;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @Nullable private ScheduledExecutorService executor;
+    @Nullable private volatile Position lastHeadPosition;
+
+    public HeadPositionPoller(String name, Supplier<Position> headPosition, Duration pollInterval) {
+        if (pollInterval.isNegative() || pollInterval.isZero()) {
+            throw new IllegalArgumentException("Poll interval must be positive: " + pollInterval);
+        }
+        this.name = requireNonNull(name);
+        this.headPosition = requireNonNull(headPosition);
+        this.pollInterval = pollInterval;
+    }
+
+    public static HeadPositionPoller polling(EventReader eventReader, Duration pollInterval) {
+        return new HeadPositionPoller(EventSubscription.descriptionFor(eventReader), eventReader::headPosition, pollInterval);
+    }
+
+    public static HeadPositionPoller polling(EventCategoryReader categoryReader, String category, Duration pollInterval) {
+        return new HeadPositionPoller(EventSubscription.descriptionFor(categoryReader, category), () -> categoryReader.headPositionOfCategory(category), pollInterval);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Registration addWriteListener(Runnable listener) {
+        Runnable registered = listener::run;
+        listeners.add(registered);
+        if (executor == null) {
+            lastHeadPosition = null;
+            executor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("HeadPositionPoller-" + name));
+            executor.scheduleWithFixedDelay(this::poll, 0, pollInterval.toNanos(), NANOSECONDS);
+        }
+        return () -> remove(registered);
+    }
+
+    private synchronized void remove(Runnable registered) {
+        if (listeners.remove(registered) && listeners.isEmpty() && executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void poll() {
+        try {
+            Position head = headPosition.get();
+            Position previous = lastHeadPosition;
+            lastHeadPosition = head;
+            if (previous != null && !Objects.equals(previous, head)) {
+                listeners.forEach(Runnable::run);
+            }
+        } catch (Exception e) {
+            LOG.warn("Failure polling head position of " + name, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HeadPositionPoller{" +
+                "name='" + name + '\'' +
+                ", pollInterval=" + pollInterval +
+                '}';
+    }
+}
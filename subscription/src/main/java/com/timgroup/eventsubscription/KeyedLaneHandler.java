@@ -0,0 +1,64 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.EventRecord;
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventsubscription.lifecycleevents.SubscriptionLifecycleEvent;
+import com.timgroup.eventsubscription.lifecycleevents.SubscriptionTerminated;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Handles the events whose keys fall in one of several lanes, leaving the rest to the other lanes and lifecycle events
+ * to the stage after all of them. Events with the same key are handled by the same lane, in order.
+ */
+final class KeyedLaneHandler implements com.lmax.disruptor.EventHandler<EventContainer> {
+    private final int lane;
+    private final int lanes;
+    private final Function<? super EventRecord, ?> key;
+    private final EventHandler eventHandler;
+
+    @Nullable private Position lastApplied;
+
+    KeyedLaneHandler(int lane, int lanes, Function<? super EventRecord, ?> key, EventHandler eventHandler) {
+        this.lane = lane;
+        this.lanes = lanes;
+        this.key = requireNonNull(key);
+        this.eventHandler = requireNonNull(eventHandler);
+    }
+
+    static int laneOf(Object key, int lanes) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes);
+    }
+
+    @Override
+    public void onEvent(EventContainer eventContainer, long sequence, boolean endOfBatch) throws Exception {
+        Event deserialized = eventContainer.deserializedEvent;
+        Position position = eventContainer.position;
+        if (eventContainer.event != null && deserialized != null && !(deserialized instanceof SubscriptionLifecycleEvent)) {
+            try {
+                if (laneOf(key.apply(eventContainer.event.eventRecord()), lanes) == lane) {
+                    eventHandler.apply(position, deserialized);
+                    lastApplied = position;
+                }
+            } catch (Exception e) {
+                eventHandler.apply(position, new SubscriptionTerminated(position, e));
+                throw e;
+            }
+        }
+
+        if (endOfBatch && lastApplied != null) {
+            Position batchEnd = lastApplied;
+            lastApplied = null;
+            try {
+                eventHandler.onBatchEnd(batchEnd);
+            } catch (Exception e) {
+                eventHandler.apply(batchEnd, new SubscriptionTerminated(batchEnd, e));
+                throw e;
+            }
+        }
+    }
+}
@@ -6,14 +6,24 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class NamedThreadFactory implements ThreadFactory {
     private final AtomicInteger count = new AtomicInteger();
     private final String name;
+    private final ThreadFactory threadFactory;
 
     public NamedThreadFactory(String name) {
+        this(name, Thread::new);
+    }
+
+    /**
+     * Names threads made by another factory, such as one that pins them to cores.
+     */
+    public NamedThreadFactory(String name, ThreadFactory threadFactory) {
         this.name = name;
+        this.threadFactory = threadFactory;
     }
 
     @Override
     public Thread newThread(Runnable r) {
-        Thread thread = new Thread(r, name + "-" + count.getAndIncrement());
+        Thread thread = threadFactory.newThread(r);
+        thread.setName(name + "-" + count.getAndIncrement());
         thread.setDaemon(false);
         return thread;
     }
@@ -36,6 +36,13 @@ final class SequencingEventHandler implements EventHandler {
         }
     }
 
+    @Override
+    public void onBatchEnd(Position position) {
+        for (EventHandler handler : handlers) {
+            handler.onBatchEnd(position);
+        }
+    }
+
     @VisibleForTesting
     int size() {
         return handlers.size();
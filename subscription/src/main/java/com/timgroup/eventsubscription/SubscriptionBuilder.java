@@ -3,8 +3,10 @@ package com.timgroup.eventsubscription;
 import com.codahale.metrics.MetricRegistry;
 import com.timgroup.eventstore.api.EventCategoryReader;
 import com.timgroup.eventstore.api.EventReader;
+import com.timgroup.eventstore.api.EventRecord;
 import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.WriteNotifier;
 import com.timgroup.eventsubscription.healthcheck.DurationThreshold;
 import com.timgroup.structuredevents.EventSink;
 import com.timgroup.structuredevents.Slf4jEventSink;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -26,10 +29,20 @@ public class SubscriptionBuilder {
     private final String name;
     private Clock clock = Clock.systemUTC();
     private Duration runFrequency = Duration.ofSeconds(1);
+    private Duration maximumIdleRunFrequency = null;
+    private WriteNotifier writeNotifier = null;
+    private WriteNotifier readerWriteNotifier = null;
+    private SubscriptionHub.Source hubSource = null;
+    private SubscriptionHub hub = null;
     private DurationThreshold initialReplay = new DurationThreshold(Duration.ofSeconds(1), Duration.ofSeconds(2));
     private DurationThreshold staleness;
     private DurationThreshold chaserStaleness;
     private int bufferSize = 1024;
+    private int deserializerThreads = DisruptorOptions.DEFAULT.deserializerThreads;
+    private SubscriptionWaitStrategy waitStrategy = DisruptorOptions.DEFAULT.waitStrategy;
+    private ThreadFactory threadFactory = null;
+    private int handlerLanes = DisruptorOptions.DEFAULT.handlerLanes;
+    private Function<? super EventRecord, ?> laneKey = DisruptorOptions.DEFAULT.laneKey;
     private final List<EventHandler> handlers = new ArrayList<>();
 
     private Function<Position, Stream<ResolvedEvent>> reader = null;
@@ -62,11 +75,97 @@ public class SubscriptionBuilder {
         return this;
     }
 
+    /**
+     * Deserializes events on this many threads in parallel, ahead of the handler thread. Two by default.
+     */
+    public SubscriptionBuilder deserializingOnThreads(int deserializerThreads) {
+        if (deserializerThreads < 1) {
+            throw new IllegalArgumentException("Deserializer threads must be positive: " + deserializerThreads);
+        }
+        this.deserializerThreads = deserializerThreads;
+        return this;
+    }
+
+    /**
+     * How deserializer and handler threads wait for events. {@link SubscriptionWaitStrategy#BLOCKING} by default.
+     */
+    public SubscriptionBuilder waitingUsing(SubscriptionWaitStrategy waitStrategy) {
+        this.waitStrategy = requireNonNull(waitStrategy);
+        return this;
+    }
+
+    /**
+     * Makes the deserializer and handler threads, which are still named after the subscription. This is where to
+     * pin them to cores, or give them a priority, as spinning wait strategies want.
+     */
+    public SubscriptionBuilder withThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = requireNonNull(threadFactory);
+        return this;
+    }
+
+    /**
+     * Handles events in this many lanes in parallel, each on its own thread, keeping the events of each stream in
+     * order.
+     *
+     * @see #handlingInLanes(int, Function)
+     */
+    public SubscriptionBuilder handlingInLanes(int lanes) {
+        return handlingInLanes(lanes, DisruptorOptions.STREAM_KEY);
+    }
+
+    /**
+     * Handles events in this many lanes in parallel, each on its own thread. Events with equal keys are handled by
+     * the same lane, in order; events with different keys may be handled in any order, so handlers must be safe to
+     * call from several threads at once.
+     *
+     * <p>Lifecycle events are handled after every earlier event has been handled by every lane, so their positions,
+     * and the position reported by the subscription status, are safe to checkpoint. The positions of other events are
+     * not, as lanes run ahead of each other. Batch ends are reported on each lane's thread, for the events that lane
+     * handled.</p>
+     */
+    public SubscriptionBuilder handlingInLanes(int lanes, Function<? super EventRecord, ?> key) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Handler lanes must be positive: " + lanes);
+        }
+        this.handlerLanes = lanes;
+        this.laneKey = requireNonNull(key);
+        return this;
+    }
+
     public SubscriptionBuilder withRunFrequency(Duration runFrequency) {
         this.runFrequency = requireNonNull(runFrequency);
         return this;
     }
 
+    /**
+     * Backs off while there is nothing new to read, doubling the delay before each run that follows an empty one,
+     * from the run frequency up to the given maximum. Health thresholds derived from the run frequency are derived
+     * from the maximum instead. Best combined with {@link #wakingOn(WriteNotifier)}, so that new events are still
+     * read straight away.
+     */
+    public SubscriptionBuilder withIdleBackoff(Duration maximumRunFrequency) {
+        this.maximumIdleRunFrequency = requireNonNull(maximumRunFrequency);
+        return this;
+    }
+
+    /**
+     * Runs the chaser as soon as the notifier reports a write, rather than waiting for the next scheduled run. Readers
+     * that are themselves {@link WriteNotifier}s, such as the in-memory store, are used this way without asking.
+     */
+    public SubscriptionBuilder wakingOn(WriteNotifier writeNotifier) {
+        this.writeNotifier = requireNonNull(writeNotifier);
+        return this;
+    }
+
+    /**
+     * Reads through a chaser shared with the hub's other subscriptions reading from the same reader instance, at the
+     * hub's run frequency.
+     */
+    public SubscriptionBuilder sharingReadsThrough(SubscriptionHub hub) {
+        this.hub = requireNonNull(hub);
+        return this;
+    }
+
     public SubscriptionBuilder withMetrics(MetricRegistry metricRegistry) {
         this.metricRegistry = requireNonNull(metricRegistry);
         return this;
@@ -95,6 +194,8 @@ public class SubscriptionBuilder {
         this.reader = eventReader::readAllForwards;
         this.readerDescription = EventSubscription.descriptionFor(eventReader);
         this.startingPosition = startingPosition;
+        this.readerWriteNotifier = writeNotifierOf(eventReader);
+        this.hubSource = new SubscriptionHub.Source(eventReader, null, eventReader::storePositionCodec);
         return this;
     }
 
@@ -106,6 +207,8 @@ public class SubscriptionBuilder {
         this.reader = pos -> categoryReader.readCategoryForwards(category, pos);
         this.readerDescription = EventSubscription.descriptionFor(categoryReader, category);
         this.startingPosition = startingPosition;
+        this.readerWriteNotifier = writeNotifierOf(categoryReader);
+        this.hubSource = new SubscriptionHub.Source(categoryReader, category, () -> categoryReader.categoryPositionCodec(category));
         return this;
     }
 
@@ -151,11 +254,19 @@ public class SubscriptionBuilder {
             eventHandler = new SequencingEventHandler(handlers);
         }
 
+        Duration runFrequency = hub == null ? this.runFrequency : hub.runFrequency();
+        Duration maximumRunFrequency = hub == null
+                ? (maximumIdleRunFrequency == null ? runFrequency : maximumIdleRunFrequency)
+                : hub.maximumIdleRunFrequency();
+        if (maximumRunFrequency.compareTo(runFrequency) < 0) {
+            throw new RuntimeException("Idle backoff is configured < run frequency.");
+        }
+
         if (staleness == null) {
-            staleness = new DurationThreshold(runFrequency.multipliedBy(5), runFrequency.multipliedBy(30));
+            staleness = new DurationThreshold(maximumRunFrequency.multipliedBy(5), maximumRunFrequency.multipliedBy(30));
         }
 
-        if (staleness.getWarning().compareTo(runFrequency) <= 0) {
+        if (staleness.getWarning().compareTo(maximumRunFrequency) <= 0) {
             throw new RuntimeException("Staleness threshold is configured <= run frequency. This will result in a flickering alert.");
         }
 
@@ -168,6 +279,11 @@ public class SubscriptionBuilder {
                 clock,
                 bufferSize,
                 runFrequency,
+                maximumRunFrequency,
+                writeNotifier == null ? readerWriteNotifier : writeNotifier,
+                hub,
+                hubSource,
+                new DisruptorOptions(deserializerThreads, waitStrategy, threadFactory, handlerLanes, laneKey),
                 startingPosition,
                 initialReplay,
                 staleness,
@@ -177,4 +293,7 @@ public class SubscriptionBuilder {
         );
     }
 
+    private static WriteNotifier writeNotifierOf(Object reader) {
+        return reader instanceof WriteNotifier ? (WriteNotifier) reader : null;
+    }
 }
@@ -0,0 +1,277 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.PositionCodec;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.WriteNotifier;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Shares reads between subscriptions to the same source, so that co-located subscriptions to a category read its
+ * events once between them rather than once each. Subscriptions join a hub with
+ * {@link SubscriptionBuilder#sharingReadsThrough(SubscriptionHub)}, and share a chaser when they were built reading
+ * from the same reader instance, and from the same category or all categories.
+ *
+ * <p>A subscription that joins first catches up from its own starting position on its own thread, then reads the
+ * few events between where it got to and where the shared chaser has got to, and from then on receives the events the
+ * shared chaser reads. The shared chaser publishes each event to each subscription's buffer in turn, so one
+ * subscription with a full buffer holds up the others reading the same source.</p>
+ *
+ * <p>Shared chasers run on the hub's threads at the hub's run frequency, which replaces the run frequency of the
+ * subscriptions. Stop the hub once the subscriptions using it have stopped.</p>
+ */
+public final class SubscriptionHub {
+    private final Duration runFrequency;
+    private final Duration maximumIdleRunFrequency;
+    private final ScheduledExecutorService executor;
+    private final Map<Source, SharedChaser> chasers = new HashMap<>();
+
+    public SubscriptionHub(String name, Duration runFrequency) {
+        this(name, runFrequency, runFrequency, 1);
+    }
+
+    /**
+     * @param maximumIdleRunFrequency the delay shared chasers back off to while there is nothing new to read, as
+     *                                for {@link SubscriptionBuilder#withIdleBackoff(Duration)}
+     * @param threads the number of shared chasers that can read at the same time
+     */
+    public SubscriptionHub(String name, Duration runFrequency, Duration maximumIdleRunFrequency, int threads) {
+        if (maximumIdleRunFrequency.compareTo(runFrequency) < 0) {
+            throw new IllegalArgumentException("Idle backoff " + maximumIdleRunFrequency + " is less than run frequency " + runFrequency);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive: " + threads);
+        }
+        this.runFrequency = runFrequency;
+        this.maximumIdleRunFrequency = maximumIdleRunFrequency;
+        this.executor = Executors.newScheduledThreadPool(threads, new NamedThreadFactory("SubscriptionHub-" + name));
+    }
+
+    Duration runFrequency() {
+        return runFrequency;
+    }
+
+    Duration maximumIdleRunFrequency() {
+        return maximumIdleRunFrequency;
+    }
+
+    public void stop() {
+        synchronized (this) {
+            chasers.values().forEach(SharedChaser::stop);
+            chasers.clear();
+        }
+        executor.shutdown();
+    }
+
+    Membership membership(Source source,
+                          Function<Position, Stream<ResolvedEvent>> eventSource,
+                          EventStoreChaser chaser,
+                          ScheduledExecutorService catchupExecutor,
+                          @Nullable WriteNotifier writeNotifier) {
+        return new Membership(source, eventSource, chaser, catchupExecutor, writeNotifier);
+    }
+
+    private synchronized SharedChaser attach(Membership membership) {
+        SharedChaser sharedChaser = chasers.computeIfAbsent(membership.source, source -> {
+            SharedChaser created = new SharedChaser(membership.eventSource, source.positionCodec.get());
+            created.scheduler.start();
+            return created;
+        });
+        sharedChaser.attached++;
+        if (membership.writeNotifier != null) {
+            sharedChaser.writeRegistrations.computeIfAbsent(membership.writeNotifier, notifier -> notifier.addWriteListener(sharedChaser.scheduler::wakeUp));
+        }
+        return sharedChaser;
+    }
+
+    private synchronized void detach(Membership membership, SharedChaser sharedChaser) {
+        sharedChaser.members.remove(membership);
+        sharedChaser.merging.remove(membership);
+        if (--sharedChaser.attached == 0 && chasers.remove(membership.source, sharedChaser)) {
+            sharedChaser.stop();
+        }
+    }
+
+    /**
+     * Identifies what a subscription reads, by reader instance and category.
+     */
+    static final class Source {
+        private final Object reader;
+        @Nullable private final String category;
+        private final Supplier<PositionCodec> positionCodec;
+
+        Source(Object reader, @Nullable String category, Supplier<PositionCodec> positionCodec) {
+            this.reader = requireNonNull(reader);
+            this.category = category;
+            this.positionCodec = requireNonNull(positionCodec);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Source that = (Source) o;
+            return reader == that.reader && Objects.equals(category, that.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(reader) + Objects.hashCode(category);
+        }
+    }
+
+    final class Membership {
+        private final Source source;
+        private final Function<Position, Stream<ResolvedEvent>> eventSource;
+        private final EventStoreChaser chaser;
+        private final ScheduledExecutorService catchupExecutor;
+        @Nullable private final WriteNotifier writeNotifier;
+
+        @Nullable private SharedChaser sharedChaser;
+
+        private Membership(Source source,
+                           Function<Position, Stream<ResolvedEvent>> eventSource,
+                           EventStoreChaser chaser,
+                           ScheduledExecutorService catchupExecutor,
+                           @Nullable WriteNotifier writeNotifier) {
+            this.source = requireNonNull(source);
+            this.eventSource = requireNonNull(eventSource);
+            this.chaser = requireNonNull(chaser);
+            this.catchupExecutor = requireNonNull(catchupExecutor);
+            this.writeNotifier = writeNotifier;
+        }
+
+        synchronized void start() {
+            SharedChaser joining = attach(this);
+            sharedChaser = joining;
+            catchUp(joining, 0);
+        }
+
+        /**
+         * Catches up on the subscription's own thread, and again there a run later if reading fails, so that the
+         * shared chaser only ever has the last few events to read for a joiner.
+         */
+        void catchUp(SharedChaser joining, long delayNanos) {
+            try {
+                catchupExecutor.schedule(() -> {
+                    if (chaser.chaseWhile(position -> true)) {
+                        joining.merge(this);
+                    } else if (chaser.isRunning()) {
+                        catchUp(joining, runFrequency.toNanos());
+                    }
+                }, delayNanos, NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // The subscription has stopped
+            }
+        }
+
+        synchronized void stop() {
+            if (sharedChaser != null) {
+                detach(this, sharedChaser);
+                sharedChaser = null;
+            }
+        }
+    }
+
+    private final class SharedChaser {
+        private final Function<Position, Stream<ResolvedEvent>> eventSource;
+        private final PositionCodec positionCodec;
+        private final ChaserScheduler scheduler;
+        private final List<Membership> members = new CopyOnWriteArrayList<>();
+        private final Queue<Membership> merging = new ConcurrentLinkedQueue<>();
+        private final Map<WriteNotifier, WriteNotifier.Registration> writeRegistrations = new IdentityHashMap<>();
+        private int attached;
+
+        @Nullable private Position tail;
+
+        private SharedChaser(Function<Position, Stream<ResolvedEvent>> eventSource, PositionCodec positionCodec) {
+            this.eventSource = eventSource;
+            this.positionCodec = positionCodec;
+            this.scheduler = new ChaserScheduler(executor, this::chase, runFrequency, maximumIdleRunFrequency);
+        }
+
+        void stop() {
+            writeRegistrations.values().forEach(WriteNotifier.Registration::close);
+            writeRegistrations.clear();
+            scheduler.stop();
+        }
+
+        void merge(Membership membership) {
+            merging.add(membership);
+            scheduler.wakeUp();
+        }
+
+        private boolean chase() {
+            if (members.isEmpty()) {
+                // Nobody is following the tail, so let the next joiner set it from wherever it has caught up to
+                tail = null;
+            }
+            Position startPosition = tail;
+            if (startPosition != null && !members.isEmpty()) {
+                try (Stream<ResolvedEvent> events = eventSource.apply(startPosition)) {
+                    events.forEachOrdered(event -> {
+                        tail = event.position();
+                        members.removeIf(member -> !member.chaser.received(event));
+                    });
+                    members.removeIf(member -> !member.chaser.caughtUp());
+                } catch (Exception e) {
+                    members.forEach(member -> member.chaser.failed(e));
+                }
+            }
+
+            for (int pending = merging.size(); pending > 0; pending--) {
+                Membership joining = merging.poll();
+                if (joining == null) {
+                    break;
+                }
+                Position limit = tail;
+                if (limit != null && positionCodec.comparePositions(joining.chaser.lastPosition(), limit) > 0) {
+                    merging.add(joining);
+                } else if (joinedTail(joining.chaser, limit)) {
+                    members.add(joining);
+                } else if (joining.chaser.isRunning()) {
+                    joining.catchUp(this, runFrequency.toNanos());
+                }
+            }
+
+            return tail != startPosition;
+        }
+
+        /**
+         * Brings a chaser that has caught up on its own, and is not ahead of the shared tail, to the shared tail, or
+         * makes where it got to the shared tail if there is none yet. A chaser ahead of the shared tail waits for the
+         * members to bring it up to the chaser; while there are none, there is no tail.
+         */
+        private boolean joinedTail(EventStoreChaser chaser, @Nullable Position limit) {
+            if (limit == null) {
+                if (chaser.chaseWhile(position -> true)) {
+                    tail = chaser.lastPosition();
+                    return true;
+                }
+                return false;
+            }
+            Predicate<Position> upToTail = position -> positionCodec.comparePositions(position, limit) <= 0;
+            return chaser.chaseWhile(upToTail);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.timgroup.eventsubscription;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+/**
+ * How the deserializer and handler threads of a subscription wait for events. The strategies are listed from least
+ * to most CPU used while waiting, which is also from most to least latency added on waking.
+ */
+public enum SubscriptionWaitStrategy {
+    /**
+     * Waits on a lock, using no CPU while idle.
+     */
+    BLOCKING {
+        @Override
+        WaitStrategy create() {
+            return new BlockingWaitStrategy();
+        }
+    },
+    /**
+     * Spins, then yields, then sleeps for short periods.
+     */
+    SLEEPING {
+        @Override
+        WaitStrategy create() {
+            return new SleepingWaitStrategy();
+        }
+    },
+    /**
+     * Spins, then yields, using a core per thread whenever another thread does not want it.
+     */
+    YIELDING {
+        @Override
+        WaitStrategy create() {
+            return new YieldingWaitStrategy();
+        }
+    },
+    /**
+     * Spins, using a core per thread all the time. Only worth using with a core set aside for each thread.
+     */
+    BUSY_SPIN {
+        @Override
+        WaitStrategy create() {
+            return new BusySpinWaitStrategy();
+        }
+    };
+
+    abstract WaitStrategy create();
+}
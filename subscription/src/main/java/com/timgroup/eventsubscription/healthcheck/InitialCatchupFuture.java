@@ -32,6 +32,11 @@ public final class InitialCatchupFuture extends CompletableFuture<Position> impl
         }
     }
 
+    @Override
+    public void onBatchEnd(Position position) {
+        downstream.onBatchEnd(position);
+    }
+
     public static final class InitialCatchupFailedException extends CompletionException {
         private final Position position;
 
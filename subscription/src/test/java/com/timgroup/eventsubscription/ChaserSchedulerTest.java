@@ -0,0 +1,62 @@
+package com.timgroup.eventsubscription;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.timgroup.eventsubscription.EndToEndTest.eventually;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ChaserSchedulerTest {
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2);
+    private final AtomicInteger runs = new AtomicInteger();
+    private final AtomicInteger chasing = new AtomicInteger();
+    private final AtomicInteger maxConcurrentChases = new AtomicInteger();
+
+    private final ChaserScheduler scheduler = new ChaserScheduler(executor, () -> {
+        runs.incrementAndGet();
+        maxConcurrentChases.accumulateAndGet(chasing.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        chasing.decrementAndGet();
+        return false;
+    }, Duration.ofHours(1), Duration.ofHours(1));
+
+    @After
+    public void stop() {
+        scheduler.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void waking_up_a_run_that_has_started_but_not_yet_chased_does_not_start_another_schedule() throws Exception {
+        synchronized (scheduler) {
+            scheduler.start();
+            eventually(() -> assertThat(executor.getActiveCount(), is(1)));
+            scheduler.wakeUp();
+        }
+
+        eventually(() -> assertThat(executor.getCompletedTaskCount(), is(2L)));
+        assertThat(runs.get(), is(1));
+        assertThat(maxConcurrentChases.get(), is(1));
+        assertThat(executor.getQueue().size(), is(1));
+    }
+
+    @Test
+    public void waking_up_while_chasing_runs_again_once_the_chase_finishes() throws Exception {
+        scheduler.start();
+        eventually(() -> assertThat(chasing.get(), is(1)));
+        scheduler.wakeUp();
+
+        eventually(() -> assertThat(runs.get(), is(2)));
+        eventually(() -> assertThat(executor.getQueue().size(), is(1)));
+        assertThat(maxConcurrentChases.get(), is(1));
+    }
+}
@@ -2,24 +2,32 @@ package com.timgroup.eventsubscription;
 
 import com.timgroup.clocks.testing.ManualClock;
 import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.Position;
 import com.timgroup.eventstore.api.StreamId;
 import com.timgroup.eventstore.memory.InMemoryEventSource;
+import com.timgroup.eventsubscription.lifecycleevents.InitialCatchupCompleted;
 import com.timgroup.structuredevents.testing.LocalEventSink;
 import net.ttsui.junit.rules.pending.PendingRule;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import static com.timgroup.eventsubscription.EndToEndTest.eventually;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.emptyIterable;
@@ -103,6 +111,144 @@ public class EventSubscriptionTest {
         eventually(() -> assertThat(eventSubscriptionThreads(), is(emptyIterable())));
     }
 
+    @Test
+    public void reads_events_written_to_an_in_memory_store_without_waiting_for_the_next_run() throws Exception {
+        InMemoryEventSource eventSource = new InMemoryEventSource(new ManualClock(Instant.EPOCH, ZoneOffset.UTC));
+        List<Event> processedEvents = new CopyOnWriteArrayList<>();
+        Consumer<Event> eventHandler = processedEvents::add;
+
+        EventSubscription subscription = SubscriptionBuilder.eventSubscription("all")
+                .readingFrom(eventSource.readAll())
+                .deserializingUsing(Deserializer.applying(eventRecord -> new TestEvent(new String(eventRecord.data()))))
+                .publishingTo(eventHandler)
+                .withRunFrequency(Duration.ofHours(1))
+                .withEventSink(eventSink)
+                .build();
+
+        subscription.start();
+        try {
+            eventually(() -> assertThat(processedEvents.size(), is(1)));
+
+            eventSource.writeStream().write(StreamId.streamId("all", "all"), singletonList(NewEvent.newEvent("testEvent", "1".getBytes())));
+
+            eventually(() -> assertThat(processedEvents.stream().filter(e -> e instanceof TestEvent).count(), is(1L)));
+        } finally {
+            subscription.stop();
+        }
+    }
+
+    @Test
+    public void delivers_events_in_order_whatever_the_deserializer_threads_and_wait_strategy() throws Exception {
+        InMemoryEventSource eventSource = new InMemoryEventSource(new ManualClock(Instant.EPOCH, ZoneOffset.UTC));
+        List<NewEvent> testEvents = IntStream.range(1, 1000).mapToObj(i -> NewEvent.newEvent("testEvent", String.valueOf(i).getBytes())).collect(toList());
+        eventSource.writeStream().write(StreamId.streamId("all", "all"), testEvents);
+
+        for (SubscriptionWaitStrategy waitStrategy : SubscriptionWaitStrategy.values()) {
+            List<String> processedData = new CopyOnWriteArrayList<>();
+            AtomicInteger threadsMade = new AtomicInteger();
+            EventSubscription subscription = SubscriptionBuilder.eventSubscription("all")
+                    .readingFrom(eventSource.readAll())
+                    .deserializingUsing(Deserializer.applying(eventRecord -> new TestEvent(new String(eventRecord.data()))))
+                    .deserializingOnThreads(5)
+                    .waitingUsing(waitStrategy)
+                    .withThreadFactory(runnable -> {
+                        threadsMade.incrementAndGet();
+                        return new Thread(runnable);
+                    })
+                    .publishingTo(event -> {
+                        if (event instanceof TestEvent) {
+                            processedData.add(((TestEvent) event).data);
+                        }
+                    })
+                    .withEventSink(eventSink)
+                    .build();
+
+            subscription.start();
+            try {
+                eventually(() -> assertThat(processedData.size(), is(999)));
+                assertThat(processedData, is(IntStream.range(1, 1000).mapToObj(String::valueOf).collect(toList())));
+                assertThat(threadsMade.get(), is(6));
+            } finally {
+                subscription.stop();
+            }
+        }
+    }
+
+    @Test
+    public void ends_batches_after_the_last_event_ready() throws Exception {
+        InMemoryEventSource eventSource = new InMemoryEventSource(new ManualClock(Instant.EPOCH, ZoneOffset.UTC));
+        List<NewEvent> testEvents = IntStream.range(1, 1000).mapToObj(i -> NewEvent.newEvent("testEvent", String.valueOf(i).getBytes())).collect(toList());
+        eventSource.writeStream().write(StreamId.streamId("all", "all"), testEvents);
+
+        List<String> pending = new ArrayList<>();
+        List<String> flushed = new CopyOnWriteArrayList<>();
+        EventSubscription subscription = SubscriptionBuilder.eventSubscription("all")
+                .readingFrom(eventSource.readAll())
+                .deserializingUsing(Deserializer.applying(eventRecord -> new TestEvent(new String(eventRecord.data()))))
+                .publishingTo(new EventHandler() {
+                    @Override
+                    public void apply(Position position, Event deserialized) {
+                        if (deserialized instanceof TestEvent) {
+                            pending.add(((TestEvent) deserialized).data);
+                        }
+                    }
+
+                    @Override
+                    public void onBatchEnd(Position position) {
+                        flushed.addAll(pending);
+                        pending.clear();
+                    }
+                })
+                .withEventSink(eventSink)
+                .build();
+
+        subscription.start();
+        try {
+            eventually(() -> assertThat(flushed.size(), is(999)));
+            assertThat(flushed, is(IntStream.range(1, 1000).mapToObj(String::valueOf).collect(toList())));
+        } finally {
+            subscription.stop();
+        }
+    }
+
+    @Test
+    public void handles_each_stream_in_order_in_lanes_before_reporting_catchup() throws Exception {
+        InMemoryEventSource eventSource = new InMemoryEventSource(new ManualClock(Instant.EPOCH, ZoneOffset.UTC));
+        for (int i = 0; i < 100; i++) {
+            for (int stream = 0; stream < 8; stream++) {
+                eventSource.writeStream().write(StreamId.streamId("test", String.valueOf(stream)), singletonList(NewEvent.newEvent("testEvent", String.valueOf(i).getBytes())));
+            }
+        }
+
+        Map<String, List<String>> handled = new ConcurrentHashMap<>();
+        AtomicInteger handledAtCatchup = new AtomicInteger(-1);
+        EventSubscription subscription = SubscriptionBuilder.eventSubscription("test")
+                .readingFrom(eventSource.readCategory(), "test")
+                .deserializingUsing(Deserializer.applying(eventRecord -> new TestEvent(eventRecord.streamId().id() + ":" + new String(eventRecord.data()))))
+                .handlingInLanes(4)
+                .publishingTo(event -> {
+                    if (event instanceof TestEvent) {
+                        String[] streamAndData = ((TestEvent) event).data.split(":");
+                        handled.computeIfAbsent(streamAndData[0], stream -> new CopyOnWriteArrayList<>()).add(streamAndData[1]);
+                    } else if (event instanceof InitialCatchupCompleted) {
+                        handledAtCatchup.set(handled.values().stream().mapToInt(List::size).sum());
+                    }
+                })
+                .withEventSink(eventSink)
+                .build();
+
+        subscription.start();
+        try {
+            eventually(() -> assertThat(handledAtCatchup.get(), is(800)));
+            List<String> expected = IntStream.range(0, 100).mapToObj(String::valueOf).collect(toList());
+            for (int stream = 0; stream < 8; stream++) {
+                assertThat(handled.get(String.valueOf(stream)), is(expected));
+            }
+        } finally {
+            subscription.stop();
+        }
+    }
+
     private List<String> eventSubscriptionThreads() {
         return Thread.getAllStackTraces().keySet().stream()
                 .map(Thread::getName)
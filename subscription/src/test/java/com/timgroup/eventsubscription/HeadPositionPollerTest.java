@@ -0,0 +1,58 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.api.WriteNotifier;
+import com.timgroup.eventstore.memory.InMemoryEventSource;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.timgroup.eventsubscription.EndToEndTest.eventually;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class HeadPositionPollerTest {
+    private final InMemoryEventSource eventSource = new InMemoryEventSource();
+    private final HeadPositionPoller poller = HeadPositionPoller.polling(eventSource.readCategory(), "polled", Duration.ofMillis(5));
+
+    @Test
+    public void notifies_listeners_when_the_head_position_moves() throws Exception {
+        AtomicInteger notifications = new AtomicInteger();
+        WriteNotifier.Registration registration = poller.addWriteListener(notifications::incrementAndGet);
+        try {
+            Thread.sleep(50);
+            assertThat(notifications.get(), is(0));
+
+            eventSource.writeStream().write(StreamId.streamId("other", "stream"), singletonList(NewEvent.newEvent("type", new byte[0])));
+            Thread.sleep(50);
+            assertThat(notifications.get(), is(0));
+
+            eventSource.writeStream().write(StreamId.streamId("polled", "stream"), singletonList(NewEvent.newEvent("type", new byte[0])));
+            eventually(() -> assertThat(notifications.get(), is(1)));
+        } finally {
+            registration.close();
+        }
+    }
+
+    @Test
+    public void stops_polling_when_the_last_listener_is_removed() throws Exception {
+        WriteNotifier.Registration first = poller.addWriteListener(() -> {});
+        WriteNotifier.Registration second = poller.addWriteListener(() -> {});
+
+        first.close();
+        first.close();
+        assertThat(pollerThreads(), is(1L));
+
+        second.close();
+        eventually(() -> assertThat(pollerThreads(), is(0L)));
+    }
+
+    private static long pollerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("HeadPositionPoller"))
+                .count();
+    }
+}
@@ -55,6 +55,20 @@ public class SequencingEventHandlerTest {
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void passes_batch_ends_to_handlers_in_order() {
+        EventHandler h1 = mock(EventHandler.class);
+        EventHandler h2 = mock(EventHandler.class);
+
+        SequencingEventHandler sequencer = new SequencingEventHandler(ImmutableList.of(h1, h2));
+        sequencer.onBatchEnd(A_POSITION);
+
+        InOrder inOrder = Mockito.inOrder(h1, h2);
+        inOrder.verify(h1).onBatchEnd(A_POSITION);
+        inOrder.verify(h2).onBatchEnd(A_POSITION);
+        inOrder.verifyNoMoreInteractions();
+    }
+
     static Matcher<EventHandler> sequenceWithSize(int size) {
         return new TypeSafeDiagnosingMatcher<EventHandler>() {
             @Override
@@ -0,0 +1,121 @@
+package com.timgroup.eventsubscription;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.memory.InMemoryEventSource;
+import com.timgroup.eventsubscription.lifecycleevents.InitialCatchupCompleted;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.timgroup.eventstore.api.NewEvent.newEvent;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures how fast a subscription replays a store of JSON events, and how long a live event takes from being written
+ * to reaching the handler, for each wait strategy and a range of deserializer thread counts. Live latency includes
+ * the write to the in-memory store, which scans the store.
+ */
+public class SubscriptionDisruptorBenchmarkApp {
+    private static final int REPLAY_EVENTS = 100_000;
+    private static final int LIVE_EVENTS = 1_000;
+    private static final int[] DESERIALIZER_THREADS = { 1, 2, 4, 8 };
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        InMemoryEventSource eventSource = new InMemoryEventSource();
+        List<NewEvent> events = new ArrayList<>();
+        for (int i = 0; i < REPLAY_EVENTS; i++) {
+            events.add(newEvent("Benchmarked", payload(i, 0)));
+        }
+        eventSource.writeStream().write(StreamId.streamId("benchmark", "replay"), events);
+
+        for (SubscriptionWaitStrategy waitStrategy : SubscriptionWaitStrategy.values()) {
+            for (int deserializerThreads : DESERIALIZER_THREADS) {
+                benchmark(eventSource, waitStrategy, deserializerThreads);
+            }
+        }
+    }
+
+    private static void benchmark(InMemoryEventSource eventSource, SubscriptionWaitStrategy waitStrategy, int deserializerThreads) throws InterruptedException {
+        CountDownLatch replayed = new CountDownLatch(1);
+        Semaphore delivered = new Semaphore(0);
+        Histogram latency = new Histogram(new UniformReservoir());
+        long start = System.nanoTime();
+
+        EventSubscription subscription = SubscriptionBuilder.eventSubscription("benchmark")
+                .readingFrom(eventSource.readAll())
+                .deserializingUsing(Deserializer.applying(eventRecord -> new Benchmarked(json(eventRecord.data()))))
+                .deserializingOnThreads(deserializerThreads)
+                .waitingUsing(waitStrategy)
+                .runningInParallelWithBuffer(8192)
+                .withRunFrequency(Duration.ofMillis(100))
+                .publishingTo(event -> {
+                    if (event instanceof InitialCatchupCompleted) {
+                        replayed.countDown();
+                    } else if (event instanceof Benchmarked && ((Benchmarked) event).writtenNanos > start) {
+                        latency.update(System.nanoTime() - ((Benchmarked) event).writtenNanos);
+                        delivered.release();
+                    }
+                })
+                .build();
+
+        subscription.start();
+        try {
+            replayed.await(5, TimeUnit.MINUTES);
+            double replaySeconds = (System.nanoTime() - start) / 1e9;
+
+            for (int i = 0; i < LIVE_EVENTS; i++) {
+                eventSource.writeStream().write(StreamId.streamId("benchmark", "live"), singletonList(newEvent("Benchmarked", payload(i, System.nanoTime()))));
+                delivered.tryAcquire(10, TimeUnit.SECONDS);
+            }
+
+            Snapshot snapshot = latency.getSnapshot();
+            double nanosPerMicro = MICROSECONDS.toNanos(1);
+            System.out.printf("%-9s deserializers=%d replay=%,.0f events/s live p50=%.1fus p99=%.1fus max=%.1fus%n",
+                    waitStrategy, deserializerThreads, REPLAY_EVENTS / replaySeconds,
+                    snapshot.getMedian() / nanosPerMicro,
+                    snapshot.get99thPercentile() / nanosPerMicro,
+                    snapshot.getMax() / nanosPerMicro);
+        } finally {
+            subscription.stop();
+        }
+    }
+
+    private static byte[] payload(int n, long writtenNanos) {
+        StringBuilder json = new StringBuilder("{\"n\":").append(n).append(",\"writtenNanos\":").append(writtenNanos).append(",\"lines\":[");
+        for (int i = 0; i < 20; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"line\":").append(i).append(",\"amount\":\"").append(n * 31 + i).append(".25\",\"valid\":true}");
+        }
+        return json.append("]}").toString().getBytes(UTF_8);
+    }
+
+    private static JsonNode json(byte[] data) {
+        try {
+            return OBJECT_MAPPER.readTree(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Benchmarked implements Event {
+        private final long writtenNanos;
+
+        private Benchmarked(JsonNode json) {
+            this.writtenNanos = json.get("writtenNanos").asLong();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.timgroup.eventsubscription;
+
+import com.timgroup.eventstore.api.NewEvent;
+import com.timgroup.eventstore.api.Position;
+import com.timgroup.eventstore.api.ResolvedEvent;
+import com.timgroup.eventstore.api.StreamId;
+import com.timgroup.eventstore.memory.JavaInMemoryEventStore;
+import com.timgroup.eventsubscription.EventSubscriptionTest.TestEvent;
+import com.timgroup.eventsubscription.lifecycleevents.CaughtUp;
+import com.timgroup.structuredevents.testing.LocalEventSink;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.timgroup.eventsubscription.EndToEndTest.eventually;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+
+public class SubscriptionHubTest {
+    private final AtomicInteger reads = new AtomicInteger();
+    private volatile CountDownLatch catchupsReleased = new CountDownLatch(0);
+    private final AtomicInteger catchupsToFail = new AtomicInteger();
+    private final AtomicInteger sharedReadsInFlight = new AtomicInteger();
+    private final AtomicInteger maxSharedReadsInFlight = new AtomicInteger();
+    private final JavaInMemoryEventStore eventStore = new JavaInMemoryEventStore(Clock.systemUTC()) {
+        @Nonnull
+        @Override
+        public Stream<ResolvedEvent> readAllForwards(Position positionExclusive) {
+            reads.incrementAndGet();
+            if (Thread.currentThread().getName().startsWith("SubscriptionHub-")) {
+                maxSharedReadsInFlight.accumulateAndGet(sharedReadsInFlight.incrementAndGet(), Math::max);
+                return super.readAllForwards(positionExclusive).onClose(sharedReadsInFlight::decrementAndGet);
+            }
+            if (Thread.currentThread().getName().startsWith("EventChaser-")) {
+                awaitUninterruptibly(catchupsReleased);
+                if (catchupsToFail.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new IllegalStateException("failing catch-up");
+                }
+            }
+            return super.readAllForwards(positionExclusive);
+        }
+    };
+    private final SubscriptionHub hub = new SubscriptionHub("test", Duration.ofHours(1));
+    private final List<EventSubscription> subscriptions = new ArrayList<>();
+    private final List<String> caughtUp = new CopyOnWriteArrayList<>();
+
+    @After
+    public void stop() {
+        subscriptions.forEach(EventSubscription::stop);
+        hub.stop();
+    }
+
+    @Test
+    public void late_joiners_catch_up_and_then_share_reads_with_the_others() throws Exception {
+        write("1", "2", "3");
+        List<String> first = subscribe();
+        eventually(() -> assertThat(first, contains("1", "2", "3")));
+
+        write("4");
+        eventually(() -> assertThat(first, contains("1", "2", "3", "4")));
+
+        List<String> second = subscribe();
+        eventually(() -> assertThat(second, contains("1", "2", "3", "4")));
+        eventually(() -> assertThat(caughtUp, hasItem("hub-1")));
+
+        reads.set(0);
+        write("5");
+
+        eventually(() -> assertThat(first, contains("1", "2", "3", "4", "5")));
+        eventually(() -> assertThat(second, contains("1", "2", "3", "4", "5")));
+        assertThat(reads.get(), is(1));
+    }
+
+    @Test
+    public void subscriptions_that_stop_leave_the_others_reading() throws Exception {
+        List<String> first = subscribe();
+        List<String> second = subscribe();
+        write("1");
+        eventually(() -> assertThat(first, contains("1")));
+        eventually(() -> assertThat(second, contains("1")));
+
+        subscriptions.get(0).stop();
+        write("2");
+
+        eventually(() -> assertThat(second, contains("1", "2")));
+        assertThat(first, contains("1"));
+    }
+
+    @Test
+    public void joiners_that_catch_up_past_the_tail_left_by_stopped_subscriptions_keep_receiving_events() throws Exception {
+        write("1", "2", "3");
+        List<String> first = subscribe();
+        eventually(() -> assertThat(first, contains("1", "2", "3")));
+
+        catchupsReleased = new CountDownLatch(1);
+        List<String> second = subscribe();
+        subscriptions.get(0).stop();
+        write("4");
+        catchupsReleased.countDown();
+        eventually(() -> assertThat(second, contains("1", "2", "3", "4")));
+
+        write("5", "6");
+        eventually(() -> assertThat(second, contains("1", "2", "3", "4", "5", "6")));
+    }
+
+    @Test
+    public void joiners_retry_failed_catch_ups_on_their_own_thread() throws Exception {
+        SubscriptionHub fastHub = new SubscriptionHub("fast", Duration.ofMillis(10));
+        try {
+            write("1", "2", "3");
+            catchupsToFail.set(2);
+            List<String> received = subscribe(fastHub);
+
+            eventually(() -> assertThat(received, contains("1", "2", "3")));
+            assertThat(catchupsToFail.get(), is(0));
+
+            write("4");
+            eventually(() -> assertThat(received, contains("1", "2", "3", "4")));
+        } finally {
+            subscriptions.forEach(EventSubscription::stop);
+            fastHub.stop();
+        }
+    }
+
+    @Test
+    public void repeated_wake_ups_on_several_threads_deliver_each_event_to_each_member_exactly_once() throws Exception {
+        SubscriptionHub busyHub = new SubscriptionHub("busy", Duration.ofMillis(1), Duration.ofMillis(5), 4);
+        try {
+            List<String> first = subscribe(busyHub);
+            List<String> second = subscribe(busyHub);
+            write("0");
+            eventually(() -> assertThat(caughtUp, hasItems("hub-0", "hub-1")));
+
+            List<String> expected = new ArrayList<>();
+            expected.add("0");
+            ExecutorService writers = Executors.newFixedThreadPool(2);
+            for (String writer : asList("a", "b")) {
+                for (int i = 0; i < 500; i++) {
+                    expected.add(writer + i);
+                }
+                writers.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        write(writer + i);
+                    }
+                });
+            }
+            writers.shutdown();
+            assertThat(writers.awaitTermination(10, SECONDS), is(true));
+
+            Collections.sort(expected);
+            eventually(() -> assertThat(first.size(), is(expected.size())));
+            eventually(() -> assertThat(second.size(), is(expected.size())));
+            assertThat(sorted(first), is(expected));
+            assertThat(sorted(second), is(expected));
+            assertThat(maxSharedReadsInFlight.get(), is(1));
+        } finally {
+            subscriptions.forEach(EventSubscription::stop);
+            busyHub.stop();
+        }
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> result = new ArrayList<>(values);
+        Collections.sort(result);
+        return result;
+    }
+
+    private List<String> subscribe() {
+        return subscribe(hub);
+    }
+
+    private List<String> subscribe(SubscriptionHub hub) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        String name = "hub-" + subscriptions.size();
+        EventSubscription subscription = SubscriptionBuilder.eventSubscription(name)
+                .readingFrom(eventStore, "test")
+                .deserializingUsing(Deserializer.applying(eventRecord -> new TestEvent(new String(eventRecord.data()))))
+                .publishingTo((position, event) -> {
+                    if (event instanceof TestEvent) {
+                        received.add(((TestEvent) event).data);
+                    } else if (event instanceof CaughtUp) {
+                        caughtUp.add(name);
+                    }
+                })
+                .sharingReadsThrough(hub)
+                .withEventSink(new LocalEventSink())
+                .build();
+        subscriptions.add(subscription);
+        subscription.start();
+        return received;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(String... data) {
+        for (String value : data) {
+            eventStore.write(StreamId.streamId("test", "stream"), singletonList(NewEvent.newEvent("TestEvent", value.getBytes())));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.timgroup.eventsubscription.healthcheck;
+
+import com.timgroup.eventsubscription.EventHandler;
+import com.timgroup.eventsubscription.lifecycleevents.InitialCatchupCompleted;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+public class InitialCatchupFutureTest {
+    @Test
+    public void passes_events_and_batch_ends_to_the_wrapped_handler() {
+        EventHandler downstream = mock(EventHandler.class);
+        InitialCatchupFuture future = new InitialCatchupFuture(downstream);
+        TestPosition position = new TestPosition(1);
+        InitialCatchupCompleted completed = new InitialCatchupCompleted(position, Instant.EPOCH);
+
+        future.apply(position, completed);
+        future.onBatchEnd(position);
+
+        InOrder inOrder = Mockito.inOrder(downstream);
+        inOrder.verify(downstream).apply(position, completed);
+        inOrder.verify(downstream).onBatchEnd(position);
+        inOrder.verifyNoMoreInteractions();
+        assertThat(future.join(), is(position));
+    }
+}